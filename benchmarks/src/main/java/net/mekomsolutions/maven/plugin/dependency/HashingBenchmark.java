@@ -0,0 +1,72 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures hashing and reading a single dependency file of various sizes, the file stays in the page
+ * cache after the first iteration so the results reflect the cost of the algorithms rather than that
+ * of the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms1g", "-Xmx2g" })
+public class HashingBenchmark {
+	
+	@Param({ "1KB", "1MB", "10MB", "100MB", "500MB" })
+	public String fileSize;
+	
+	@Param({ "sha1", "sha256", "xxhash64" })
+	public String algorithm;
+	
+	private File directory;
+	
+	private File file;
+	
+	private DigestAlgorithm digestAlgorithm;
+	
+	@Setup
+	public void setup() throws IOException {
+		directory = SyntheticData.createDirectory("hashing");
+		file = new File(directory, "dependency.jar");
+		SyntheticData.createFile(file, SyntheticData.parseSize(fileSize), 1);
+		digestAlgorithm = DigestAlgorithm.fromValue(algorithm);
+	}
+	
+	@TearDown
+	public void tearDown() throws IOException {
+		SyntheticData.deleteDirectory(directory);
+	}
+	
+	@Benchmark
+	public String hashHex() throws IOException {
+		return Utils.hashHex(file, digestAlgorithm);
+	}
+	
+	/**
+	 * Reads the entire file into memory, this is independent of the algorithm so it only needs to be
+	 * run with one e.g. {@code -p algorithm=sha1}
+	 */
+	@Benchmark
+	public byte[] readFile() throws IOException {
+		return Utils.readFile(file);
+	}
+	
+}
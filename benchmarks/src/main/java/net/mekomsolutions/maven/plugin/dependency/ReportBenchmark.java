@@ -0,0 +1,149 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the serialization, parsing and comparison of dependency reports with various numbers of
+ * entries in both the text and binary formats, the changed remote reports differ from the build
+ * report in one entry out of a hundred.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReportBenchmark {
+	
+	private static final int CHANGE_EVERY = 100;
+	
+	@Param({ "10", "100", "1000", "10000" })
+	public int artifactCount;
+	
+	private File directory;
+	
+	private DependencyReport report;
+	
+	private File textReport;
+	
+	private File binaryReport;
+	
+	private File changedTextReport;
+	
+	private File changedBinaryReport;
+	
+	private File outputFile;
+	
+	private DependencyTracker tracker;
+	
+	private List<Integer> results;
+	
+	@Setup
+	public void setup() throws IOException {
+		directory = SyntheticData.createDirectory("report");
+		report = SyntheticData.createReport(artifactCount, 0);
+		DependencyReport changedReport = SyntheticData.createReport(artifactCount, CHANGE_EVERY);
+		textReport = new File(directory, "build.txt");
+		binaryReport = new File(directory, "build.bin");
+		changedTextReport = new File(directory, "remote.txt");
+		changedBinaryReport = new File(directory, "remote.bin");
+		outputFile = new File(directory, "output");
+		Utils.writeToFile(textReport, report.toLines());
+		report.writeBinary(binaryReport);
+		Utils.writeToFile(changedTextReport, changedReport.toLines());
+		changedReport.writeBinary(changedBinaryReport);
+		tracker = SyntheticData.createTracker(SyntheticData.createProject(Collections.emptySet()), directory);
+		tracker.setWriteComparisonDetails(true);
+		//One result per module with a single changed module
+		results = new ArrayList<>(artifactCount);
+		for (int i = 0; i < artifactCount; i++) {
+			results.add(i == artifactCount / 2 ? 1 : 0);
+		}
+	}
+	
+	@TearDown
+	public void tearDown() throws IOException {
+		SyntheticData.deleteDirectory(directory);
+	}
+	
+	@Benchmark
+	public String getDigest() {
+		return report.getDigest();
+	}
+	
+	@Benchmark
+	public File writeText() throws IOException {
+		Utils.writeToFile(outputFile, report.toLines());
+		return outputFile;
+	}
+	
+	@Benchmark
+	public File writeBinary() throws IOException {
+		report.writeBinary(outputFile);
+		return outputFile;
+	}
+	
+	@Benchmark
+	public DependencyReport readText() throws IOException {
+		return DependencyReport.read(textReport);
+	}
+	
+	@Benchmark
+	public DependencyReport readBinary() throws IOException {
+		return DependencyReport.read(binaryReport);
+	}
+	
+	@Benchmark
+	public int diffIdenticalText() throws IOException {
+		return ReportDiff.diff(textReport, textReport, null);
+	}
+	
+	@Benchmark
+	public int diffIdenticalBinary() throws IOException {
+		return ReportDiff.diff(binaryReport, binaryReport, null);
+	}
+	
+	@Benchmark
+	public String diffChangedTextWithDetails() throws IOException {
+		StringWriter writer = new StringWriter();
+		ReportDiff.diff(textReport, changedTextReport, writer);
+		return writer.toString();
+	}
+	
+	@Benchmark
+	public String diffChangedBinaryWithDetails() throws IOException {
+		StringWriter writer = new StringWriter();
+		ReportDiff.diff(binaryReport, changedBinaryReport, writer);
+		return writer.toString();
+	}
+	
+	@Benchmark
+	public Integer compare() throws Exception {
+		return tracker.compare(binaryReport, changedBinaryReport);
+	}
+	
+	@Benchmark
+	public Integer aggregateDependencyReports() {
+		return tracker.aggregateDependencyReports(results);
+	}
+	
+}
@@ -0,0 +1,239 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.MavenProjectHelper;
+
+/**
+ * Generates the synthetic dependency files, artifacts and reports used by the benchmarks, the data
+ * is generated from fixed seeds so that every run works on the same data and no network access is
+ * needed.
+ */
+public class SyntheticData {
+	
+	private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+	
+	private static final String GROUP_ID = "org.example.benchmark";
+	
+	private SyntheticData() {
+	}
+	
+	/**
+	 * Parses a size of the form 1KB, 10MB or 1GB
+	 *
+	 * @param size the size to parse
+	 * @return the number of bytes
+	 */
+	protected static long parseSize(String size) {
+		String value = size.trim().toUpperCase();
+		long unit = 1;
+		if (value.endsWith("KB")) {
+			unit = 1024;
+		} else if (value.endsWith("MB")) {
+			unit = 1024 * 1024;
+		} else if (value.endsWith("GB")) {
+			unit = 1024 * 1024 * 1024;
+		}
+		
+		if (unit > 1) {
+			value = value.substring(0, value.length() - 2);
+		}
+		
+		return Long.parseLong(value.trim()) * unit;
+	}
+	
+	/**
+	 * Creates a temporary directory for the data of a benchmark
+	 *
+	 * @param name the name of the benchmark
+	 * @return the directory
+	 * @throws IOException
+	 */
+	protected static File createDirectory(String name) throws IOException {
+		return Files.createTempDirectory("dependency-tracker-" + name).toFile();
+	}
+	
+	/**
+	 * Deletes the specified directory and its contents
+	 *
+	 * @param directory the directory to delete
+	 * @throws IOException
+	 */
+	protected static void deleteDirectory(File directory) throws IOException {
+		if (directory == null || !directory.exists()) {
+			return;
+		}
+		
+		try (Stream<Path> paths = Files.walk(directory.toPath())) {
+			List<Path> sorted = paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+			for (Path path : sorted) {
+				Files.delete(path);
+			}
+		}
+	}
+	
+	/**
+	 * Creates a file of the specified size filled with pseudo random bytes, the file is written in
+	 * chunks so that large files can be created without holding them in memory.
+	 *
+	 * @param file the file to create
+	 * @param size the size of the file in bytes
+	 * @param seed the seed of the random contents
+	 * @throws IOException
+	 */
+	protected static void createFile(File file, long size, long seed) throws IOException {
+		Random random = new Random(seed);
+		byte[] buffer = new byte[WRITE_BUFFER_SIZE];
+		try (OutputStream out = Files.newOutputStream(file.toPath())) {
+			long remaining = size;
+			while (remaining > 0) {
+				random.nextBytes(buffer);
+				int length = (int) Math.min(buffer.length, remaining);
+				out.write(buffer, 0, length);
+				remaining -= length;
+			}
+		}
+	}
+	
+	/**
+	 * Creates the specified number of jar artifacts each with a dependency file of the specified size
+	 * in the specified directory
+	 *
+	 * @param directory the directory where to create the dependency files
+	 * @param count the number of artifacts
+	 * @param size the size of each dependency file in bytes
+	 * @return the artifacts
+	 * @throws IOException
+	 */
+	protected static Set<Artifact> createArtifacts(File directory, int count, long size) throws IOException {
+		Set<Artifact> artifacts = new LinkedHashSet<>();
+		DefaultArtifactHandler handler = new DefaultArtifactHandler("jar");
+		for (int i = 0; i < count; i++) {
+			String artifactId = "artifact-" + i;
+			Artifact artifact = new DefaultArtifact(GROUP_ID, artifactId, "1.0." + i, Artifact.SCOPE_COMPILE, "jar",
+			        null, handler);
+			File file = new File(directory, artifactId + ".jar");
+			createFile(file, size, i);
+			artifact.setFile(file);
+			artifacts.add(artifact);
+		}
+		
+		return artifacts;
+	}
+	
+	/**
+	 * Creates a dependency report with the specified number of entries
+	 *
+	 * @param count the number of entries
+	 * @param changeEvery every entry at an index that is a multiple of this value gets a different
+	 *            hash, 0 means no entry is changed
+	 * @return the report
+	 */
+	protected static DependencyReport createReport(int count, int changeEvery) {
+		DependencyReport report = new DependencyReport();
+		for (int i = 0; i < count; i++) {
+			boolean changed = changeEvery > 0 && i % changeEvery == 0;
+			String hash = DigestUtils.sha1Hex("data-" + i + (changed ? "-changed" : ""));
+			report.add(GROUP_ID + "$artifact-" + i + "$jar", "1.0." + i, hash);
+		}
+		
+		return report;
+	}
+	
+	/**
+	 * Creates a project with the specified dependency artifacts
+	 *
+	 * @param artifacts the dependency artifacts
+	 * @return the project
+	 */
+	protected static MavenProject createProject(Set<Artifact> artifacts) {
+		MavenProject project = new MavenProject();
+		project.setGroupId(GROUP_ID);
+		project.setArtifactId("benchmark");
+		project.setVersion("1.0");
+		project.setDependencyArtifacts(artifacts);
+		project.setArtifacts(artifacts);
+		return project;
+	}
+	
+	/**
+	 * Creates a {@link DependencyTracker} for the specified project that writes its artifacts to the
+	 * specified directory and only logs warnings and errors
+	 *
+	 * @param project the project
+	 * @param buildDirectory the build directory
+	 * @return the tracker
+	 */
+	protected static DependencyTracker createTracker(MavenProject project, File buildDirectory) {
+		return DependencyTracker.createInstance(project, new NoOpProjectHelper(), null, null, "benchmark-1.0",
+		    buildDirectory, new QuietLog());
+	}
+	
+	/**
+	 * Log that drops info and debug messages so that logging does not skew the measurements
+	 */
+	private static class QuietLog extends SystemStreamLog {
+		
+		@Override
+		public boolean isInfoEnabled() {
+			return false;
+		}
+		
+		@Override
+		public void info(CharSequence content) {
+		}
+		
+		@Override
+		public void debug(CharSequence content) {
+		}
+		
+	}
+	
+	/**
+	 * {@link MavenProjectHelper} that does not attach anything
+	 */
+	private static class NoOpProjectHelper implements MavenProjectHelper {
+		
+		@Override
+		public void attachArtifact(MavenProject project, File artifactFile, String artifactClassifier) {
+		}
+		
+		@Override
+		public void attachArtifact(MavenProject project, String artifactType, File artifactFile) {
+		}
+		
+		@Override
+		public void attachArtifact(MavenProject project, String artifactType, String artifactClassifier,
+		        File artifactFile) {
+		}
+		
+		@Override
+		public void addResource(MavenProject project, String resourceDirectory, List<String> includes,
+		        List<String> excludes) {
+		}
+		
+		@Override
+		public void addTestResource(MavenProject project, String resourceDirectory, List<String> includes,
+		        List<String> excludes) {
+		}
+		
+	}
+	
+}
@@ -0,0 +1,71 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.artifact.Artifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link DependencyTracker#prepareDependencyArtifact()} for projects with various numbers of
+ * dependencies, every dependency file is hashed in each invocation since neither the hash cache nor
+ * the hash memo is enabled. The largest combination creates 1 GB of dependency files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TrackerBenchmark {
+	
+	@Param({ "10", "100", "1000", "10000" })
+	public int artifactCount;
+	
+	@Param({ "1KB", "100KB" })
+	public String artifactSize;
+	
+	@Param({ "sha1", "xxhash64" })
+	public String algorithm;
+	
+	@Param({ "1", "4" })
+	public int hashThreads;
+	
+	private File directory;
+	
+	private DependencyTracker tracker;
+	
+	@Setup
+	public void setup() throws IOException {
+		directory = SyntheticData.createDirectory("tracker");
+		Set<Artifact> artifacts = SyntheticData.createArtifacts(directory, artifactCount,
+		    SyntheticData.parseSize(artifactSize));
+		tracker = SyntheticData.createTracker(SyntheticData.createProject(artifacts), directory);
+		tracker.setDigestAlgorithm(DigestAlgorithm.fromValue(algorithm));
+		tracker.setHashThreads(hashThreads);
+	}
+	
+	@TearDown
+	public void tearDown() throws IOException {
+		SyntheticData.deleteDirectory(directory);
+	}
+	
+	@Benchmark
+	public DependencyReport prepareDependencyArtifact() throws IOException {
+		return tracker.prepareDependencyArtifact();
+	}
+	
+}
@@ -0,0 +1,160 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * File that persists the entries of a cache that is shared between builds, each line holds the fields
+ * of an entry's value followed by its key, separated by tabs. The file can be shared by several maven
+ * processes, updates are merged with the current contents of the file while holding an exclusive lock
+ * on a sibling lock file and the file is replaced atomically so readers never see a partially written
+ * file. Corrupt lines are ignored.
+ *
+ * @param <V> the type of the values
+ */
+public class CacheFile<V> {
+	
+	protected static final String FIELD_SEPARATOR = "\t";
+	
+	private static final String LOCK_FILE_SUFFIX = ".lock";
+	
+	private static final Map<List<Object>, Object> INSTANCES = new HashMap<>();
+	
+	private final File file;
+	
+	private final int valueFields;
+	
+	private final Function<String[], V> parser;
+	
+	private final Function<V, String> formatter;
+	
+	/**
+	 * @param file the cache file
+	 * @param valueFields the number of fields of a value
+	 * @param parser creates a value from its fields, it may throw a {@link NumberFormatException} for a
+	 *            corrupt line
+	 * @param formatter converts a value to its fields joined with {@link #FIELD_SEPARATOR}
+	 */
+	protected CacheFile(File file, int valueFields, Function<String[], V> parser, Function<V, String> formatter) {
+		this.file = file.getAbsoluteFile();
+		this.valueFields = valueFields;
+		this.parser = parser;
+		this.formatter = formatter;
+	}
+	
+	/**
+	 * Gets the cache instance of the specified type backed by the specified file with the specified
+	 * setting, instances are shared by all the modules in the reactor so that the cache file is read
+	 * once per build.
+	 *
+	 * @param type the type of the cache
+	 * @param file the cache file
+	 * @param setting the setting of the cache e.g. its maximum size, caches with different settings are
+	 *            distinct instances
+	 * @param loader loads the cache from the file if no instance exists yet
+	 * @return the cache instance
+	 * @throws IOException
+	 */
+	protected static synchronized <T> T getInstance(Class<T> type, File file, Object setting, Loader<T> loader)
+	        throws IOException {
+		List<Object> key = Arrays.asList(type, file.getAbsoluteFile(), setting);
+		Object instance = INSTANCES.get(key);
+		if (instance == null) {
+			instance = loader.load(file.getAbsoluteFile());
+			INSTANCES.put(key, instance);
+		}
+		
+		return type.cast(instance);
+	}
+	
+	/**
+	 * Reads the entries in the cache file
+	 *
+	 * @return map of keys and values, empty if the file does not exist
+	 * @throws IOException
+	 */
+	protected Map<String, V> read() throws IOException {
+		Map<String, V> entries = new HashMap<>();
+		if (!file.exists()) {
+			return entries;
+		}
+		
+		try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] fields = line.split(FIELD_SEPARATOR, valueFields + 1);
+				if (fields.length == valueFields + 1) {
+					try {
+						entries.put(fields[valueFields], parser.apply(fields));
+					}
+					catch (NumberFormatException e) {
+						//Ignore corrupt lines, the entry is treated as missing
+					}
+				}
+			}
+		}
+		
+		return entries;
+	}
+	
+	/**
+	 * Reads the current entries in the cache file and replaces them with those returned by the
+	 * specified function while holding the lock on the file, the returned entries are written in their
+	 * iteration order.
+	 *
+	 * @param merger merges the in memory entries into the current entries of the file
+	 * @throws IOException
+	 */
+	protected void update(UnaryOperator<Map<String, V>> merger) throws IOException {
+		File parent = file.getParentFile();
+		if (!parent.exists()) {
+			Files.createDirectories(parent.toPath());
+		}
+		
+		Path lockFile = new File(file.getPath() + LOCK_FILE_SUFFIX).toPath();
+		try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		        FileLock lock = channel.lock()) {
+			Map<String, V> entries = merger.apply(read());
+			Path tempFile = Files.createTempFile(parent.toPath(), file.getName(), null);
+			try {
+				try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+					for (Map.Entry<String, V> e : entries.entrySet()) {
+						writer.write(formatter.apply(e.getValue()) + FIELD_SEPARATOR + e.getKey());
+						writer.newLine();
+					}
+				}
+				
+				Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				    StandardCopyOption.ATOMIC_MOVE);
+			}
+			finally {
+				Files.deleteIfExists(tempFile);
+			}
+		}
+	}
+	
+	/**
+	 * Loads a cache from its file
+	 */
+	protected interface Loader<T> {
+		
+		T load(File file) throws IOException;
+		
+	}
+	
+}
@@ -14,14 +14,43 @@ public final class Constants {
 	
 	public static final String EXT = "txt";
 	
+	public static final String BINARY_EXT = "bin";
+	
+	public static final String CHECKSUM_EXT_SUFFIX = ".sha1";
+	
+	public static final String CHECKSUM_EXT = EXT + CHECKSUM_EXT_SUFFIX;
+	
 	public static final String ARTIFACT_SUFFIX = FILE_NAME_SEPARATOR + CLASSIFIER + "." + EXT;
 	
+	public static final String BINARY_ARTIFACT_SUFFIX = FILE_NAME_SEPARATOR + CLASSIFIER + "." + BINARY_EXT;
+	
+	public static final String FINGERPRINT_FILE_SUFFIX = FILE_NAME_SEPARATOR + CLASSIFIER + ".fingerprint";
+	
+	public static final String METRICS_FILE_SUFFIX = FILE_NAME_SEPARATOR + CLASSIFIER + "-metrics.json";
+	
 	public static final String COMPARE_CLASSIFIER = "comparison";
 	
 	public static final String AGGREGATED_CLASSIFIER = "comparison-all";
 	
 	public static final String COMPARE_ARTIFACT_SUFFIX = FILE_NAME_SEPARATOR + COMPARE_CLASSIFIER + "." + EXT;
 	
+	public static final String COMPARE_DETAILS_CLASSIFIER = "comparison-details";
+	
+	public static final String COMPARE_DETAILS_ARTIFACT_SUFFIX = FILE_NAME_SEPARATOR + COMPARE_DETAILS_CLASSIFIER + "."
+	        + EXT;
+	
+	public static final String TREE_CLASSIFIER = "dependencies-tree";
+	
+	public static final String ROOT_DIGEST_KEY = "root";
+	
+	public static final String FINGERPRINT_PROPERTY = "fingerprint";
+	
+	public static final String ALGORITHM_PROPERTY = "algorithm";
+	
+	public static final String DIGEST_PROPERTY = "digest";
+	
+	public static final String TREE_ARTIFACT_SUFFIX = FILE_NAME_SEPARATOR + TREE_CLASSIFIER + "." + EXT;
+	
 	public static final String AGGREGATED_ARTIFACT_SUFFIX = FILE_NAME_SEPARATOR + AGGREGATED_CLASSIFIER + "." + EXT;
 	
 }
@@ -0,0 +1,475 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static net.mekomsolutions.maven.plugin.dependency.Constants.DIGEST_PROPERTY;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.OUTPUT_SEPARATOR;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.SEPARATOR_COLON;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Typed model of a dependency report, the entries are kept sorted by key, coordinates are interned
+ * since the same ones recur across the modules of a reactor and digests are stored as raw bytes.
+ * <p>
+ * A report can be serialized in the text format which is a line of the form
+ * {@code key=version:hash} per dependency or in a compact binary format, both are streamed when
+ * read. A report can also have properties that describe how it was generated, in the text format
+ * they are header lines of the form {@code #name=value} and lines starting with {@code #} are
+ * otherwise ignored. The binary format starts with the magic bytes {@code DTRB}, a format version
+ * byte, the number of properties as an unsigned short followed by the name and value of each
+ * property and the number of entries, followed by the entries sorted by key where each entry is the
+ * UTF-8 encoded key and version each prefixed with its length as an unsigned short and the digest
+ * prefixed with its length as an unsigned byte. Hashes that are not hex encoded are written with a
+ * zero digest length followed by the UTF-8 encoded hash prefixed with its length.
+ */
+public class DependencyReport {
+	
+	private static final byte[] BINARY_MAGIC = { 'D', 'T', 'R', 'B' };
+	
+	private static final byte BINARY_FORMAT_VERSION = 1;
+	
+	private static final String PROPERTY_PREFIX = "#";
+	
+	private static final String LINE_FEED = "\n";
+	
+	private static final Pattern HEX_PATTERN = Pattern.compile("([0-9a-f]{2})+");
+	
+	private final Map<String, Entry> keyAndEntry = new TreeMap<>();
+	
+	private final Map<String, String> properties = new TreeMap<>();
+	
+	/**
+	 * Adds an entry to the report, replacing any existing entry with the same key
+	 *
+	 * @param key the dependency key
+	 * @param version the dependency version
+	 * @param hash the hex encoded hash of the dependency file
+	 */
+	protected void add(String key, String version, String hash) {
+		Entry entry = Entry.create(key.intern(), version.intern(), hash);
+		keyAndEntry.put(entry.key, entry);
+	}
+	
+	/**
+	 * Sets a property that describes how the report was generated
+	 *
+	 * @param name the property name
+	 * @param value the property value
+	 */
+	protected void setProperty(String name, String value) {
+		properties.put(name, value);
+	}
+	
+	/**
+	 * Gets the properties of the report sorted by name
+	 *
+	 * @return map of property names and values
+	 */
+	protected Map<String, String> getProperties() {
+		return Collections.unmodifiableMap(properties);
+	}
+	
+	/**
+	 * Gets the entries in the report sorted by key
+	 *
+	 * @return the entries
+	 */
+	protected Collection<Entry> getEntries() {
+		return keyAndEntry.values();
+	}
+	
+	/**
+	 * Gets the properties and entries in the report in the text format
+	 *
+	 * @return the lines
+	 */
+	protected List<String> toLines() {
+		List<String> lines = new ArrayList<>(properties.size() + keyAndEntry.size());
+		properties.forEach((k, v) -> lines.add(PROPERTY_PREFIX + k + OUTPUT_SEPARATOR + v));
+		keyAndEntry.values().forEach(e -> lines.add(e.toLine()));
+		return lines;
+	}
+	
+	/**
+	 * Computes the root digest of the report, this is the SHA-1 hash of the lines in the text format
+	 * each terminated by a line feed, so it is the same regardless of the format the report is saved
+	 * in and the line separator of the platform. The digest property is excluded since it holds the
+	 * digest itself.
+	 *
+	 * @return the hex encoded digest
+	 */
+	protected String getDigest() {
+		MessageDigest digest = DigestUtils.getSha1Digest();
+		String digestLine = PROPERTY_PREFIX + DIGEST_PROPERTY + OUTPUT_SEPARATOR;
+		for (String line : toLines()) {
+			if (!line.startsWith(digestLine)) {
+				digest.update((line + LINE_FEED).getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		
+		return Hex.encodeHexString(digest.digest());
+	}
+	
+	/**
+	 * Writes the report to the specified file in the binary format
+	 *
+	 * @param file the file to write to
+	 * @throws IOException
+	 */
+	protected void writeBinary(File file) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(
+		        new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+			out.write(BINARY_MAGIC);
+			out.writeByte(BINARY_FORMAT_VERSION);
+			out.writeShort(properties.size());
+			for (Map.Entry<String, String> p : properties.entrySet()) {
+				writeString(out, p.getKey());
+				writeString(out, p.getValue());
+			}
+			
+			out.writeInt(keyAndEntry.size());
+			for (Entry e : keyAndEntry.values()) {
+				writeString(out, e.key);
+				writeString(out, e.version);
+				if (e.digest != null) {
+					out.writeByte(e.digest.length);
+					out.write(e.digest);
+				} else {
+					out.writeByte(0);
+					writeString(out, e.hash);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Reads a report in the text or binary format from the specified file
+	 *
+	 * @param file the file to read
+	 * @return the report
+	 * @throws IOException
+	 */
+	protected static DependencyReport read(File file) throws IOException {
+		DependencyReport report = new DependencyReport();
+		try (EntryReader reader = openReader(file)) {
+			Entry e;
+			while ((e = reader.next()) != null) {
+				report.keyAndEntry.put(e.key, e);
+			}
+			
+			report.properties.putAll(reader.getProperties());
+		}
+		
+		return report;
+	}
+	
+	/**
+	 * Checks if the specified file contains a report in the binary format
+	 *
+	 * @param file the file to check
+	 * @return true if the file is in the binary format otherwise false
+	 * @throws IOException
+	 */
+	protected static boolean isBinary(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer magic = ByteBuffer.allocate(BINARY_MAGIC.length);
+			while (magic.hasRemaining() && channel.read(magic) > 0) {
+				//Keep reading until the buffer is full or the end of the file is reached
+			}
+			
+			return !magic.hasRemaining() && Arrays.equals(magic.array(), BINARY_MAGIC);
+		}
+	}
+	
+	/**
+	 * Opens a reader that reads the entries one by one from the specified report file in the text
+	 * or binary format, so that reports can be compared without loading them entirely in memory.
+	 *
+	 * @param file the report file
+	 * @return the reader
+	 * @throws IOException
+	 */
+	protected static EntryReader openReader(File file) throws IOException {
+		if (isBinary(file)) {
+			return new BinaryEntryReader(file);
+		}
+		
+		return new TextEntryReader(file);
+	}
+	
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeShort(bytes.length);
+		out.write(bytes);
+	}
+	
+	/**
+	 * An entry in a dependency report
+	 */
+	protected static final class Entry {
+		
+		private final String key;
+		
+		private final String version;
+		
+		private final byte[] digest;
+		
+		private final String hash;
+		
+		private Entry(String key, String version, byte[] digest, String hash) {
+			this.key = key;
+			this.version = version;
+			this.digest = digest;
+			this.hash = hash;
+		}
+		
+		private static Entry create(String key, String version, String hash) {
+			if (HEX_PATTERN.matcher(hash).matches()) {
+				try {
+					return new Entry(key, version, Hex.decodeHex(hash.toCharArray()), null);
+				}
+				catch (DecoderException e) {
+					//Never happens since the hash is validated
+				}
+			}
+			
+			return new Entry(key, version, null, hash);
+		}
+		
+		/**
+		 * Parses an entry in the text format
+		 *
+		 * @param line the line to parse
+		 * @return the entry
+		 */
+		protected static Entry parse(String line) {
+			int keyEnd = line.indexOf(OUTPUT_SEPARATOR);
+			String key = keyEnd > -1 ? line.substring(0, keyEnd) : line;
+			String value = keyEnd > -1 ? line.substring(keyEnd + 1) : "";
+			int versionEnd = value.lastIndexOf(SEPARATOR_COLON);
+			String version = versionEnd > -1 ? value.substring(0, versionEnd) : value;
+			String hash = versionEnd > -1 ? value.substring(versionEnd + 1) : "";
+			return create(key, version, hash);
+		}
+		
+		protected String getKey() {
+			return key;
+		}
+		
+		protected String getVersion() {
+			return version;
+		}
+		
+		/**
+		 * Gets the hex encoded hash
+		 *
+		 * @return the hash
+		 */
+		protected String getHash() {
+			return digest != null ? Hex.encodeHexString(digest) : hash;
+		}
+		
+		/**
+		 * Gets the value of the entry in the text format i.e. the version and the hash
+		 *
+		 * @return the value
+		 */
+		protected String getValue() {
+			String h = getHash();
+			return h.isEmpty() ? version : version + SEPARATOR_COLON + h;
+		}
+		
+		/**
+		 * Checks if this entry has the same hash as the specified entry, the raw digests are compared
+		 * when both entries have one.
+		 *
+		 * @param other the entry to compare with
+		 * @return true if the hashes match otherwise false
+		 */
+		protected boolean hasSameHash(Entry other) {
+			if (digest != null && other.digest != null) {
+				return Arrays.equals(digest, other.digest);
+			}
+			
+			return getHash().equals(other.getHash());
+		}
+		
+		private String toLine() {
+			return key + OUTPUT_SEPARATOR + getValue();
+		}
+		
+	}
+	
+	/**
+	 * Reads the entries of a report one by one in key order
+	 */
+	protected interface EntryReader extends AutoCloseable {
+		
+		/**
+		 * Reads the next entry
+		 *
+		 * @return the entry or null if the end of the report is reached
+		 * @throws IOException
+		 */
+		Entry next() throws IOException;
+		
+		/**
+		 * Gets the properties of the report, for reports in the text format the properties are only
+		 * known after the first call to {@link #next()}
+		 *
+		 * @return map of property names and values
+		 */
+		Map<String, String> getProperties();
+		
+		@Override
+		void close() throws IOException;
+		
+	}
+	
+	private static class TextEntryReader implements EntryReader {
+		
+		private final BufferedReader reader;
+		
+		private final Map<String, String> properties = new TreeMap<>();
+		
+		private boolean inHeader = true;
+		
+		private TextEntryReader(File file) throws IOException {
+			reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+		}
+		
+		@Override
+		public Entry next() throws IOException {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.trim().isEmpty()) {
+					continue;
+				}
+				
+				if (!line.startsWith(PROPERTY_PREFIX)) {
+					inHeader = false;
+					return Entry.parse(line);
+				}
+				
+				int nameEnd = line.indexOf(OUTPUT_SEPARATOR);
+				if (inHeader && nameEnd > -1) {
+					properties.put(line.substring(PROPERTY_PREFIX.length(), nameEnd), line.substring(nameEnd + 1));
+				}
+			}
+			
+			return null;
+		}
+		
+		@Override
+		public Map<String, String> getProperties() {
+			return properties;
+		}
+		
+		@Override
+		public void close() throws IOException {
+			reader.close();
+		}
+		
+	}
+	
+	private static class BinaryEntryReader implements EntryReader {
+		
+		private final DataInputStream in;
+		
+		private final Map<String, String> properties = new TreeMap<>();
+		
+		private int remaining;
+		
+		private BinaryEntryReader(File file) throws IOException {
+			in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())));
+			try {
+				in.readFully(new byte[BINARY_MAGIC.length]);
+				byte formatVersion = in.readByte();
+				if (formatVersion != BINARY_FORMAT_VERSION) {
+					throw new IOException("Unsupported binary dependency report format version " + formatVersion);
+				}
+				
+				int count = in.readUnsignedShort();
+				for (int i = 0; i < count; i++) {
+					properties.put(readString(), readString());
+				}
+				
+				remaining = in.readInt();
+			}
+			catch (IOException e) {
+				in.close();
+				if (e instanceof EOFException) {
+					throw new IOException("The binary dependency report is truncated", e);
+				}
+				
+				throw e;
+			}
+		}
+		
+		@Override
+		public Map<String, String> getProperties() {
+			return properties;
+		}
+		
+		@Override
+		public Entry next() throws IOException {
+			if (remaining == 0) {
+				return null;
+			}
+			
+			remaining--;
+			try {
+				String key = readString();
+				String version = readString();
+				int digestLength = in.readUnsignedByte();
+				if (digestLength == 0) {
+					return new Entry(key, version, null, readString());
+				}
+				
+				byte[] digest = new byte[digestLength];
+				in.readFully(digest);
+				return new Entry(key, version, digest, null);
+			}
+			catch (EOFException e) {
+				throw new IOException("The binary dependency report is truncated", e);
+			}
+		}
+		
+		private String readString() throws IOException {
+			byte[] bytes = new byte[in.readUnsignedShort()];
+			in.readFully(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+		
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+		
+	}
+	
+}
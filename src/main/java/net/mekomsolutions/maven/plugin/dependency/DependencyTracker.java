@@ -1,36 +1,51 @@
 package net.mekomsolutions.maven.plugin.dependency;
 
-import static java.util.stream.Collectors.toList;
 import static net.mekomsolutions.maven.plugin.dependency.Constants.AGGREGATED_ARTIFACT_SUFFIX;
 import static net.mekomsolutions.maven.plugin.dependency.Constants.ARTIFACT_SUFFIX;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.BINARY_ARTIFACT_SUFFIX;
 import static net.mekomsolutions.maven.plugin.dependency.Constants.COMPARE_ARTIFACT_SUFFIX;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.COMPARE_DETAILS_ARTIFACT_SUFFIX;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.FINGERPRINT_FILE_SUFFIX;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.ALGORITHM_PROPERTY;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.DIGEST_PROPERTY;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.FINGERPRINT_PROPERTY;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.METRICS_FILE_SUFFIX;
 import static net.mekomsolutions.maven.plugin.dependency.Constants.KEY_SEPARATOR_DOLLAR;
 import static net.mekomsolutions.maven.plugin.dependency.Constants.OUTPUT_SEPARATOR;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.ROOT_DIGEST_KEY;
 import static net.mekomsolutions.maven.plugin.dependency.Constants.SEPARATOR_COLON;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.TREE_ARTIFACT_SUFFIX;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
+import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.codec.digest.DigestUtils;
-import org.apache.maven.RepositoryUtils;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.MavenProjectHelper;
-import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.impl.ArtifactResolver;
-import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.resolution.ArtifactRequest;
 import org.eclipse.aether.resolution.ArtifactResolutionException;
 import org.eclipse.aether.resolution.ArtifactResult;
@@ -55,6 +70,36 @@ public class DependencyTracker {
 	
 	private Log log;
 	
+	private int hashThreads = 1;
+	
+	private HashCache hashCache;
+	
+	private boolean useRepositoryChecksums;
+	
+	private HashMemo hashMemo;
+	
+	private boolean writeComparisonDetails;
+	
+	private RemoteReportPrefetcher remoteReportPrefetcher;
+	
+	private boolean binaryReport;
+	
+	private boolean incremental;
+	
+	private boolean includeTransitive;
+	
+	private FingerprintMode fingerprintMode = FingerprintMode.CONTENT;
+	
+	private DigestAlgorithm digestAlgorithm = DigestAlgorithm.SHA1;
+	
+	private String pluginVersion;
+	
+	private String reportDigest;
+	
+	private TrackerMetrics metrics = new TrackerMetrics();
+	
+	private volatile boolean remoteLookupFailed;
+	
 	private DependencyTracker(MavenProject project, MavenProjectHelper projectHelper, MavenSession session,
 	    ArtifactResolver artifactResolver, String buildFileName, File buildDirectory, Log log) {
 		this.project = project;
@@ -82,6 +127,150 @@ public class DependencyTracker {
 		return new DependencyTracker(project, projectHelper, session, artifactResolver, buildFileName, buildDir, log);
 	}
 	
+	/**
+	 * Sets the number of threads to use to hash the dependency files, a value less than 2 means the
+	 * files are hashed sequentially on the calling thread.
+	 *
+	 * @param hashThreads the number of hashing threads
+	 */
+	protected void setHashThreads(int hashThreads) {
+		this.hashThreads = hashThreads;
+	}
+	
+	/**
+	 * Sets the persistent cache to look up dependency file hashes from before hashing them
+	 *
+	 * @param hashCache {@link HashCache} instance
+	 */
+	protected void setHashCache(HashCache hashCache) {
+		this.hashCache = hashCache;
+	}
+	
+	/**
+	 * Sets whether to use the checksum files stored by the resolver in the local repository instead of
+	 * hashing the downloaded dependency files.
+	 *
+	 * @param useRepositoryChecksums true to use repository checksums otherwise false
+	 */
+	protected void setUseRepositoryChecksums(boolean useRepositoryChecksums) {
+		this.useRepositoryChecksums = useRepositoryChecksums;
+	}
+	
+	/**
+	 * Sets the reactor wide memo used to avoid hashing the same file more than once per build
+	 *
+	 * @param hashMemo {@link HashMemo} instance
+	 */
+	protected void setHashMemo(HashMemo hashMemo) {
+		this.hashMemo = hashMemo;
+	}
+	
+	/**
+	 * Sets whether to write an artifact listing the changed dependencies when comparing reports
+	 *
+	 * @param writeComparisonDetails true to write the comparison details otherwise false
+	 */
+	protected void setWriteComparisonDetails(boolean writeComparisonDetails) {
+		this.writeComparisonDetails = writeComparisonDetails;
+	}
+	
+	/**
+	 * Sets the prefetcher from which to read the remote dependency report if it was already fetched
+	 *
+	 * @param remoteReportPrefetcher {@link RemoteReportPrefetcher} instance
+	 */
+	protected void setRemoteReportPrefetcher(RemoteReportPrefetcher remoteReportPrefetcher) {
+		this.remoteReportPrefetcher = remoteReportPrefetcher;
+	}
+	
+	/**
+	 * Sets whether to also save the dependency report in the binary format, the binary report is then
+	 * the one that is compared with the remote report.
+	 *
+	 * @param binaryReport true to save a binary report otherwise false
+	 */
+	protected void setBinaryReport(boolean binaryReport) {
+		this.binaryReport = binaryReport;
+	}
+	
+	/**
+	 * Sets whether to reuse the dependency report generated by the previous build when the dependency
+	 * files have not changed since then instead of hashing them and saving the report again.
+	 *
+	 * @param incremental true to reuse the previous report otherwise false
+	 */
+	protected void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+	
+	/**
+	 * Sets the version of the plugin that generates the dependency report, it is part of the input
+	 * fingerprint so that a report saved by another version of the plugin is never reused since its
+	 * format may differ.
+	 *
+	 * @param pluginVersion the plugin version
+	 */
+	protected void setPluginVersion(String pluginVersion) {
+		this.pluginVersion = pluginVersion;
+	}
+	
+	/**
+	 * Sets whether to also track the transitive dependencies of the project
+	 *
+	 * @param includeTransitive true to track transitive dependencies otherwise false
+	 */
+	protected void setIncludeTransitive(boolean includeTransitive) {
+		this.includeTransitive = includeTransitive;
+	}
+	
+	/**
+	 * Sets how the dependency files are fingerprinted, the mode is recorded in the header of the
+	 * dependency report unless it is the default one i.e. {@link FingerprintMode#CONTENT}.
+	 *
+	 * @param fingerprintMode the fingerprint mode
+	 */
+	protected void setFingerprintMode(FingerprintMode fingerprintMode) {
+		this.fingerprintMode = fingerprintMode;
+	}
+	
+	/**
+	 * Sets the algorithm used to hash the dependency files, the algorithm is recorded in the header of
+	 * the dependency report unless it is the default one i.e. {@link DigestAlgorithm#SHA1} so that
+	 * reports generated with different algorithms are never considered identical.
+	 *
+	 * @param digestAlgorithm the digest algorithm
+	 */
+	protected void setDigestAlgorithm(DigestAlgorithm digestAlgorithm) {
+		this.digestAlgorithm = digestAlgorithm;
+	}
+	
+	/**
+	 * Sets the metrics to which the timings and counters of this tracker are added
+	 *
+	 * @param metrics the metrics
+	 */
+	protected void setMetrics(TrackerMetrics metrics) {
+		this.metrics = metrics;
+	}
+	
+	/**
+	 * Gets the metrics to which the timings and counters of this tracker are added
+	 *
+	 * @return the metrics
+	 */
+	protected TrackerMetrics getMetrics() {
+		return metrics;
+	}
+	
+	/**
+	 * Gets the root digest of the dependency report generated by the last call to {@link #track()}
+	 *
+	 * @return the hex encoded digest or null if no report was generated
+	 */
+	protected String getReportDigest() {
+		return reportDigest;
+	}
+	
 	/**
 	 * Tracks the declared dependencies
 	 * 
@@ -91,11 +280,34 @@ public class DependencyTracker {
 	protected File track() throws IOException {
 		log.info("Capturing project dependencies");
 		
-		List<String> lines = prepareDependencyArtifact();
+		String fingerprint = null;
+		File fingerprintFile = null;
+		if (incremental) {
+			long start = System.nanoTime();
+			fingerprint = createInputFingerprint();
+			fingerprintFile = Utils.instantiateFile(buildDirectory, buildFileName + FINGERPRINT_FILE_SUFFIX);
+			File reportFile = reuseDependencyArtifact(fingerprintFile, fingerprint);
+			metrics.addTime(TrackerMetrics.PHASE_FINGERPRINT, System.nanoTime() - start);
+			if (reportFile != null) {
+				metrics.setReportReused(true);
+				return reportFile;
+			}
+			
+			//Discard the fingerprint so that it never matches a partially saved report
+			Files.deleteIfExists(fingerprintFile.toPath());
+		}
+		
+		long start = System.nanoTime();
+		DependencyReport report = prepareDependencyArtifact();
+		reportDigest = report.getDigest();
+		//The digest is deployed with the module even when the reactor digest artifact is not
+		report.setProperty(DIGEST_PROPERTY, reportDigest);
+		metrics.addTime(TrackerMetrics.PHASE_REPORT, System.nanoTime() - start);
 		
+		start = System.nanoTime();
 		log.debug("---------------------- Tracked Dependencies ----------------------");
 		
-		lines.forEach(line -> log.debug(line));
+		report.toLines().forEach(line -> log.debug(line));
 		
 		log.debug("------------------------------------------------------------------");
 		
@@ -106,73 +318,442 @@ public class DependencyTracker {
 			buildDirectory.mkdir();
 		}
 		
-		return saveDependencyArtifact(lines);
+		File reportFile = saveDependencyArtifact(report);
+		if (fingerprint != null) {
+			Utils.writeBytesToFile(fingerprintFile, fingerprint.getBytes(StandardCharsets.UTF_8));
+		}
+		
+		metrics.addTime(TrackerMetrics.PHASE_SAVE, System.nanoTime() - start);
+		return reportFile;
+	}
+	
+	/**
+	 * Creates the fingerprint of the inputs of the dependency report, i.e. the coordinates and
+	 * resolved versions of the dependencies along with the path, size and last modified time of their
+	 * files, the options that affect the saved report and the version of the plugin.
+	 *
+	 * @return the hex encoded fingerprint
+	 * @throws IOException
+	 */
+	protected String createInputFingerprint() throws IOException {
+		List<String> lines = new ArrayList<>();
+		lines.add("pluginVersion" + OUTPUT_SEPARATOR + pluginVersion);
+		lines.add("binaryReport" + OUTPUT_SEPARATOR + binaryReport);
+		lines.add("useRepositoryChecksums" + OUTPUT_SEPARATOR + useRepositoryChecksums);
+		lines.add("includeTransitive" + OUTPUT_SEPARATOR + includeTransitive);
+		lines.add(FINGERPRINT_PROPERTY + OUTPUT_SEPARATOR + fingerprintMode.getValue());
+		lines.add(ALGORITHM_PROPERTY + OUTPUT_SEPARATOR + digestAlgorithm.getValue());
+		for (Artifact a : getTrackedArtifacts()) {
+			File file = a.getFile();
+			String fileKey = "";
+			if (file != null && file.isDirectory()) {
+				fileKey = DirectoryHasher.createKey(file);
+			} else if (file != null && file.exists()) {
+				fileKey = Utils.createFileKey(file);
+			}
+			
+			lines.add(getKey(a) + OUTPUT_SEPARATOR + a.getBaseVersion() + SEPARATOR_COLON + a.getVersion() + "\t"
+			        + fileKey);
+		}
+		
+		Collections.sort(lines);
+		MessageDigest digest = DigestUtils.getSha1Digest();
+		lines.forEach(line -> digest.update((line + "\n").getBytes(StandardCharsets.UTF_8)));
+		return Hex.encodeHexString(digest.digest());
+	}
+	
+	/**
+	 * Attaches the dependency report saved by the previous build if the fingerprint of its inputs
+	 * matches the specified fingerprint and the report was not saved again after the fingerprint.
+	 *
+	 * @param fingerprintFile the file containing the fingerprint of the previous build
+	 * @param fingerprint the fingerprint of the current inputs
+	 * @return the reused report file or null if the report has to be generated again
+	 * @throws IOException
+	 */
+	private File reuseDependencyArtifact(File fingerprintFile, String fingerprint) throws IOException {
+		if (!fingerprintFile.isFile()) {
+			return null;
+		}
+		
+		String previousFingerprint = new String(Files.readAllBytes(fingerprintFile.toPath()), StandardCharsets.UTF_8);
+		if (!fingerprint.equals(previousFingerprint.trim())) {
+			log.debug("Project dependencies have changed since the last build");
+			return null;
+		}
+		
+		File artifactFile = Utils.instantiateFile(buildDirectory, buildFileName + ARTIFACT_SUFFIX);
+		File binaryFile = binaryReport ? Utils.instantiateFile(buildDirectory, buildFileName + BINARY_ARTIFACT_SUFFIX)
+		        : null;
+		long fingerprintTime = fingerprintFile.lastModified();
+		if (!isReusable(artifactFile, fingerprintTime)
+		        || (binaryFile != null && !isReusable(binaryFile, fingerprintTime))) {
+			return null;
+		}
+		
+		log.info("Project dependencies are unchanged since the last build, reusing dependency tracker artifact "
+		        + artifactFile);
+		
+		reportDigest = DependencyReport.read(artifactFile).getDigest();
+		projectHelper.attachArtifact(project, Constants.EXT, Constants.CLASSIFIER, artifactFile);
+		if (binaryFile == null) {
+			return artifactFile;
+		}
+		
+		projectHelper.attachArtifact(project, Constants.BINARY_EXT, Constants.CLASSIFIER, binaryFile);
+		return binaryFile;
+	}
+	
+	private boolean isReusable(File reportFile, long fingerprintTime) {
+		return reportFile.isFile() && reportFile.lastModified() <= fingerprintTime;
 	}
 	
 	/**
 	 * Prepares the dependency details
 	 * 
-	 * @return artifact contents
+	 * @return the dependency report
 	 * @throws IOException
 	 */
-	protected List<String> prepareDependencyArtifact() throws IOException {
-		Set<Artifact> artifacts = project.getDependencyArtifacts();
+	protected DependencyReport prepareDependencyArtifact() throws IOException {
+		Set<Artifact> artifacts = getTrackedArtifacts();
 		
 		log.info("Found " + artifacts.size() + " dependencies to track");
+		metrics.setDependencies(artifacts.size());
+		
+		DependencyReport report = new DependencyReport();
+		if (fingerprintMode != FingerprintMode.CONTENT) {
+			report.setProperty(FINGERPRINT_PROPERTY, fingerprintMode.getValue());
+		}
 		
-		Map<String, String> keyAndHash = new TreeMap<>();
+		if (digestAlgorithm != DigestAlgorithm.SHA1) {
+			report.setProperty(ALGORITHM_PROPERTY, digestAlgorithm.getValue());
+		}
+		
+		if (hashThreads > 1 && artifacts.size() > 1) {
+			hashInParallel(artifacts, report);
+		} else {
+			for (Artifact a : artifacts) {
+				report.add(getKey(a), a.getBaseVersion(), getHash(a, hashThreads));
+			}
+		}
+		
+		return report;
+	}
+	
+	/**
+	 * Computes the hashes of the specified dependencies ahead of the tracking of the project so that
+	 * they are found in the hash memo and the hash cache when the project is tracked. This is called
+	 * from a pool thread so the files in a directory are hashed sequentially.
+	 *
+	 * @param artifacts the resolved dependencies to hash
+	 * @throws IOException
+	 */
+	protected void hashDependencies(Collection<Artifact> artifacts) throws IOException {
 		for (Artifact a : artifacts) {
-			log.debug("Generating sha1 hash for artifact: " + a);
-			final String k = a.getDependencyConflictId().replace(SEPARATOR_COLON, KEY_SEPARATOR_DOLLAR);
-			keyAndHash.put(k, a.getBaseVersion() + SEPARATOR_COLON + DigestUtils.sha1Hex(Utils.readFile(a.getFile())));
+			getHash(a, 1);
 		}
+	}
+	
+	/**
+	 * Gets the dependencies to track, these are the declared dependencies or all the resolved
+	 * dependencies of the project including the transitive ones if transitive dependencies are
+	 * tracked.
+	 *
+	 * @return set of artifacts
+	 */
+	private Set<Artifact> getTrackedArtifacts() {
+		return includeTransitive ? project.getArtifacts() : project.getDependencyArtifacts();
+	}
+	
+	/**
+	 * Hashes the specified artifacts using a bounded pool of threads and adds the results to the
+	 * specified report, the files in a directory are hashed sequentially by the pool thread that hashes
+	 * the directory so that the number of threads never exceeds the configured one.
+	 *
+	 * @param artifacts the artifacts to hash
+	 * @param report the report to add the results to
+	 * @throws IOException
+	 */
+	private void hashInParallel(Set<Artifact> artifacts, DependencyReport report) throws IOException {
+		final int threads = Math.min(hashThreads, artifacts.size());
+		log.debug("Hashing dependencies using " + threads + " threads");
 		
-		return keyAndHash.entrySet().stream().map(e -> e.getKey() + OUTPUT_SEPARATOR + e.getValue()).collect(toList());
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			Map<Artifact, Future<String>> artifactAndFuture = new LinkedHashMap<>();
+			for (Artifact a : artifacts) {
+				artifactAndFuture.put(a, executor.submit(() -> getHash(a, 1)));
+			}
+			
+			for (Map.Entry<Artifact, Future<String>> e : artifactAndFuture.entrySet()) {
+				Artifact a = e.getKey();
+				report.add(getKey(a), a.getBaseVersion(), e.getValue().get());
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while hashing dependencies", e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			
+			throw new IOException("An error occurred while hashing dependencies", e.getCause());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	private String getKey(Artifact a) {
+		return a.getDependencyConflictId().replace(SEPARATOR_COLON, KEY_SEPARATOR_DOLLAR);
+	}
+	
+	private String getHash(Artifact a, int directoryThreads) throws IOException {
+		//A snapshot that is not timestamped e.g. a reactor project or a locally installed snapshot keeps the
+		//same version when it is rebuilt, so its contents are hashed instead
+		boolean plainSnapshot = a.getVersion().endsWith(Artifact.SNAPSHOT_VERSION);
+		if (fingerprintMode == FingerprintMode.METADATA && !plainSnapshot) {
+			return computeMetadataHash(a);
+		}
+		
+		if (a.getFile().isDirectory()) {
+			return hashDirectory(a, directoryThreads);
+		}
+		
+		final FingerprintMode mode = fingerprintMode == FingerprintMode.METADATA ? FingerprintMode.CONTENT
+		        : fingerprintMode;
+		if (hashMemo != null) {
+			return hashMemo.get(a.getFile(), getHashType(mode), file -> computeHash(a, mode));
+		}
+		
+		return computeHash(a, mode);
+	}
+	
+	private String getHashType(FingerprintMode mode) {
+		return mode.getValue() + SEPARATOR_COLON + digestAlgorithm.getValue();
+	}
+	
+	private String computeHash(Artifact a, FingerprintMode mode) throws IOException {
+		final File file = a.getFile();
+		if (hashCache != null) {
+			String hash = hashCache.get(file, getHashType(mode));
+			if (hash != null) {
+				log.debug("Found cached " + digestAlgorithm.getValue() + " hash for artifact: " + a);
+				metrics.addHashCacheHit();
+				return hash;
+			}
+		}
+		
+		//Repository checksums are SHA-1 hashes of the entire file contents
+		if (useRepositoryChecksums && mode == FingerprintMode.CONTENT
+		        && digestAlgorithm == DigestAlgorithm.SHA1 && isInLocalRepository(file)) {
+			String hash = Utils.readSha1Checksum(file);
+			if (hash != null) {
+				log.debug("Using repository checksum for artifact: " + a);
+				metrics.addRepositoryChecksumHit();
+				return hash;
+			}
+		}
+		
+		String hash = null;
+		if (mode == FingerprintMode.ZIP || mode == FingerprintMode.ZIP_IGNORE_TIMESTAMPS) {
+			log.debug("Generating zip fingerprint for artifact: " + a);
+			boolean ignoreTimestamps = mode == FingerprintMode.ZIP_IGNORE_TIMESTAMPS;
+			hash = ZipFingerprint.compute(file, ignoreTimestamps, digestAlgorithm);
+			if (hash != null) {
+				metrics.addZipFingerprint();
+			}
+		}
+		
+		if (hash == null) {
+			log.debug("Generating " + digestAlgorithm.getValue() + " hash for artifact: " + a);
+			long start = System.nanoTime();
+			hash = Utils.hashHex(file, digestAlgorithm);
+			metrics.addFileHashed(file.length(), System.nanoTime() - start);
+		}
+		
+		if (hashCache != null) {
+			hashCache.put(file, getHashType(mode), hash);
+		}
+		
+		return hash;
+	}
+	
+	/**
+	 * Computes the hash of the timestamped version of the specified artifact and the size of its file,
+	 * for a directory the size is that of the files in it. The file contents are never read, so this is
+	 * cheap enough to neither memoize nor cache.
+	 *
+	 * @param a the artifact
+	 * @return the hex encoded hash
+	 * @throws IOException
+	 */
+	private String computeMetadataHash(Artifact a) throws IOException {
+		final File file = a.getFile();
+		long size = file.isDirectory() ? DirectoryHasher.getSize(file) : file.length();
+		DigestAlgorithm.Hasher hasher = digestAlgorithm.newHasher();
+		String metadata = a.getVersion() + SEPARATOR_COLON + size;
+		hasher.update(ByteBuffer.wrap(metadata.getBytes(StandardCharsets.UTF_8)));
+		return hasher.hexDigest();
+	}
+	
+	/**
+	 * Computes the hash of a reactor project dependency that resolves to a directory e.g. target/classes
+	 * when the build stops before the package phase. The last modified time of a directory does not
+	 * reflect changes to nested files so the hash memo is not used for the directory itself, it is
+	 * instead used for the files in it which are always hashed in full. The hash cache is not used since
+	 * the files are rewritten by every build, their entries would never be hit again and would evict
+	 * those of the dependency files in the local repository.
+	 *
+	 * @param a the artifact
+	 * @param threads the number of threads to hash the files in the directory with
+	 * @return the hex encoded hash
+	 * @throws IOException
+	 */
+	private String hashDirectory(Artifact a, int threads) throws IOException {
+		log.debug("Generating " + digestAlgorithm.getValue() + " directory hash for artifact: " + a);
+		final String hashType = FingerprintMode.CONTENT.getValue() + SEPARATOR_COLON + digestAlgorithm.getValue();
+		return DirectoryHasher.compute(a.getFile(), digestAlgorithm, file -> {
+			if (hashMemo != null) {
+				return hashMemo.get(file, hashType, this::computeFileHash);
+			}
+			
+			return computeFileHash(file);
+		}, threads);
+	}
+	
+	private String computeFileHash(File file) throws IOException {
+		long start = System.nanoTime();
+		String hash = Utils.hashHex(file, digestAlgorithm);
+		metrics.addFileHashed(file.length(), System.nanoTime() - start);
+		return hash;
+	}
+	
+	/**
+	 * Checks if the specified file is located in the local repository, only checksum files stored
+	 * there by the resolver are trusted, files elsewhere e.g. in a reactor project's build directory
+	 * are always hashed.
+	 *
+	 * @param file the file to check
+	 * @return true if the file is in the local repository otherwise false
+	 */
+	private boolean isInLocalRepository(File file) {
+		File localRepoDir = session.getRepositorySession().getLocalRepository().getBasedir();
+		return file.getAbsolutePath().startsWith(localRepoDir.getAbsolutePath() + File.separator);
 	}
 	
 	/**
-	 * Saves the dependency artifact to the build directory.
+	 * Saves the dependency artifact to the build directory, if enabled the report is also saved in
+	 * the binary format as a separate artifact.
 	 * 
-	 * @param lines artifact contents
-	 * @return generated dependency artifact file
+	 * @param report the dependency report
+	 * @return generated dependency artifact file, this is the binary one if it is enabled
 	 * @throws IOException
 	 */
-	protected File saveDependencyArtifact(List<String> lines) throws IOException {
+	protected File saveDependencyArtifact(DependencyReport report) throws IOException {
 		File artifactFile = Utils.instantiateFile(buildDirectory, buildFileName + ARTIFACT_SUFFIX);
 		
 		log.info("Saving dependency tracker artifact to " + artifactFile);
 		
-		Utils.writeToFile(artifactFile, lines);
+		Utils.writeToFile(artifactFile, report.toLines());
 		
 		log.info("Attaching dependency tracker artifact");
 		
 		projectHelper.attachArtifact(project, Constants.EXT, Constants.CLASSIFIER, artifactFile);
-		return artifactFile;
+		if (!binaryReport) {
+			return artifactFile;
+		}
+		
+		File binaryFile = Utils.instantiateFile(buildDirectory, buildFileName + BINARY_ARTIFACT_SUFFIX);
+		
+		log.info("Saving binary dependency tracker artifact to " + binaryFile);
+		
+		report.writeBinary(binaryFile);
+		projectHelper.attachArtifact(project, Constants.BINARY_EXT, Constants.CLASSIFIER, binaryFile);
+		return binaryFile;
 	}
 	
 	/**
 	 * Fetches the dependency remote from the remote repository defined in the distribution management
-	 * section of a project's POM file.
+	 * section of a project's POM file, if the report was already prefetched together with those of
+	 * the other projects in the reactor, the prefetched report is returned. If binary reports are
+	 * enabled, the binary report is fetched and the text report is only fetched if it is not found.
 	 *
 	 * @return the downloaded dependency report file.
 	 * @throws Exception
 	 */
 	protected File getRemoteDependencyReport() {
-		final String artifactId = project.getArtifactId();
+		if (binaryReport) {
+			File report = getRemoteFile(Constants.BINARY_EXT, "binary dependency report");
+			if (report != null) {
+				return report;
+			}
+		}
+		
+		return getRemoteFile(Constants.EXT, "dependency report");
+	}
+	
+	/**
+	 * Fetches the SHA-1 checksum of the dependency report from the remote repository defined in the
+	 * distribution management section of a project's POM file, this avoids downloading the report
+	 * when only the comparison result is needed.
+	 *
+	 * @return the hex encoded SHA-1 hash of the remote report or null if no valid checksum was found
+	 * @throws IOException
+	 */
+	protected String getRemoteDependencyReportChecksum() throws IOException {
+		String extension = (binaryReport ? Constants.BINARY_EXT : Constants.EXT) + Constants.CHECKSUM_EXT_SUFFIX;
+		File checksumFile = getRemoteFile(extension, "dependency report checksum");
+		if (checksumFile == null) {
+			return null;
+		}
+		
+		String checksum = Utils.readChecksumFile(checksumFile);
+		if (checksum == null) {
+			log.info("Ignoring invalid remote dependency report checksum " + checksumFile);
+		}
+		
+		return checksum;
+	}
+	
+	private File getRemoteFile(String extension, String description) {
+		if (remoteReportPrefetcher != null && remoteReportPrefetcher.isPrefetched(project, extension)) {
+			File file = remoteReportPrefetcher.getReport(project, extension);
+			if (file == null && remoteReportPrefetcher.isFailed(project, extension)) {
+				log.warn("Failed to fetch remote " + description);
+				remoteLookupFailed = true;
+			} else if (file == null) {
+				log.info("No remote " + description + " found");
+			}
+			
+			return file;
+		}
+		
 		ArtifactRepository remoteRepo = project.getDistributionManagementArtifactRepository();
-		log.info("Fetching dependency report for " + artifactId + " from " + remoteRepo.getUrl());
-		org.eclipse.aether.artifact.Artifact ea = new DefaultArtifact(project.getGroupId(), artifactId, Constants.CLASSIFIER,
-		        Constants.EXT, project.getVersion());
-		RemoteRepository remoteAetherRepo = RepositoryUtils.toRepo(remoteRepo);
-		ArtifactRequest artifactReq = new ArtifactRequest(ea, Collections.singletonList(remoteAetherRepo), null);
+		log.info("Fetching " + description + " for " + project.getArtifactId() + " from " + remoteRepo.getUrl());
+		ArtifactRequest artifactReq = RemoteReportPrefetcher.createRequest(project, extension);
+		long start = System.nanoTime();
 		try {
-			ArtifactResult artifactRes = artifactResolver.resolveArtifact(session.getRepositorySession(), artifactReq);
+			RepositorySystemSession repoSession = RemoteReportPrefetcher.getRepositorySession(session, extension);
+			ArtifactResult artifactRes = artifactResolver.resolveArtifact(repoSession, artifactReq);
 			return artifactRes.getArtifact().getFile();
 		}
 		catch (ArtifactResolutionException e) {
-			log.info("No remote dependency report found");
+			if (RemoteLookupGuard.isFailed(e.getResult())) {
+				log.warn("Failed to fetch remote " + description + ": " + e.getMessage());
+				remoteLookupFailed = true;
+			} else {
+				log.info("No remote " + description + " found");
+			}
+			
 			return null;
 		}
+		finally {
+			metrics.addRemoteFetch();
+			metrics.addTime(TrackerMetrics.PHASE_REMOTE_FETCH, System.nanoTime() - start);
+		}
 	}
 	
 	/**
@@ -180,7 +761,10 @@ public class DependencyTracker {
 	 * the comparison result. If the reports match, the result of the comparison artifact is 0, if
 	 * changes are detected the result is 1 otherwise -1, where -1 implies there was no existing
 	 * previous report that was found in the remote repository, this typically happens upon the first
-	 * build of the project.
+	 * build of the project. The result is -2 if there is no remote report because its lookup failed
+	 * e.g. the remote repository was unreachable, in that case the changes are unknown. The reports are
+	 * streamed and compared entry by entry, if enabled, the changed dependencies are written to a
+	 * comparison details artifact in the build directory.
 	 *
 	 * @param buildReport report file generated during the current build.
 	 * @param remoteReport the report file from the remote repo
@@ -188,17 +772,65 @@ public class DependencyTracker {
 	 */
 	protected Integer compare(File buildReport, File remoteReport) throws Exception {
 		log.info("Comparing project dependency reports for " + project.getArtifactId());
+		long start = System.nanoTime();
 		int result = -1;
 		if (remoteReport != null) {
-			byte[] buildContent = Utils.readFile(buildReport);
-			byte[] remoteContent = Utils.readFile(remoteReport);
-			result = Arrays.equals(buildContent, remoteContent) ? 0 : 1;
+			int changes;
+			if (writeComparisonDetails) {
+				File detailsFile = Utils.instantiateFile(buildDirectory,
+				    buildFileName + COMPARE_DETAILS_ARTIFACT_SUFFIX);
+				log.info("Saving dependency comparison details artifact to " + detailsFile);
+				try (BufferedWriter writer = Files.newBufferedWriter(detailsFile.toPath(), StandardCharsets.UTF_8)) {
+					changes = ReportDiff.diff(buildReport, remoteReport, writer);
+				}
+				
+				log.info("Found " + changes + " changed dependencies");
+			} else {
+				changes = ReportDiff.diff(buildReport, remoteReport, null);
+			}
+			
+			result = changes == 0 ? 0 : 1;
+		} else if (remoteLookupFailed) {
+			result = -2;
 		}
 		
+		metrics.addTime(TrackerMetrics.PHASE_COMPARE, System.nanoTime() - start);
 		saveComparisonArtifact(result);
 		return result;
 	}
 	
+	/**
+	 * Compares the SHA-1 hash of the specified dependency report with the checksum of the remote
+	 * report and generates a report artifact containing the comparison result, the result is 0 if the
+	 * hashes match otherwise 1. This only detects whether the reports differ, the changed dependencies
+	 * are not reported.
+	 *
+	 * @param buildReport report file generated during the current build.
+	 * @param remoteChecksum the hex encoded SHA-1 hash of the report in the remote repo
+	 * @throws Exception
+	 */
+	protected Integer compareChecksum(File buildReport, String remoteChecksum) throws Exception {
+		log.info("Comparing project dependency report checksums for " + project.getArtifactId());
+		long start = System.nanoTime();
+		int result = matchesChecksum(buildReport, remoteChecksum) ? 0 : 1;
+		metrics.addTime(TrackerMetrics.PHASE_COMPARE, System.nanoTime() - start);
+		saveComparisonArtifact(result);
+		return result;
+	}
+	
+	/**
+	 * Checks if the SHA-1 hash of the specified dependency report matches the checksum of the remote
+	 * report
+	 *
+	 * @param buildReport report file generated during the current build.
+	 * @param remoteChecksum the hex encoded SHA-1 hash of the report in the remote repo
+	 * @return true if the hashes match otherwise false
+	 * @throws IOException
+	 */
+	protected boolean matchesChecksum(File buildReport, String remoteChecksum) throws IOException {
+		return Utils.sha1Hex(buildReport).equals(remoteChecksum);
+	}
+	
 	/**
 	 * Saves the artifact containing the comparison result to the build directory.
 	 *
@@ -228,6 +860,8 @@ public class DependencyTracker {
 			result = 0;
 		} else if (uniqueResults.contains(1)) {
 			result = 1;
+		} else if (uniqueResults.contains(-2)) {
+			result = -2;
 		} else {
 			result = -1;
 		}
@@ -255,4 +889,47 @@ public class DependencyTracker {
 		Utils.writeBytesToFile(artifactFile, result.toString().getBytes(StandardCharsets.UTF_8));
 	}
 	
+	/**
+	 * Saves the artifact containing the root digest of the reactor followed by the report digests of
+	 * the projects to the aggregator project's build directory and attaches it to the aggregator
+	 * project, the first line is of the form {@code root=digest} and the others of the form
+	 * {@code projectKey=digest}. The artifact is attached after the last project is tracked so it is
+	 * only deployed if the maven-deploy-plugin's deployAtEnd option is enabled, the report of each
+	 * project also contains its digest.
+	 *
+	 * @param aggregatorProject the aggregator project
+	 * @param rootDigest the root digest of the reactor
+	 * @param projectDigests map of project keys and report digests
+	 * @throws IOException
+	 */
+	protected void saveReactorDigestArtifact(MavenProject aggregatorProject, String rootDigest,
+	        Map<String, String> projectDigests) throws IOException {
+		File parentBuildDir = new File(aggregatorProject.getBuild().getDirectory());
+		String parentBuildFileName = aggregatorProject.getBuild().getFinalName();
+		File artifactFile = Utils.instantiateFile(parentBuildDir, parentBuildFileName + TREE_ARTIFACT_SUFFIX);
+		
+		log.info("Saving reactor dependency digest artifact to " + artifactFile);
+		
+		List<String> lines = new ArrayList<>(projectDigests.size() + 1);
+		lines.add(ROOT_DIGEST_KEY + OUTPUT_SEPARATOR + rootDigest);
+		projectDigests.forEach((k, v) -> lines.add(k + OUTPUT_SEPARATOR + v));
+		Utils.writeToFile(artifactFile, lines);
+		projectHelper.attachArtifact(aggregatorProject, Constants.EXT, Constants.TREE_CLASSIFIER, artifactFile);
+	}
+	
+	/**
+	 * Saves the metrics of this tracker as a JSON file to the build directory, unlike the reports the
+	 * file is not attached to the project.
+	 *
+	 * @throws IOException
+	 */
+	protected void saveMetricsFile() throws IOException {
+		File metricsFile = Utils.instantiateFile(buildDirectory, buildFileName + METRICS_FILE_SUFFIX);
+		
+		log.info("Saving dependency tracker metrics to " + metricsFile);
+		
+		String json = metrics.toJson(ReactorCoordinator.getKey(project));
+		Utils.writeBytesToFile(metricsFile, json.getBytes(StandardCharsets.UTF_8));
+	}
+	
 }
@@ -0,0 +1,391 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_BINARY_REPORT;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_COMPARE;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_COMPARE_CHECKSUMS;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_DIGEST_ALGORITHM;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_FINGERPRINT;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_HASH_CACHE;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_HASH_CACHE_FILE;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_HASH_CACHE_MAX_ENTRIES;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_HASH_THREADS;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_MISSING_REPORT_CACHE;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_MISSING_REPORT_CACHE_FILE;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_MISSING_REPORT_CACHE_TTL;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_REMOTE_FAILURE_THRESHOLD;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_REMOTE_REPORT_CACHE;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_REMOTE_REPORT_CACHE_DIR;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_REMOTE_TIMEOUT;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_USE_REPO_CHECKSUMS;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.monitor.logging.DefaultLog;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.PluginParameterExpressionEvaluator;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.component.configurator.expression.ExpressionEvaluationException;
+import org.codehaus.plexus.configuration.PlexusConfiguration;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.impl.MetadataResolver;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+
+/**
+ * Build extension that plans the work of the track goal for the entire reactor once after the
+ * projects are read, it is only active when the plugin is declared with extensions set to true. The
+ * remote dependency reports of all the tracked projects are prefetched and the declared dependencies
+ * of each tracked project are resolved and hashed in the background while the build proceeds, the
+ * track goal of each project then reads the reports from the {@link RemoteReportPrefetcher} and the
+ * hashes from the {@link HashMemo}, waiting for any that are still being computed. The options of
+ * the track goal are resolved from its descriptor exactly as maven would configure the goal, anything
+ * the extension fails to precompute is computed by the track goal as usual.
+ */
+@Named("dependency-tracker")
+@Singleton
+public class DependencyTrackerExtension extends AbstractMavenLifecycleParticipant {
+	
+	protected static final String PLUGIN_KEY = "net.mekomsolutions.maven.plugin:dependency-tracker-maven-plugin";
+	
+	protected static final String GOAL = "track";
+	
+	private static final String DEFAULT_EXECUTION_ID = "default-cli";
+	
+	private static final String ATTR_DEFAULT_VALUE = "default-value";
+	
+	private final ArtifactResolver artifactResolver;
+	
+	private final MetadataResolver metadataResolver;
+	
+	private final BuildPluginManager pluginManager;
+	
+	private final Log log;
+	
+	private final List<Future<?>> tasks = new ArrayList<>();
+	
+	private ExecutorService executor;
+	
+	@Inject
+	public DependencyTrackerExtension(ArtifactResolver artifactResolver, MetadataResolver metadataResolver,
+	    BuildPluginManager pluginManager, Logger logger) {
+		this.artifactResolver = artifactResolver;
+		this.metadataResolver = metadataResolver;
+		this.pluginManager = pluginManager;
+		this.log = new DefaultLog(logger);
+	}
+	
+	@Override
+	public synchronized void afterProjectsRead(MavenSession session) {
+		//The extension is a singleton which outlives the session in an embedded or daemon maven
+		reset();
+		List<MavenProject> projects = getTrackedProjects(session);
+		if (projects.isEmpty()) {
+			return;
+		}
+		
+		log.info("Planning dependency tracking for " + projects.size() + " projects");
+		
+		final MojoConfiguration configuration;
+		final int threads;
+		final boolean prefetch;
+		try {
+			configuration = getConfiguration(session, projects.get(0));
+			threads = Math.max(2, configuration.getInt(PROP_HASH_THREADS));
+			prefetch = projects.size() > 1 && configuration.getBoolean(PROP_COMPARE);
+		}
+		catch (Exception e) {
+			log.warn("Failed to read the configuration of the " + GOAL + " goal", e);
+			return;
+		}
+		
+		executor = Executors.newFixedThreadPool(threads);
+		if (prefetch) {
+			tasks.add(executor.submit(() -> prefetch(session, configuration, projects)));
+		}
+		
+		Set<String> reactorProjects = new HashSet<>();
+		session.getProjects().forEach(p -> reactorProjects.add(ReactorCoordinator.getKey(p)));
+		for (MavenProject project : projects) {
+			tasks.add(executor.submit(() -> hashDependencies(session, project, reactorProjects)));
+		}
+	}
+	
+	@Override
+	public synchronized void afterSessionEnd(MavenSession session) {
+		reset();
+	}
+	
+	private void reset() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+		
+		tasks.clear();
+	}
+	
+	/**
+	 * Gets the background tasks started for the reactor
+	 *
+	 * @return the tasks
+	 */
+	protected synchronized List<Future<?>> getTasks() {
+		return new ArrayList<>(tasks);
+	}
+	
+	private static List<MavenProject> getTrackedProjects(MavenSession session) {
+		List<MavenProject> projects = new ArrayList<>();
+		if (session.getProjects() != null) {
+			for (MavenProject p : session.getProjects()) {
+				if (p.getPlugin(PLUGIN_KEY) != null) {
+					projects.add(p);
+				}
+			}
+		}
+		
+		return projects;
+	}
+	
+	/**
+	 * Prefetches the remote dependency reports of the specified projects exactly as the track goal
+	 * would, the goal's own prefetch request then returns immediately or waits for this one.
+	 */
+	private void prefetch(MavenSession session, MojoConfiguration configuration, List<MavenProject> projects) {
+		try {
+			String extension = configuration.getBoolean(PROP_BINARY_REPORT) ? Constants.BINARY_EXT : Constants.EXT;
+			if (configuration.getBoolean(PROP_COMPARE_CHECKSUMS)) {
+				extension += Constants.CHECKSUM_EXT_SUFFIX;
+			}
+			
+			ArtifactResolver resolver = artifactResolver;
+			if (configuration.getBoolean(PROP_REMOTE_REPORT_CACHE)) {
+				File dir = configuration.getFile(PROP_REMOTE_REPORT_CACHE_DIR);
+				resolver = new RemoteReportCache(dir, artifactResolver, metadataResolver);
+			}
+			
+			int timeout = configuration.getInt(PROP_REMOTE_TIMEOUT);
+			int threshold = configuration.getInt(PROP_REMOTE_FAILURE_THRESHOLD);
+			RemoteCircuitBreaker breaker = RemoteCircuitBreaker.getInstance(session.getRepositorySession(), threshold);
+			resolver = new RemoteLookupGuard(resolver, timeout, breaker, log);
+			MissingReportCache missingReports = null;
+			if (configuration.getBoolean(PROP_MISSING_REPORT_CACHE)) {
+				File file = configuration.getFile(PROP_MISSING_REPORT_CACHE_FILE);
+				long ttl = TimeUnit.MINUTES.toMillis(configuration.getInt(PROP_MISSING_REPORT_CACHE_TTL));
+				missingReports = MissingReportCache.getInstance(file, ttl);
+				resolver = missingReports.decorate(resolver);
+			}
+			
+			RemoteReportPrefetcher.getInstance(session).prefetch(projects, extension, session, resolver, log);
+			if (missingReports != null) {
+				missingReports.save();
+			}
+		}
+		catch (Exception e) {
+			log.warn("Failed to prefetch the remote dependency reports", e);
+		}
+	}
+	
+	/**
+	 * Resolves and hashes the declared dependencies of the specified project with its configured
+	 * fingerprint mode and digest algorithm so that the hashes are memoized for its track goal,
+	 * dependencies on reactor projects, system scoped dependencies and version ranges are left to the
+	 * track goal since they are only known after the reactor project is built or the project's
+	 * dependencies are resolved.
+	 */
+	private void hashDependencies(MavenSession session, MavenProject project, Set<String> reactorProjects) {
+		try {
+			MojoConfiguration configuration = getConfiguration(session, project);
+			FingerprintMode fingerprintMode = FingerprintMode.fromValue(configuration.getString(PROP_FINGERPRINT));
+			DigestAlgorithm algorithm = DigestAlgorithm.fromValue(configuration.getString(PROP_DIGEST_ALGORITHM));
+			if (fingerprintMode == null || algorithm == null) {
+				//The track goal fails for an unsupported configuration
+				return;
+			}
+			
+			RepositorySystemSession repoSession = session.getRepositorySession();
+			List<ArtifactRequest> requests = new ArrayList<>();
+			for (Dependency d : project.getDependencies()) {
+				String key = ArtifactUtils.key(d.getGroupId(), d.getArtifactId(), d.getVersion());
+				if (reactorProjects.contains(key) || d.getSystemPath() != null || isVersionRange(d.getVersion())) {
+					continue;
+				}
+				
+				org.eclipse.aether.graph.Dependency dependency = RepositoryUtils.toDependency(d,
+				    repoSession.getArtifactTypeRegistry());
+				List<RemoteRepository> repositories = project.getRemoteProjectRepositories();
+				requests.add(new ArtifactRequest(dependency.getArtifact(), repositories, null));
+			}
+			
+			if (requests.isEmpty()) {
+				return;
+			}
+			
+			List<ArtifactResult> results;
+			try {
+				results = artifactResolver.resolveArtifacts(repoSession, requests);
+			}
+			catch (ArtifactResolutionException e) {
+				//The track goal fails for dependencies that cannot be resolved
+				results = e.getResults();
+			}
+			
+			Set<Artifact> artifacts = new LinkedHashSet<>(results.size());
+			for (ArtifactResult result : results) {
+				if (result != null && result.isResolved() && result.getArtifact().getFile() != null) {
+					artifacts.add(RepositoryUtils.toArtifact(result.getArtifact()));
+				}
+			}
+			
+			log.debug("Hashing " + artifacts.size() + " dependencies of " + project.getArtifactId() + " in advance");
+			
+			DependencyTracker t = DependencyTracker.createInstance(project, null, session, artifactResolver,
+			    project.getBuild().getFinalName(), new File(project.getBuild().getDirectory()), log);
+			t.setHashMemo(HashMemo.getInstance(repoSession));
+			t.setUseRepositoryChecksums(configuration.getBoolean(PROP_USE_REPO_CHECKSUMS));
+			t.setFingerprintMode(fingerprintMode);
+			t.setDigestAlgorithm(algorithm);
+			if (configuration.getBoolean(PROP_HASH_CACHE)) {
+				File cacheFile = configuration.getFile(PROP_HASH_CACHE_FILE);
+				int maxEntries = configuration.getInt(PROP_HASH_CACHE_MAX_ENTRIES);
+				t.setHashCache(HashCache.getInstance(cacheFile, maxEntries));
+			}
+			
+			t.hashDependencies(artifacts);
+		}
+		catch (Exception e) {
+			log.warn("Failed to hash the dependencies of " + project.getArtifactId() + " in advance", e);
+		}
+	}
+	
+	private static boolean isVersionRange(String version) {
+		return version == null || version.startsWith("[") || version.startsWith("(");
+	}
+	
+	/**
+	 * Gets the configuration of the track goal for the specified project as maven would configure it,
+	 * the configuration of the first execution of the goal is merged with the plugin configuration and
+	 * the options that are not set take the values of their expressions or defaults in the descriptor
+	 * of the goal.
+	 *
+	 * @param session {@link MavenSession} instance
+	 * @param project {@link MavenProject} instance
+	 * @return the MojoConfiguration
+	 * @throws Exception
+	 */
+	protected MojoConfiguration getConfiguration(MavenSession session, MavenProject project) throws Exception {
+		Plugin plugin = project.getPlugin(PLUGIN_KEY);
+		MojoDescriptor descriptor = pluginManager.getMojoDescriptor(plugin, GOAL, project.getRemotePluginRepositories(),
+		    session.getRepositorySession());
+		String executionId = DEFAULT_EXECUTION_ID;
+		Xpp3Dom configuration = (Xpp3Dom) plugin.getConfiguration();
+		for (PluginExecution execution : plugin.getExecutions()) {
+			if (execution.getGoals().contains(GOAL)) {
+				executionId = execution.getId();
+				configuration = merge((Xpp3Dom) execution.getConfiguration(), configuration);
+				break;
+			}
+		}
+		
+		MavenSession projectSession = session.clone();
+		projectSession.setCurrentProject(project);
+		MojoExecution mojoExecution = new MojoExecution(descriptor, executionId);
+		return new MojoConfiguration(configuration, descriptor.getMojoConfiguration(),
+		        new PluginParameterExpressionEvaluator(projectSession, mojoExecution));
+	}
+	
+	private static Xpp3Dom merge(Xpp3Dom dominant, Xpp3Dom recessive) {
+		if (dominant == null || recessive == null) {
+			return dominant != null ? dominant : recessive;
+		}
+		
+		return Xpp3Dom.mergeXpp3Dom(new Xpp3Dom(dominant), new Xpp3Dom(recessive));
+	}
+	
+	/**
+	 * The options of the track goal for a project
+	 */
+	protected static class MojoConfiguration {
+		
+		private final Xpp3Dom configuration;
+		
+		private final PlexusConfiguration defaults;
+		
+		private final PluginParameterExpressionEvaluator evaluator;
+		
+		private MojoConfiguration(Xpp3Dom configuration, PlexusConfiguration defaults,
+		    PluginParameterExpressionEvaluator evaluator) {
+			this.configuration = configuration;
+			this.defaults = defaults;
+			this.evaluator = evaluator;
+		}
+		
+		/**
+		 * Gets the value of the specified option, the configured value takes precedence over the
+		 * expression of the option which in turn takes precedence over its default value.
+		 *
+		 * @param name the name of the option
+		 * @return the value or null if the option has no value
+		 * @throws ExpressionEvaluationException
+		 */
+		protected String getString(String name) throws ExpressionEvaluationException {
+			Xpp3Dom child = configuration != null ? configuration.getChild(name) : null;
+			PlexusConfiguration defaultChild = defaults != null ? defaults.getChild(name, false) : null;
+			String expression = child != null ? child.getValue() : null;
+			if (expression == null && defaultChild != null) {
+				expression = defaultChild.getValue(null);
+			}
+			
+			Object value = expression != null ? evaluator.evaluate(expression.trim()) : null;
+			if (value == null && defaultChild != null) {
+				String defaultValue = defaultChild.getAttribute(ATTR_DEFAULT_VALUE, null);
+				value = defaultValue != null ? evaluator.evaluate(defaultValue) : null;
+			}
+			
+			return value != null ? value.toString() : null;
+		}
+		
+		protected boolean getBoolean(String name) throws ExpressionEvaluationException {
+			return Boolean.parseBoolean(getString(name));
+		}
+		
+		protected int getInt(String name) throws ExpressionEvaluationException {
+			return Integer.parseInt(getString(name));
+		}
+		
+		protected File getFile(String name) throws ExpressionEvaluationException {
+			String value = getString(name);
+			return value != null ? evaluator.alignToBaseDirectory(new File(value)) : null;
+		}
+		
+	}
+	
+}
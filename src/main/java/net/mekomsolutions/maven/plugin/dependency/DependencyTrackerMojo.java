@@ -3,8 +3,12 @@ package net.mekomsolutions.maven.plugin.dependency;
 import static net.mekomsolutions.maven.plugin.dependency.Utils.getStringResult;
 
 import java.io.File;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.apache.maven.execution.MavenSession;
@@ -26,10 +30,12 @@ import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.MavenProjectHelper;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.impl.MetadataResolver;
 
 /**
- * Tracks project dependency details excluding transitive dependencies and writes them to a file as
- * an artifact in the build directory.
+ * Tracks the details of the dependencies declared by the project, along with the transitive ones
+ * when includeTransitive is enabled, and writes them to a file as an artifact in the build
+ * directory.
  */
 @Mojo(name = "track", defaultPhase = LifecyclePhase.COMPILE, requiresDependencyResolution = ResolutionScope.TEST)
 public class DependencyTrackerMojo extends AbstractMojo {
@@ -50,6 +56,50 @@ public class DependencyTrackerMojo extends AbstractMojo {
 	
 	protected static final String PROP_SKIP_IF_NO_CHANGE = "skipDeployIfNoChanges";
 	
+	protected static final String PROP_SKIP_PER_MODULE = "skipDeployPerModule";
+	
+	protected static final String PROP_HASH_THREADS = "hashThreads";
+	
+	protected static final String DEFAULT_CACHE_DIR = "${settings.localRepository}/.dependency-tracker";
+	
+	protected static final String PROP_HASH_CACHE = "hashCache";
+	
+	protected static final String PROP_HASH_CACHE_FILE = "hashCacheFile";
+	
+	protected static final String PROP_HASH_CACHE_MAX_ENTRIES = "hashCacheMaxEntries";
+	
+	protected static final String PROP_USE_REPO_CHECKSUMS = "useRepositoryChecksums";
+	
+	protected static final String PROP_COMPARISON_DETAILS = "comparisonDetails";
+	
+	protected static final String PROP_COMPARE_CHECKSUMS = "compareChecksums";
+	
+	protected static final String PROP_REMOTE_REPORT_CACHE = "remoteReportCache";
+	
+	protected static final String PROP_BINARY_REPORT = "binaryReport";
+	
+	protected static final String PROP_REMOTE_REPORT_CACHE_DIR = "remoteReportCacheDirectory";
+	
+	protected static final String PROP_INCREMENTAL = "incremental";
+	
+	protected static final String PROP_INCLUDE_TRANSITIVE = "includeTransitive";
+	
+	protected static final String PROP_FINGERPRINT = "fingerprint";
+	
+	protected static final String PROP_DIGEST_ALGORITHM = "digestAlgorithm";
+	
+	protected static final String PROP_METRICS = "metrics";
+	
+	protected static final String PROP_REMOTE_TIMEOUT = "remoteTimeout";
+	
+	protected static final String PROP_REMOTE_FAILURE_THRESHOLD = "remoteFailureThreshold";
+	
+	protected static final String PROP_MISSING_REPORT_CACHE = "missingReportCache";
+	
+	protected static final String PROP_MISSING_REPORT_CACHE_FILE = "missingReportCacheFile";
+	
+	protected static final String PROP_MISSING_REPORT_CACHE_TTL = "missingReportCacheTtl";
+	
 	protected static final ComparableVersion MIN_SUPPORTED_VERSION = new ComparableVersion("3.0.0");
 	
 	protected static final ComparableVersion MAX_SUPPORTED_VERSION = new ComparableVersion("3.1.4");
@@ -66,6 +116,9 @@ public class DependencyTrackerMojo extends AbstractMojo {
 	@Parameter(defaultValue = "${session}", readonly = true)
 	protected MavenSession session;
 	
+	@Parameter(defaultValue = "${plugin}", readonly = true)
+	private PluginDescriptor pluginDescriptor;
+	
 	@Component
 	private MavenProjectHelper projectHelper;
 	
@@ -75,86 +128,334 @@ public class DependencyTrackerMojo extends AbstractMojo {
 	@Parameter(property = PROP_SKIP_IF_NO_CHANGE, defaultValue = "false")
 	private boolean skipDeployIfNoChanges;
 	
-	@Component
-	protected ArtifactResolver artifactResolver;
+	/**
+	 * Whether to only skip deployment of the modules with no dependency changes when other modules in
+	 * the reactor have changed instead of deploying all of them, only applies when
+	 * skipDeployIfNoChanges is enabled.
+	 */
+	@Parameter(property = PROP_SKIP_PER_MODULE, defaultValue = "false")
+	private boolean skipDeployPerModule;
 	
-	@Component
-	private MavenPluginManager pluginManager;
+	/**
+	 * Whether to write an artifact listing the added, removed and changed dependencies when comparing
+	 * dependency reports
+	 */
+	@Parameter(property = PROP_COMPARISON_DETAILS, defaultValue = "true")
+	private boolean comparisonDetails;
 	
-	private static File parentBuildDir;
+	/**
+	 * Whether to first fetch the SHA-1 checksum of the remote dependency report and compare it with the
+	 * hash of the generated report instead of downloading the remote report, the remote report is
+	 * still downloaded if it has no checksum or if the checksums differ and the comparison details are
+	 * enabled since they require the remote report.
+	 */
+	@Parameter(property = PROP_COMPARE_CHECKSUMS, defaultValue = "false")
+	private boolean compareChecksums;
 	
-	private static String parentBuildFileName;
+	/**
+	 * The number of threads to use to hash the dependency files, defaults to 1 which hashes them
+	 * sequentially.
+	 */
+	@Parameter(property = PROP_HASH_THREADS, defaultValue = "1")
+	private int hashThreads;
 	
-	private static Map<String, Integer> projectAndResultMap;
+	/**
+	 * Whether to look up dependency file hashes from a persistent cache that is shared between builds
+	 */
+	@Parameter(property = PROP_HASH_CACHE, defaultValue = "false")
+	private boolean hashCache;
 	
-	private static Integer moduleCount;
+	/**
+	 * The file used to persist the dependency file hashes, it can be shared by concurrent builds
+	 */
+	@Parameter(property = PROP_HASH_CACHE_FILE, defaultValue = DEFAULT_CACHE_DIR + "/hashes.txt")
+	private File hashCacheFile;
+	
+	/**
+	 * The maximum number of entries to keep in the hash cache file, the least recently used entries are
+	 * evicted first
+	 */
+	@Parameter(property = PROP_HASH_CACHE_MAX_ENTRIES, defaultValue = "50000")
+	private int hashCacheMaxEntries;
+	
+	/**
+	 * Whether to use the SHA-1 checksum files stored next to downloaded dependencies in the local
+	 * repository instead of hashing the dependency files, files without a trusted checksum file are
+	 * still hashed.
+	 */
+	@Parameter(property = PROP_USE_REPO_CHECKSUMS, defaultValue = "false")
+	private boolean useRepositoryChecksums;
+	
+	/**
+	 * Whether to also attach the dependency report in a compact binary format, the binary report is
+	 * then the one that is compared with the remote report. The text report is always attached.
+	 */
+	@Parameter(property = PROP_BINARY_REPORT, defaultValue = "false")
+	private boolean binaryReport;
+	
+	/**
+	 * Whether to keep a local copy of the fetched snapshot remote dependency reports, a cached report
+	 * is only fetched again after a new snapshot of it is deployed to the remote repository.
+	 */
+	@Parameter(property = PROP_REMOTE_REPORT_CACHE, defaultValue = "false")
+	private boolean remoteReportCache;
+	
+	/**
+	 * The directory where the local copies of the remote dependency reports are stored
+	 */
+	@Parameter(property = PROP_REMOTE_REPORT_CACHE_DIR, defaultValue = DEFAULT_CACHE_DIR + "/reports")
+	private File remoteReportCacheDirectory;
+	
+	/**
+	 * Whether to reuse the dependency report generated by the previous build when the coordinates,
+	 * resolved versions, sizes and last modified times of the dependency files have not changed since
+	 * then, the dependency files are then neither hashed nor is the report saved again.
+	 */
+	@Parameter(property = PROP_INCREMENTAL, defaultValue = "false")
+	private boolean incremental;
+	
+	/**
+	 * Whether to also track the transitive dependencies of the project, each dependency file is hashed
+	 * only once per build even if it is a dependency of many projects in the reactor, consider also
+	 * setting the hashThreads and hashCache options since there are usually many more transitive
+	 * dependencies than declared ones.
+	 */
+	@Parameter(property = PROP_INCLUDE_TRANSITIVE, defaultValue = "false")
+	private boolean includeTransitive;
+	
+	/**
+	 * How the dependency files are fingerprinted, content hashes the entire file, zip only hashes the
+	 * central directory of zip files e.g. jars and wars which holds the CRC-32 and size of each entry,
+	 * zip-ignore-timestamps does the same without the entry timestamps and metadata only hashes the
+	 * resolved version and the file size of each dependency, except for snapshots that are not
+	 * timestamped e.g. reactor projects whose contents are hashed.
+	 */
+	@Parameter(property = PROP_FINGERPRINT, defaultValue = "content")
+	private String fingerprint;
+	
+	/**
+	 * The algorithm used to hash the dependency files i.e. sha1, sha256 or xxhash64, xxhash64 is a
+	 * non-cryptographic hash that is much faster to compute and is enough to detect changed files.
+	 */
+	@Parameter(property = PROP_DIGEST_ALGORITHM, defaultValue = "sha1")
+	private String digestAlgorithm;
+	
+	/**
+	 * Specifies whether to write the timings and counters of the execution to a JSON file in the build
+	 * directory, a summary of all the modules is also logged after the last module in a multi-module
+	 * project.
+	 */
+	@Parameter(property = PROP_METRICS, defaultValue = "false")
+	private boolean metrics;
+	
+	/**
+	 * The maximum duration in milliseconds of a lookup of a remote dependency report, the connect and
+	 * request timeouts of the transport are also set to this value, 0 means the resolver's timeouts
+	 * apply. When the reports of several modules are fetched in a batch, the batch may take this
+	 * duration times the number of reports. A report that cannot be fetched in time yields the -2
+	 * comparison result.
+	 */
+	@Parameter(property = PROP_REMOTE_TIMEOUT, defaultValue = "0")
+	private int remoteTimeout;
+	
+	/**
+	 * The number of consecutive failed remote dependency report lookups across the reactor after which
+	 * the remaining lookups are skipped, 0 means the lookups are never skipped.
+	 */
+	@Parameter(property = PROP_REMOTE_FAILURE_THRESHOLD, defaultValue = "3")
+	private int remoteFailureThreshold;
+	
+	/**
+	 * Whether to remember the remote dependency reports that were not found in the remote repository,
+	 * e.g. those of new modules, so that they are not looked up again until the time to live expires.
+	 */
+	@Parameter(property = PROP_MISSING_REPORT_CACHE, defaultValue = "false")
+	private boolean missingReportCache;
+	
+	/**
+	 * The file where the remote dependency reports that were not found are stored
+	 */
+	@Parameter(property = PROP_MISSING_REPORT_CACHE_FILE, defaultValue = DEFAULT_CACHE_DIR + "/missing-reports.txt")
+	private File missingReportCacheFile;
+	
+	/**
+	 * The number of minutes after which a remote dependency report that was not found is looked up
+	 * again.
+	 */
+	@Parameter(property = PROP_MISSING_REPORT_CACHE_TTL, defaultValue = "60")
+	private int missingReportCacheTtl;
+	
+	@Component
+	protected ArtifactResolver artifactResolver;
+	
+	@Component
+	private MetadataResolver metadataResolver;
+	
+	@Component
+	private MavenPluginManager pluginManager;
 	
 	@Override
 	public void execute() throws MojoExecutionException, MojoFailureException {
 		Plugin deployPlugin = project.getPlugin(DEPLOY_PLUGIN_KEY);
+		String pluginKey = pluginDescriptor != null ? pluginDescriptor.getPluginLookupKey() : null;
+		ReactorCoordinator coordinator = ReactorCoordinator.getInstance(session, project, pluginKey);
 		if (compare) {
-			ComparableVersion deployPluginVersion = new ComparableVersion(deployPlugin.getVersion());
-			if (deployPluginVersion.compareTo(MIN_SUPPORTED_VERSION) < 0
-			        || deployPluginVersion.compareTo(MAX_SUPPORTED_VERSION) > 0) {
-				String msg = "Dependency tracker plugin's compare goal does not support maven deploy plugin version "
-				        + deployPluginVersion + ", supported versions range from " + MIN_SUPPORTED_VERSION + " to "
-				        + MAX_SUPPORTED_VERSION;
+			String msg = coordinator
+			        .checkDeployPlugin(() -> checkDeployPlugin(deployPlugin, coordinator.isMultiModule()));
+			if (msg != null) {
 				throw new MojoFailureException(msg);
 			}
 		}
 		
+		FingerprintMode fingerprintMode = FingerprintMode.fromValue(fingerprint);
+		if (fingerprintMode == null) {
+			throw new MojoFailureException("Unsupported dependency fingerprint mode: " + fingerprint);
+		}
+		
+		DigestAlgorithm algorithm = DigestAlgorithm.fromValue(digestAlgorithm);
+		if (algorithm == null) {
+			throw new MojoFailureException("Unsupported digest algorithm: " + digestAlgorithm);
+		}
+		
+		long executionStart = System.nanoTime();
+		TrackerMetrics trackerMetrics = new TrackerMetrics();
+		ExecutorService remoteExecutor = null;
 		try {
-			if (moduleCount == null) {
-				moduleCount = project.getModules().size();
-				projectAndResultMap = new LinkedHashMap<>(moduleCount + 1);
+			ArtifactResolver resolver = artifactResolver;
+			if (remoteReportCache) {
+				resolver = new RemoteReportCache(remoteReportCacheDirectory, artifactResolver, metadataResolver);
 			}
 			
-			if (compare && moduleCount > 0) {
-				parentBuildDir = buildDirectory;
-				parentBuildFileName = buildFileName;
-				Xpp3Dom deployPluginCfg = (Xpp3Dom) deployPlugin.getConfiguration();
-				boolean deployAtEnd;
-				if (deployPluginCfg != null && deployPluginCfg.getChild(PROP_DEPLOY_AT_END) != null) {
-					deployAtEnd = Boolean.valueOf(deployPluginCfg.getChild(PROP_DEPLOY_AT_END).getValue());
-				} else {
-					deployAtEnd = Boolean.valueOf(session.getUserProperties().getProperty(PROP_DEPLOY_AT_END));
-				}
-				
-				if (skipDeployIfNoChanges && !deployAtEnd) {
-					String msg = "The maven-deploy-plugin's deployAtEnd configuration must enabled in order to use the "
-					        + PROP_SKIP_IF_NO_CHANGE + " option in a multi-module project";
-					throw new MojoFailureException(msg);
-				}
+			RemoteCircuitBreaker circuitBreaker = null;
+			if (compare) {
+				circuitBreaker = RemoteCircuitBreaker.getInstance(session.getRepositorySession(),
+				    remoteFailureThreshold);
+				resolver = new RemoteLookupGuard(resolver, remoteTimeout, circuitBreaker, getLog());
+			}
+			
+			MissingReportCache missingReports = null;
+			if (compare && missingReportCache) {
+				long ttl = TimeUnit.MINUTES.toMillis(missingReportCacheTtl);
+				missingReports = MissingReportCache.getInstance(missingReportCacheFile, ttl);
+				resolver = missingReports.decorate(resolver);
 			}
 			
-			DependencyTracker t = DependencyTracker.createInstance(project, projectHelper, session, artifactResolver,
+			DependencyTracker t = DependencyTracker.createInstance(project, projectHelper, session, resolver,
 			    buildFileName, buildDirectory, getLog());
-			File remoteReport = null;
+			t.setHashThreads(hashThreads);
+			t.setUseRepositoryChecksums(useRepositoryChecksums);
+			t.setHashMemo(HashMemo.getInstance(session.getRepositorySession()));
+			t.setWriteComparisonDetails(comparisonDetails);
+			t.setBinaryReport(binaryReport);
+			t.setIncremental(incremental);
+			t.setIncludeTransitive(includeTransitive);
+			t.setPluginVersion(pluginDescriptor != null ? pluginDescriptor.getVersion() : null);
+			t.setFingerprintMode(fingerprintMode);
+			t.setDigestAlgorithm(algorithm);
+			t.setMetrics(trackerMetrics);
+			HashCache cache = null;
+			if (hashCache) {
+				cache = HashCache.getInstance(hashCacheFile, hashCacheMaxEntries);
+				t.setHashCache(cache);
+			}
+			
+			//The remote report is resolved in the background while the dependencies are hashed
+			Future<String> remoteChecksumFuture = null;
+			Future<File> remoteReportFuture = null;
 			if (compare) {
-				remoteReport = t.getRemoteDependencyReport();
+				final boolean checksumOnly = compareChecksums;
+				final RemoteReportPrefetcher prefetcher;
+				if (coordinator.isMultiModule()) {
+					prefetcher = RemoteReportPrefetcher.getInstance(session);
+					t.setRemoteReportPrefetcher(prefetcher);
+				} else {
+					prefetcher = null;
+				}
+				
+				final String extension = (binaryReport ? Constants.BINARY_EXT : Constants.EXT)
+				        + (checksumOnly ? Constants.CHECKSUM_EXT_SUFFIX : "");
+				final ArtifactResolver prefetchResolver = resolver;
+				remoteExecutor = Executors.newSingleThreadExecutor();
+				remoteChecksumFuture = remoteExecutor.submit(() -> {
+					if (prefetcher != null) {
+						long start = System.nanoTime();
+						prefetcher.prefetch(coordinator.getProjects(), extension, session, prefetchResolver, getLog());
+						trackerMetrics.addTime(TrackerMetrics.PHASE_PREFETCH, System.nanoTime() - start);
+					}
+					
+					return checksumOnly ? t.getRemoteDependencyReportChecksum() : null;
+				});
+				
+				//The executor has a single thread so the checksum is always known when this task runs
+				final Future<String> checksumFuture = remoteChecksumFuture;
+				remoteReportFuture = remoteExecutor
+				        .submit(() -> checksumFuture.get() == null ? t.getRemoteDependencyReport() : null);
 			}
 			
 			File buildReport = t.track();
 			final String artifactId = project.getArtifactId();
 			Integer result;
 			if (compare) {
-				result = t.compare(buildReport, remoteReport);
+				long start = System.nanoTime();
+				String remoteChecksum = await(remoteChecksumFuture);
+				File remoteReport = await(remoteReportFuture);
+				trackerMetrics.addTime(TrackerMetrics.PHASE_REMOTE_WAIT, System.nanoTime() - start);
+				if (missingReports != null) {
+					missingReports.save();
+				}
+				
+				if (remoteChecksum != null && comparisonDetails && !t.matchesChecksum(buildReport, remoteChecksum)) {
+					//The remote report is only downloaded when the checksums differ to list the changed dependencies
+					remoteReport = t.getRemoteDependencyReport();
+				}
+				
+				if (remoteChecksum != null && remoteReport == null) {
+					result = t.compareChecksum(buildReport, remoteChecksum);
+				} else {
+					result = t.compare(buildReport, remoteReport);
+				}
+				
 				getLog().info("Dependency comparison result for " + artifactId + " -> " + getStringResult(result));
 			} else {
 				getLog().info("Skipping comparison of dependency reports for " + artifactId);
 				result = 0;
 			}
 			
-			projectAndResultMap.put(project.getArtifactId(), result);
+			if (t.getReportDigest() != null) {
+				coordinator.addDigest(project, t.getReportDigest());
+			}
+			
+			coordinator.addMetrics(project, trackerMetrics);
+			boolean isLastProject = coordinator.addResult(project, result);
+			if (cache != null && isLastProject) {
+				//The cache file is written once per build since the instance is shared by all the modules
+				cache.save();
+			}
+			
+			if (isLastProject && coordinator.isMultiModule()) {
+				t.saveReactorDigestArtifact(coordinator.getAggregatorProject(), coordinator.getRootDigest(),
+				    coordinator.getDigests());
+				if (!isDeployAtEnd(deployPlugin)) {
+					getLog().info("The reactor dependency digest artifact is only deployed if the deploy plugin's "
+					        + PROP_DEPLOY_AT_END + " option is enabled, the module reports still contain their digest");
+				}
+			}
 			
-			if (compare && (moduleCount == 0 || moduleCount > 0 && projectAndResultMap.size() == moduleCount + 1)) {
+			if (compare && isLastProject) {
+				long start = System.nanoTime();
 				//We generate the aggregated report after the last module
 				Integer aggregatedResult;
-				if (moduleCount > 0) {
-					aggregatedResult = t.aggregateDependencyReports(projectAndResultMap.values());
-					t.saveAggregatedArtifact(parentBuildDir, parentBuildFileName, aggregatedResult);
+				if (coordinator.isMultiModule()) {
+					aggregatedResult = t.aggregateDependencyReports(coordinator.getResults());
+					t.saveAggregatedArtifact(coordinator.getAggregatorBuildDirectory(),
+					    coordinator.getAggregatorBuildFileName(), aggregatedResult);
 				} else {
-					aggregatedResult = projectAndResultMap.get(artifactId);
+					aggregatedResult = result;
+				}
+				
+				String lookupSummary = circuitBreaker.createSummary();
+				if (lookupSummary != null) {
+					getLog().warn(lookupSummary);
 				}
 				
 				if (aggregatedResult == 0 && skipDeployIfNoChanges) {
@@ -164,6 +465,28 @@ public class DependencyTrackerMojo extends AbstractMojo {
 					for (MavenProject proj : session.getProjects()) {
 						skipDeploy(deployPluginDescriptor, proj);
 					}
+				} else if (skipDeployIfNoChanges && skipDeployPerModule) {
+					PluginDescriptor deployPluginDescriptor = getDeployPluginDescriptor(deployPlugin, project);
+					for (MavenProject proj : coordinator.getProjects()) {
+						if (Integer.valueOf(0).equals(coordinator.getResult(proj))) {
+							getLog().info("Disabling artifact deployment for " + proj.getArtifactId()
+							        + " because no dependency changes have been detected");
+							//Applies to modules whose deploy goal has not yet been executed e.g. this one
+							proj.getProperties().setProperty(SYSTEM_PROP_SKIP_DEPLOY, "true");
+							skipDeploy(deployPluginDescriptor, proj);
+						}
+					}
+				}
+				
+				trackerMetrics.addTime(TrackerMetrics.PHASE_SKIP_DEPLOY, System.nanoTime() - start);
+			}
+			
+			trackerMetrics.addTime(TrackerMetrics.PHASE_TOTAL, System.nanoTime() - executionStart);
+			if (metrics) {
+				t.saveMetricsFile();
+				if (isLastProject && coordinator.isMultiModule()) {
+					getLog().info("Dependency tracker reactor summary:");
+					TrackerMetrics.createSummary(coordinator.getMetrics()).forEach(line -> getLog().info(line));
 				}
 			}
 		}
@@ -174,6 +497,58 @@ public class DependencyTrackerMojo extends AbstractMojo {
 			
 			throw new MojoFailureException("An error occurred while tracking dependencies", e);
 		}
+		finally {
+			if (remoteExecutor != null) {
+				remoteExecutor.shutdownNow();
+			}
+		}
+	}
+	
+	private static <T> T await(Future<T> future) throws Exception {
+		try {
+			return future.get();
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof Exception) {
+				throw (Exception) e.getCause();
+			}
+			
+			throw e;
+		}
+	}
+	
+	/**
+	 * Checks that the deploy plugin's version is supported and that it is configured as required by the
+	 * options of this plugin, this is only run once for the reactor.
+	 *
+	 * @param deployPlugin the deploy plugin
+	 * @param multiModule specifies if more than one project is tracked
+	 * @return the error message or null if the deploy plugin is supported
+	 */
+	private String checkDeployPlugin(Plugin deployPlugin, boolean multiModule) {
+		ComparableVersion deployPluginVersion = new ComparableVersion(deployPlugin.getVersion());
+		if (deployPluginVersion.compareTo(MIN_SUPPORTED_VERSION) < 0
+		        || deployPluginVersion.compareTo(MAX_SUPPORTED_VERSION) > 0) {
+			return "Dependency tracker plugin's compare goal does not support maven deploy plugin version "
+			        + deployPluginVersion + ", supported versions range from " + MIN_SUPPORTED_VERSION + " to "
+			        + MAX_SUPPORTED_VERSION;
+		}
+		
+		if (multiModule && skipDeployIfNoChanges && !isDeployAtEnd(deployPlugin)) {
+			return "The maven-deploy-plugin's deployAtEnd configuration must enabled in order to use the "
+			        + PROP_SKIP_IF_NO_CHANGE + " option in a multi-module project";
+		}
+		
+		return null;
+	}
+	
+	private boolean isDeployAtEnd(Plugin deployPlugin) {
+		Xpp3Dom deployPluginCfg = deployPlugin != null ? (Xpp3Dom) deployPlugin.getConfiguration() : null;
+		if (deployPluginCfg != null && deployPluginCfg.getChild(PROP_DEPLOY_AT_END) != null) {
+			return Boolean.valueOf(deployPluginCfg.getChild(PROP_DEPLOY_AT_END).getValue());
+		}
+		
+		return Boolean.valueOf(session.getUserProperties().getProperty(PROP_DEPLOY_AT_END));
 	}
 	
 	private PluginDescriptor getDeployPluginDescriptor(Plugin deployPlugin, MavenProject project)
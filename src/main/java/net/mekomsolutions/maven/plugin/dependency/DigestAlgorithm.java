@@ -0,0 +1,129 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * The algorithms that can be used to hash the dependency files, the dependency tracker only needs to
+ * detect changed files so a fast non-cryptographic algorithm is as good as a cryptographic one unless
+ * the reports are also used to verify the integrity of the dependencies.
+ */
+public enum DigestAlgorithm {
+	
+	/**
+	 * The SHA-1 algorithm, the hashes can be taken from the repository checksum files
+	 */
+	SHA1("sha1") {
+		
+		@Override
+		public Hasher newHasher() {
+			return new MessageDigestHasher(DigestUtils.getSha1Digest());
+		}
+	},
+	
+	/**
+	 * The SHA-256 algorithm
+	 */
+	SHA256("sha256") {
+		
+		@Override
+		public Hasher newHasher() {
+			return new MessageDigestHasher(DigestUtils.getSha256Digest());
+		}
+	},
+	
+	/**
+	 * The 64-bit xxHash non-cryptographic algorithm, it is several times faster than SHA-1
+	 */
+	XXHASH64("xxhash64") {
+		
+		@Override
+		public Hasher newHasher() {
+			return new XxHash64();
+		}
+	};
+	
+	private final String value;
+	
+	DigestAlgorithm(String value) {
+		this.value = value;
+	}
+	
+	/**
+	 * Creates a new hasher that computes a hash with this algorithm
+	 *
+	 * @return the hasher
+	 */
+	public abstract Hasher newHasher();
+	
+	/**
+	 * Gets the value used to refer to this algorithm in the plugin configuration and report files
+	 *
+	 * @return the value
+	 */
+	public String getValue() {
+		return value;
+	}
+	
+	/**
+	 * Gets the algorithm with the specified value
+	 *
+	 * @param value the value to match
+	 * @return the matching algorithm or null if none is found
+	 */
+	public static DigestAlgorithm fromValue(String value) {
+		for (DigestAlgorithm algorithm : values()) {
+			if (algorithm.value.equalsIgnoreCase(value)) {
+				return algorithm;
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Computes a hash incrementally, a hasher is used to compute a single hash.
+	 */
+	public interface Hasher {
+		
+		/**
+		 * Updates the hash with the remaining bytes in the specified buffer, the position of the buffer
+		 * is advanced to its limit.
+		 *
+		 * @param input the buffer to read
+		 */
+		void update(ByteBuffer input);
+		
+		/**
+		 * Completes the hash computation
+		 *
+		 * @return the hex encoded hash
+		 */
+		String hexDigest();
+		
+	}
+	
+	private static class MessageDigestHasher implements Hasher {
+		
+		private final MessageDigest digest;
+		
+		private MessageDigestHasher(MessageDigest digest) {
+			this.digest = digest;
+		}
+		
+		@Override
+		public void update(ByteBuffer input) {
+			digest.update(input);
+		}
+		
+		@Override
+		public String hexDigest() {
+			return Hex.encodeHexString(digest.digest());
+		}
+		
+	}
+	
+}
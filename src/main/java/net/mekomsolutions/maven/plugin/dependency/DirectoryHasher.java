@@ -0,0 +1,160 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Computes the hash of a directory e.g. the target/classes directory a reactor project's dependency
+ * resolves to when the build stops before the package phase. The hash is that of the regular files
+ * in the tree sorted by relative path, each file is a line of the form {@code path\thash} terminated
+ * by a line feed where the path uses forward slashes so the hash is the same on all platforms. Empty
+ * directories and symbolic links are ignored, files are hashed by the caller supplied hasher so that
+ * unchanged files can be memoized.
+ */
+public class DirectoryHasher {
+	
+	private static final String FIELD_SEPARATOR = "\t";
+	
+	/**
+	 * Computes the hash of the specified directory, the files are handed to a pool of the specified
+	 * number of threads as they are found so the walk overlaps the hashing.
+	 *
+	 * @param directory the directory to hash
+	 * @param algorithm the digest algorithm used to hash the entries
+	 * @param fileHasher computes the hash of each file
+	 * @param threads the number of threads to hash the files with
+	 * @return the hex encoded hash
+	 * @throws IOException
+	 */
+	protected static String compute(File directory, DigestAlgorithm algorithm, HashMemo.FileHasher fileHasher,
+	        int threads) throws IOException {
+		final Path root = directory.toPath();
+		final Map<String, Future<String>> pathAndHash = new TreeMap<>();
+		final ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+		try {
+			Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+				
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+					if (attrs.isRegularFile()) {
+						Callable<String> task = () -> fileHasher.hash(file.toFile());
+						Future<String> hash = executor != null ? executor.submit(task) : run(task);
+						pathAndHash.put(getRelativePath(root, file), hash);
+					}
+					
+					return FileVisitResult.CONTINUE;
+				}
+				
+			});
+			
+			DigestAlgorithm.Hasher hasher = algorithm.newHasher();
+			for (Map.Entry<String, Future<String>> e : pathAndHash.entrySet()) {
+				String entry = e.getKey() + FIELD_SEPARATOR + e.getValue().get() + "\n";
+				hasher.update(ByteBuffer.wrap(entry.getBytes(StandardCharsets.UTF_8)));
+			}
+			
+			return hasher.hexDigest();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while hashing directory " + directory, e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			
+			throw new IOException("An error occurred while hashing directory " + directory, e.getCause());
+		}
+		finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
+	}
+	
+	/**
+	 * Creates a key that identifies the current state of the specified directory, unlike the last
+	 * modified time of the directory itself the key changes whenever any file in the tree is added,
+	 * removed or modified.
+	 *
+	 * @param directory the directory
+	 * @return the directory state key
+	 * @throws IOException
+	 */
+	protected static String createKey(File directory) throws IOException {
+		final Path root = directory.toPath();
+		final Map<String, String> pathAndKey = new TreeMap<>();
+		Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+			
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				if (attrs.isRegularFile()) {
+					pathAndKey.put(getRelativePath(root, file), Utils.createFileKey(file.toFile()));
+				}
+				
+				return FileVisitResult.CONTINUE;
+			}
+			
+		});
+		
+		DigestAlgorithm.Hasher hasher = DigestAlgorithm.SHA1.newHasher();
+		for (String key : pathAndKey.values()) {
+			hasher.update(ByteBuffer.wrap((key + "\n").getBytes(StandardCharsets.UTF_8)));
+		}
+		
+		return hasher.hexDigest();
+	}
+	
+	/**
+	 * Gets the total size of the regular files in the specified directory tree, the file contents are
+	 * not read.
+	 *
+	 * @param directory the directory
+	 * @return the size in bytes
+	 * @throws IOException
+	 */
+	protected static long getSize(File directory) throws IOException {
+		final long[] size = new long[1];
+		Files.walkFileTree(directory.toPath(), new SimpleFileVisitor<Path>() {
+			
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+				if (attrs.isRegularFile()) {
+					size[0] += attrs.size();
+				}
+				
+				return FileVisitResult.CONTINUE;
+			}
+			
+		});
+		
+		return size[0];
+	}
+	
+	private static String getRelativePath(Path root, Path file) {
+		return root.relativize(file).toString().replace(File.separatorChar, '/');
+	}
+	
+	private static Future<String> run(Callable<String> task) {
+		FutureTask<String> future = new FutureTask<>(task);
+		future.run();
+		return future;
+	}
+	
+}
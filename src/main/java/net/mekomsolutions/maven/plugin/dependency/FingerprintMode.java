@@ -0,0 +1,64 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+/**
+ * The ways in which a dependency file can be fingerprinted
+ */
+public enum FingerprintMode {
+	
+	/**
+	 * The entire contents of the file are hashed
+	 */
+	CONTENT("content"),
+	
+	/**
+	 * Only the central directory of zip files e.g. jars and wars is hashed, it contains the name, size,
+	 * CRC-32 and timestamp of each entry. Other files are hashed entirely.
+	 */
+	ZIP("zip"),
+	
+	/**
+	 * The same as {@link #ZIP} except that the entry timestamps are ignored, so that rebuilt archives
+	 * with identical contents have the same fingerprint.
+	 */
+	ZIP_IGNORE_TIMESTAMPS("zip-ignore-timestamps"),
+	
+	/**
+	 * Only the resolved version of the dependency e.g. the timestamped version of a snapshot and the
+	 * size of its file are hashed, so only changed versions and snapshots deployed again are detected.
+	 * A snapshot that is not timestamped e.g. a reactor project or a locally installed snapshot keeps
+	 * its version when rebuilt, so its contents are hashed as in {@link #CONTENT} mode.
+	 */
+	METADATA("metadata");
+	
+	private final String value;
+	
+	FingerprintMode(String value) {
+		this.value = value;
+	}
+	
+	/**
+	 * Gets the value used to refer to this mode in the plugin configuration and report files
+	 *
+	 * @return the value
+	 */
+	public String getValue() {
+		return value;
+	}
+	
+	/**
+	 * Gets the mode with the specified value
+	 *
+	 * @param value the value to match
+	 * @return the matching mode or null if none is found
+	 */
+	public static FingerprintMode fromValue(String value) {
+		for (FingerprintMode mode : values()) {
+			if (mode.value.equalsIgnoreCase(value)) {
+				return mode;
+			}
+		}
+		
+		return null;
+	}
+	
+}
@@ -0,0 +1,145 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * On-disk cache of dependency file hashes that is shared between builds, entries are keyed by
+ * {@link Utils#createFileKey(File)} and the type of hash so a changed file is never matched to a
+ * stale hash nor a hash computed differently. The cache file is persisted with a {@link CacheFile}
+ * so it can be shared by several maven processes. When the number of entries exceeds the configured
+ * maximum, the least recently used entries are evicted. The last access time of an entry is only
+ * updated once a day so that a build which only finds cached hashes does not rewrite the file.
+ */
+public class HashCache {
+	
+	private static final long ACCESS_TIME_RESOLUTION_MILLIS = TimeUnit.DAYS.toMillis(1);
+	
+	private final CacheFile<Entry> cacheFile;
+	
+	private final int maxEntries;
+	
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	
+	private volatile boolean dirty;
+	
+	private HashCache(File cacheFile, int maxEntries) {
+		this.cacheFile = new CacheFile<>(cacheFile, 2, fields -> new Entry(fields[1], Long.parseLong(fields[0])),
+		        e -> e.lastAccess + CacheFile.FIELD_SEPARATOR + e.hash);
+		this.maxEntries = maxEntries;
+	}
+	
+	/**
+	 * Gets the {@link HashCache} instance backed by the specified file with the specified maximum
+	 * number of entries, instances are shared by all the modules in the reactor so that the cache file
+	 * is read once per build.
+	 *
+	 * @param cacheFile the cache file
+	 * @param maxEntries the maximum number of entries to keep in the cache file
+	 * @return HashCache instance
+	 * @throws IOException
+	 */
+	protected static HashCache getInstance(File cacheFile, int maxEntries) throws IOException {
+		return CacheFile.getInstance(HashCache.class, cacheFile, maxEntries, file -> load(file, maxEntries));
+	}
+	
+	/**
+	 * Creates a new {@link HashCache} instance populated with the current contents of the specified
+	 * file
+	 *
+	 * @param cacheFile the cache file
+	 * @param maxEntries the maximum number of entries to keep in the cache file
+	 * @return HashCache instance
+	 * @throws IOException
+	 */
+	protected static HashCache load(File cacheFile, int maxEntries) throws IOException {
+		HashCache cache = new HashCache(cacheFile, maxEntries);
+		cache.entries.putAll(cache.cacheFile.read());
+		return cache;
+	}
+	
+	/**
+	 * Looks up the cached hash of the specified type for the specified file
+	 *
+	 * @param file the file to look up
+	 * @param hashType identifies how the hash is computed
+	 * @return the cached hash or null if none is found
+	 * @throws IOException
+	 */
+	protected String get(File file, String hashType) throws IOException {
+		Entry entry = entries.get(createKey(file, hashType));
+		if (entry == null) {
+			return null;
+		}
+		
+		long now = System.currentTimeMillis();
+		if (now - entry.lastAccess >= ACCESS_TIME_RESOLUTION_MILLIS) {
+			entry.lastAccess = now;
+			dirty = true;
+		}
+		
+		return entry.hash;
+	}
+	
+	/**
+	 * Adds the hash of the specified file to the cache
+	 *
+	 * @param file the hashed file
+	 * @param hashType identifies how the hash is computed
+	 * @param hash the hash
+	 * @throws IOException
+	 */
+	protected void put(File file, String hashType, String hash) throws IOException {
+		entries.put(createKey(file, hashType), new Entry(hash, System.currentTimeMillis()));
+		dirty = true;
+	}
+	
+	private static String createKey(File file, String hashType) throws IOException {
+		return Utils.createFileKey(file) + CacheFile.FIELD_SEPARATOR + hashType;
+	}
+	
+	/**
+	 * Merges the in memory entries with the current contents of the cache file and writes the result
+	 * back to the cache file, this is a no-op if nothing changed since the last save.
+	 *
+	 * @throws IOException
+	 */
+	protected synchronized void save() throws IOException {
+		if (!dirty) {
+			return;
+		}
+		
+		cacheFile.update(current -> {
+			entries.forEach((k, e) -> current.merge(k, e, (e1, e2) -> e1.lastAccess >= e2.lastAccess ? e1 : e2));
+			List<Map.Entry<String, Entry>> sorted = new ArrayList<>(current.entrySet());
+			sorted.sort(
+			    Comparator.comparingLong((Map.Entry<String, Entry> e) -> e.getValue().lastAccess).reversed());
+			Map<String, Entry> kept = new LinkedHashMap<>();
+			sorted.stream().limit(maxEntries).forEach(e -> kept.put(e.getKey(), e.getValue()));
+			return kept;
+		});
+		
+		dirty = false;
+	}
+	
+	private static class Entry {
+		
+		private final String hash;
+		
+		private volatile long lastAccess;
+		
+		private Entry(String hash, long lastAccess) {
+			this.hash = hash;
+			this.lastAccess = lastAccess;
+		}
+		
+	}
+	
+}
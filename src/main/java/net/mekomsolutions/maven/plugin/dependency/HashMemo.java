@@ -0,0 +1,101 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * In-memory memo of dependency file hashes that is shared by all the modules in the reactor so that
+ * each distinct file is read at most once per build even when several modules declare it. If
+ * several threads request the hash of the same file at the same time, only one of them computes it
+ * and the others wait for the result.
+ */
+public class HashMemo {
+	
+	private final ConcurrentMap<String, CompletableFuture<String>> keyAndHash;
+	
+	protected HashMemo() {
+		this(new ConcurrentHashMap<>());
+	}
+	
+	private HashMemo(ConcurrentMap<String, CompletableFuture<String>> keyAndHash) {
+		this.keyAndHash = keyAndHash;
+	}
+	
+	/**
+	 * Gets the {@link HashMemo} instance for the build the specified session belongs to, the memoized
+	 * hashes are stored in the session data of the repository system session which is shared by all
+	 * the modules in the reactor including those built in parallel, they are also shared with the
+	 * build extension which may be loaded by another class realm.
+	 *
+	 * @param session {@link RepositorySystemSession} instance
+	 * @return HashMemo instance
+	 */
+	protected static HashMemo getInstance(RepositorySystemSession session) {
+		return Utils.getReactorInstance(session, HashMemo.class,
+		    () -> new HashMemo(Utils.getReactorState(session, HashMemo.class.getName(), ConcurrentHashMap::new)));
+	}
+	
+	/**
+	 * Gets the hash of the specified type of the specified file, computing it with the specified
+	 * hasher if it has not yet been computed during this build.
+	 *
+	 * @param file the file to hash
+	 * @param hashType identifies how the hash is computed
+	 * @param hasher computes the hash if it is not yet known
+	 * @return the hash
+	 * @throws IOException
+	 */
+	protected String get(File file, String hashType, FileHasher hasher) throws IOException {
+		final String key = Utils.createFileKey(file) + "\t" + hashType;
+		CompletableFuture<String> future = new CompletableFuture<>();
+		CompletableFuture<String> existing = keyAndHash.putIfAbsent(key, future);
+		if (existing != null) {
+			return await(existing);
+		}
+		
+		try {
+			future.complete(hasher.hash(file));
+		}
+		catch (IOException | RuntimeException e) {
+			//Failures are not memoized so that the next caller tries again
+			keyAndHash.remove(key, future);
+			future.completeExceptionally(e);
+			throw e;
+		}
+		
+		return future.join();
+	}
+	
+	private String await(CompletableFuture<String> future) throws IOException {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for a file hash", e);
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			
+			throw new IOException("An error occurred while hashing a file", e.getCause());
+		}
+	}
+	
+	/**
+	 * Computes the hash of a file
+	 */
+	protected interface FileHasher {
+		
+		String hash(File file) throws IOException;
+		
+	}
+	
+}
@@ -0,0 +1,229 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+
+/**
+ * On-disk cache of the remote dependency reports that were not found in the remote repository, e.g.
+ * those of new modules or of the first build of a branch, entries are keyed by the remote repository
+ * URL and the coordinates of the report and expire after the configured time to live. Lookups of
+ * reports that are known to be missing fail immediately without contacting the remote repository.
+ * Like the {@link HashCache}, instances are shared by all the modules in the reactor and the cache
+ * file is persisted with a {@link CacheFile}. Failed lookups are never cached.
+ */
+public class MissingReportCache {
+	
+	private final CacheFile<Long> cacheFile;
+	
+	private final long ttlMillis;
+	
+	private final Map<String, Long> keyAndTime = new ConcurrentHashMap<>();
+	
+	private final Map<String, Long> removedKeyAndTime = new ConcurrentHashMap<>();
+	
+	private volatile boolean dirty;
+	
+	private MissingReportCache(File cacheFile, long ttlMillis) {
+		this.cacheFile = new CacheFile<>(cacheFile, 1, fields -> Long.parseLong(fields[0]), String::valueOf);
+		this.ttlMillis = ttlMillis;
+	}
+	
+	/**
+	 * Gets the {@link MissingReportCache} instance backed by the specified file with the specified time
+	 * to live, instances are shared by all the modules in the reactor so that the cache file is read
+	 * once per build.
+	 *
+	 * @param cacheFile the cache file
+	 * @param ttlMillis the duration in milliseconds after which a report is looked up again
+	 * @return MissingReportCache instance
+	 * @throws IOException
+	 */
+	protected static MissingReportCache getInstance(File cacheFile, long ttlMillis) throws IOException {
+		return CacheFile.getInstance(MissingReportCache.class, cacheFile, ttlMillis, file -> load(file, ttlMillis));
+	}
+	
+	/**
+	 * Creates a new {@link MissingReportCache} instance populated with the current contents of the
+	 * specified file
+	 *
+	 * @param cacheFile the cache file
+	 * @param ttlMillis the duration in milliseconds after which a report is looked up again
+	 * @return MissingReportCache instance
+	 * @throws IOException
+	 */
+	protected static MissingReportCache load(File cacheFile, long ttlMillis) throws IOException {
+		MissingReportCache cache = new MissingReportCache(cacheFile, ttlMillis);
+		cache.keyAndTime.putAll(cache.cacheFile.read());
+		return cache;
+	}
+	
+	/**
+	 * Creates the key of the report the specified request is for
+	 *
+	 * @param request the request to resolve the report
+	 * @return the key or null if the request has no remote repository
+	 */
+	protected static String createKey(ArtifactRequest request) {
+		if (request.getRepositories().isEmpty()) {
+			return null;
+		}
+		
+		return request.getRepositories().get(0).getUrl() + CacheFile.FIELD_SEPARATOR + request.getArtifact();
+	}
+	
+	/**
+	 * Checks if the report with the specified key was not found in the remote repository within the
+	 * time to live.
+	 *
+	 * @param key the report key
+	 * @return true if the report is known to be missing otherwise false
+	 */
+	protected boolean isMissing(String key) {
+		Long time = key != null ? keyAndTime.get(key) : null;
+		return time != null && System.currentTimeMillis() - time < ttlMillis;
+	}
+	
+	/**
+	 * Records that the report with the specified key was not found in the remote repository
+	 *
+	 * @param key the report key
+	 */
+	protected void putMissing(String key) {
+		keyAndTime.put(key, System.currentTimeMillis());
+		removedKeyAndTime.remove(key);
+		dirty = true;
+	}
+	
+	/**
+	 * Records that the report with the specified key was found in the remote repository
+	 *
+	 * @param key the report key
+	 */
+	protected void remove(String key) {
+		if (keyAndTime.remove(key) != null) {
+			removedKeyAndTime.put(key, System.currentTimeMillis());
+			dirty = true;
+		}
+	}
+	
+	/**
+	 * Creates an {@link ArtifactResolver} that fails the requests for the reports that are known to be
+	 * missing with an {@link ArtifactNotFoundException} and passes on the others to the specified
+	 * resolver, the reports that the latter does not find are added to this cache.
+	 *
+	 * @param delegate the resolver to delegate the lookups to
+	 * @return the ArtifactResolver
+	 */
+	protected ArtifactResolver decorate(ArtifactResolver delegate) {
+		return new ArtifactResolver() {
+			
+			@Override
+			public ArtifactResult resolveArtifact(RepositorySystemSession session, ArtifactRequest request)
+			        throws ArtifactResolutionException {
+				return resolveArtifacts(session, Arrays.asList(request)).get(0);
+			}
+			
+			@Override
+			public List<ArtifactResult> resolveArtifacts(RepositorySystemSession session,
+			        Collection<? extends ArtifactRequest> requests) throws ArtifactResolutionException {
+				return resolve(delegate, session, new ArrayList<>(requests));
+			}
+			
+		};
+	}
+	
+	private List<ArtifactResult> resolve(ArtifactResolver delegate, RepositorySystemSession session,
+	        List<ArtifactRequest> requests) throws ArtifactResolutionException {
+		ArtifactResult[] results = new ArtifactResult[requests.size()];
+		List<Integer> pendingIndexes = new ArrayList<>();
+		List<ArtifactRequest> pendingRequests = new ArrayList<>();
+		for (int i = 0; i < requests.size(); i++) {
+			ArtifactRequest request = requests.get(i);
+			if (isMissing(createKey(request))) {
+				RemoteRepository repo = request.getRepositories().get(0);
+				results[i] = new ArtifactResult(request);
+				results[i].addException(new ArtifactNotFoundException(request.getArtifact(), repo,
+				        "Skipped lookup of " + request.getArtifact() + " that was recently not found in " + repo));
+			} else {
+				pendingIndexes.add(i);
+				pendingRequests.add(request);
+			}
+		}
+		
+		if (!pendingRequests.isEmpty()) {
+			List<ArtifactResult> pendingResults;
+			try {
+				pendingResults = delegate.resolveArtifacts(session, pendingRequests);
+			}
+			catch (ArtifactResolutionException e) {
+				pendingResults = e.getResults();
+			}
+			
+			for (int i = 0; i < pendingIndexes.size(); i++) {
+				ArtifactRequest request = pendingRequests.get(i);
+				ArtifactResult result = i < pendingResults.size() ? pendingResults.get(i) : null;
+				if (result == null) {
+					result = new ArtifactResult(request);
+				}
+				
+				String key = createKey(request);
+				if (key != null && result.isResolved()) {
+					remove(key);
+				} else if (key != null && !RemoteLookupGuard.isFailed(result)) {
+					putMissing(key);
+				}
+				
+				results[pendingIndexes.get(i)] = result;
+			}
+		}
+		
+		List<ArtifactResult> resultList = Arrays.asList(results);
+		if (resultList.stream().anyMatch(r -> !r.isResolved())) {
+			throw new ArtifactResolutionException(resultList);
+		}
+		
+		return resultList;
+	}
+	
+	/**
+	 * Merges the in memory entries with the current contents of the cache file and writes the result
+	 * back to the cache file without the expired entries, this is a no-op if nothing changed since the
+	 * last save.
+	 *
+	 * @throws IOException
+	 */
+	protected synchronized void save() throws IOException {
+		if (!dirty) {
+			return;
+		}
+		
+		//Entries recorded by another build after the report was found are kept
+		Map<String, Long> removed = new HashMap<>(removedKeyAndTime);
+		cacheFile.update(current -> {
+			keyAndTime.forEach((k, t) -> current.merge(k, t, Math::max));
+			removed.forEach((k, t) -> current.computeIfPresent(k, (key, time) -> time > t ? time : null));
+			long now = System.currentTimeMillis();
+			current.values().removeIf(time -> now - time >= ttlMillis);
+			return current;
+		});
+		
+		removed.forEach(removedKeyAndTime::remove);
+		dirty = false;
+	}
+	
+}
@@ -0,0 +1,257 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.maven.artifact.ArtifactUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Keeps track of the comparison results of the projects in the reactor and decides when the last
+ * one has been tracked so that the results can be aggregated. The projects expected to be tracked
+ * are determined from the projects in the session, which are sorted in reactor build order, so
+ * nested aggregator projects and parallel builds are supported. Projects are identified by their
+ * groupId, artifactId and version.
+ * <p>
+ * An instance is shared by all the modules in the reactor, it is stored in the session data of the
+ * repository system session because each project gets its own copy of the {@link MavenSession} in
+ * a parallel build.
+ */
+public class ReactorCoordinator {
+	
+	private final Set<String> expectedProjects;
+	
+	private final List<MavenProject> trackedProjects;
+	
+	private final MavenProject aggregatorProject;
+	
+	private final Map<String, Integer> projectAndResultMap = new LinkedHashMap<>();
+	
+	private final Map<String, String> projectAndDigestMap = new TreeMap<>();
+	
+	private final Map<String, TrackerMetrics> projectAndMetricsMap = new LinkedHashMap<>();
+	
+	private boolean aggregated;
+	
+	private boolean deployPluginChecked;
+	
+	private String deployPluginError;
+	
+	private ReactorCoordinator(List<MavenProject> trackedProjects) {
+		this.trackedProjects = Collections.unmodifiableList(trackedProjects);
+		this.expectedProjects = new LinkedHashSet<>(trackedProjects.size());
+		trackedProjects.forEach(p -> expectedProjects.add(getKey(p)));
+		this.aggregatorProject = trackedProjects.get(0);
+	}
+	
+	/**
+	 * Gets the {@link ReactorCoordinator} instance for the build the specified session belongs to.
+	 *
+	 * @param session {@link MavenSession} instance
+	 * @param project the project being tracked
+	 * @param pluginKey the key of this plugin, used to find the reactor projects that are tracked
+	 * @return ReactorCoordinator instance
+	 */
+	protected static ReactorCoordinator getInstance(MavenSession session, MavenProject project, String pluginKey) {
+		return Utils.getReactorInstance(session.getRepositorySession(), ReactorCoordinator.class,
+		    () -> create(session, project, pluginKey));
+	}
+	
+	private static ReactorCoordinator create(MavenSession session, MavenProject project, String pluginKey) {
+		List<MavenProject> projects = session.getProjects();
+		if (projects == null || projects.isEmpty()) {
+			projects = Collections.singletonList(project);
+		}
+		
+		//If the plugin is invoked from the command line, it is executed for every project in the reactor
+		List<MavenProject> trackedProjects = new ArrayList<>(projects.size());
+		for (MavenProject p : projects) {
+			if (pluginKey == null || project.getPlugin(pluginKey) == null || p.getPlugin(pluginKey) != null) {
+				trackedProjects.add(p);
+			}
+		}
+		
+		if (!trackedProjects.contains(project)) {
+			trackedProjects.add(0, project);
+		}
+		
+		return new ReactorCoordinator(trackedProjects);
+	}
+	
+	/**
+	 * Gets the key that identifies the specified project in the reactor
+	 *
+	 * @param project {@link MavenProject} instance
+	 * @return the project key
+	 */
+	protected static String getKey(MavenProject project) {
+		return ArtifactUtils.key(project.getGroupId(), project.getArtifactId(), project.getVersion());
+	}
+	
+	/**
+	 * Checks if more than one project in the reactor is tracked
+	 *
+	 * @return true if multiple projects are tracked otherwise false
+	 */
+	protected boolean isMultiModule() {
+		return expectedProjects.size() > 1;
+	}
+	
+	/**
+	 * Gets the projects in the reactor that are tracked in reactor build order
+	 *
+	 * @return the tracked projects
+	 */
+	protected List<MavenProject> getProjects() {
+		return trackedProjects;
+	}
+	
+	/**
+	 * Checks the deploy plugin configuration of the reactor, the check is only run by the first caller
+	 * and its outcome is returned to all the callers so that every project fails the same way without
+	 * checking the configuration again.
+	 *
+	 * @param check runs the check and returns the error message or null if the configuration is valid
+	 * @return the error message or null if the configuration is valid
+	 */
+	protected synchronized String checkDeployPlugin(Supplier<String> check) {
+		if (!deployPluginChecked) {
+			deployPluginError = check.get();
+			deployPluginChecked = true;
+		}
+		
+		return deployPluginError;
+	}
+	
+	/**
+	 * Records the comparison result of the specified project.
+	 *
+	 * @param project the tracked project
+	 * @param result the comparison result
+	 * @return true if this was the last expected result i.e. the caller should aggregate the results,
+	 *         this is returned to exactly one caller
+	 */
+	protected synchronized boolean addResult(MavenProject project, Integer result) {
+		projectAndResultMap.put(getKey(project), result);
+		if (!aggregated && projectAndResultMap.keySet().containsAll(expectedProjects)) {
+			aggregated = true;
+			return true;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Records the root digest of the dependency report of the specified project
+	 *
+	 * @param project the tracked project
+	 * @param digest the report digest
+	 */
+	protected synchronized void addDigest(MavenProject project, String digest) {
+		projectAndDigestMap.put(getKey(project), digest);
+	}
+	
+	/**
+	 * Gets the report digests recorded so far sorted by project key
+	 *
+	 * @return map of project keys and digests
+	 */
+	protected synchronized Map<String, String> getDigests() {
+		return new TreeMap<>(projectAndDigestMap);
+	}
+	
+	/**
+	 * Computes the root digest of the reactor from the report digests of the projects, this is the
+	 * SHA-1 hash of the lines of the form {@code projectKey=digest} sorted by project key and each
+	 * terminated by a line feed. Two builds of the reactor with the same root digest have identical
+	 * dependency reports in all the projects.
+	 *
+	 * @return the hex encoded root digest
+	 */
+	protected synchronized String getRootDigest() {
+		MessageDigest digest = DigestUtils.getSha1Digest();
+		projectAndDigestMap.forEach((k, v) -> digest.update((k + "=" + v + "\n").getBytes(StandardCharsets.UTF_8)));
+		return Hex.encodeHexString(digest.digest());
+	}
+	
+	/**
+	 * Records the metrics of the execution for the specified project
+	 *
+	 * @param project the tracked project
+	 * @param metrics the metrics
+	 */
+	protected synchronized void addMetrics(MavenProject project, TrackerMetrics metrics) {
+		projectAndMetricsMap.put(getKey(project), metrics);
+	}
+	
+	/**
+	 * Gets the metrics recorded so far in the order in which the projects were tracked
+	 *
+	 * @return map of project keys and metrics
+	 */
+	protected synchronized Map<String, TrackerMetrics> getMetrics() {
+		return new LinkedHashMap<>(projectAndMetricsMap);
+	}
+	
+	/**
+	 * Gets the comparison results recorded so far
+	 *
+	 * @return the results
+	 */
+	protected synchronized Collection<Integer> getResults() {
+		return new ArrayList<>(projectAndResultMap.values());
+	}
+	
+	/**
+	 * Gets the comparison result recorded for the specified project
+	 *
+	 * @param project the tracked project
+	 * @return the result or null if none has been recorded
+	 */
+	protected synchronized Integer getResult(MavenProject project) {
+		return projectAndResultMap.get(getKey(project));
+	}
+	
+	/**
+	 * Gets the project to which the aggregated artifacts are saved
+	 *
+	 * @return the aggregator project
+	 */
+	protected MavenProject getAggregatorProject() {
+		return aggregatorProject;
+	}
+	
+	/**
+	 * Gets the build directory of the project to which the aggregated artifact is saved, this is the
+	 * first tracked project in reactor build order which is typically the top level aggregator.
+	 *
+	 * @return the build directory
+	 */
+	protected File getAggregatorBuildDirectory() {
+		return new File(aggregatorProject.getBuild().getDirectory());
+	}
+	
+	/**
+	 * Gets the build file name of the project to which the aggregated artifact is saved
+	 *
+	 * @return the build file name
+	 */
+	protected String getAggregatorBuildFileName() {
+		return aggregatorProject.getBuild().getFinalName();
+	}
+	
+}
@@ -0,0 +1,144 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * Keeps track of the remote dependency report lookups that fail across all the projects in the
+ * reactor e.g. because the remote repository is down or too slow to respond, after the configured
+ * number of consecutive failed lookups the breaker opens and the remaining lookups in the build are
+ * skipped instead of each waiting for the resolver to time out. A lookup that finds no report is not
+ * a failure and resets the count.
+ */
+public class RemoteCircuitBreaker {
+	
+	private static final int FAILURE_THRESHOLD = 0;
+	
+	private static final int CONSECUTIVE_FAILURES = 1;
+	
+	private static final int FAILED_LOOKUPS = 2;
+	
+	private static final int SKIPPED_LOOKUPS = 3;
+	
+	private static final int OPEN = 4;
+	
+	/**
+	 * The state of the breaker, it is an array of JDK type so that it can be shared with the build
+	 * extension which may be loaded by another class realm, all access is synchronized on it.
+	 */
+	private final int[] state;
+	
+	protected RemoteCircuitBreaker(int failureThreshold) {
+		this(createState(failureThreshold));
+	}
+	
+	private RemoteCircuitBreaker(int[] state) {
+		this.state = state;
+	}
+	
+	private static int[] createState(int failureThreshold) {
+		int[] state = new int[OPEN + 1];
+		state[FAILURE_THRESHOLD] = failureThreshold;
+		return state;
+	}
+	
+	/**
+	 * Gets the {@link RemoteCircuitBreaker} instance for the build the specified session belongs to,
+	 * the failure threshold of the first caller applies to the entire build.
+	 *
+	 * @param session {@link RepositorySystemSession} instance
+	 * @param failureThreshold the number of consecutive failed lookups after which the breaker opens, 0
+	 *            means the breaker never opens
+	 * @return RemoteCircuitBreaker instance
+	 */
+	protected static RemoteCircuitBreaker getInstance(RepositorySystemSession session, int failureThreshold) {
+		return Utils.getReactorInstance(session, RemoteCircuitBreaker.class, () -> new RemoteCircuitBreaker(
+		        Utils.<int[]> getReactorState(session, RemoteCircuitBreaker.class.getName(),
+		            () -> createState(failureThreshold))));
+	}
+	
+	/**
+	 * Checks if the breaker is open i.e. remote lookups should be skipped
+	 *
+	 * @return true if the breaker is open otherwise false
+	 */
+	protected boolean isOpen() {
+		synchronized (state) {
+			return state[OPEN] != 0;
+		}
+	}
+	
+	/**
+	 * Records a remote lookup that completed, regardless of whether the files were found.
+	 */
+	protected void recordSuccess() {
+		synchronized (state) {
+			state[CONSECUTIVE_FAILURES] = 0;
+		}
+	}
+	
+	/**
+	 * Records a remote lookup that failed, the breaker opens if this is the failure that reaches the
+	 * threshold.
+	 *
+	 * @param files the number of files the lookup was for
+	 * @return true if this failure opened the breaker otherwise false
+	 */
+	protected boolean recordFailure(int files) {
+		synchronized (state) {
+			state[FAILED_LOOKUPS] += files;
+			state[CONSECUTIVE_FAILURES]++;
+			int failureThreshold = state[FAILURE_THRESHOLD];
+			if (state[OPEN] == 0 && failureThreshold > 0 && state[CONSECUTIVE_FAILURES] >= failureThreshold) {
+				state[OPEN] = 1;
+				return true;
+			}
+			
+			return false;
+		}
+	}
+	
+	/**
+	 * Records a remote lookup that was skipped because the breaker is open.
+	 *
+	 * @param files the number of files the lookup was for
+	 */
+	protected void recordSkipped(int files) {
+		synchronized (state) {
+			state[SKIPPED_LOOKUPS] += files;
+		}
+	}
+	
+	protected int getFailedLookups() {
+		synchronized (state) {
+			return state[FAILED_LOOKUPS];
+		}
+	}
+	
+	protected int getSkippedLookups() {
+		synchronized (state) {
+			return state[SKIPPED_LOOKUPS];
+		}
+	}
+	
+	/**
+	 * Creates a one line summary of the failed and skipped lookups.
+	 *
+	 * @return the summary or null if no lookup failed
+	 */
+	protected String createSummary() {
+		synchronized (state) {
+			if (state[FAILED_LOOKUPS] == 0) {
+				return null;
+			}
+			
+			String summary = "Remote dependency report lookups -> " + state[FAILED_LOOKUPS] + " failed, "
+			        + state[SKIPPED_LOOKUPS] + " skipped";
+			if (state[OPEN] != 0) {
+				summary += " after " + state[FAILURE_THRESHOLD] + " consecutive failures";
+			}
+			
+			return summary;
+		}
+	}
+	
+}
@@ -0,0 +1,175 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.plugin.logging.Log;
+import org.eclipse.aether.ConfigurationProperties;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.ArtifactTransferException;
+
+/**
+ * {@link ArtifactResolver} that fails fast when the remote repository the dependency reports are
+ * looked up from is slow or unreachable. Each requested file is given the configured timeout, a batched
+ * lookup of several files gets a deadline of the timeout times the number of files. The connect and
+ * request timeouts of the transport are lowered to the timeout so that a connection is not kept open
+ * past it. Failed lookups are reported to the reactor wide {@link RemoteCircuitBreaker}, once it opens
+ * the lookups fail immediately without contacting the remote repository. The results of failed or
+ * skipped lookups carry an {@link ArtifactTransferException} which tells them apart from reports that
+ * do not exist in the remote repository.
+ */
+public class RemoteLookupGuard implements ArtifactResolver {
+	
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+	
+	/**
+	 * Runs the lookups that have a deadline, it is shared by all the instances so that a thread is not
+	 * created for each lookup, idle threads are discarded and the threads are daemons so that a lookup
+	 * that ignores the interruption after its deadline does not keep the JVM alive.
+	 */
+	private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(createThreadFactory());
+	
+	private final ArtifactResolver delegate;
+	
+	private final int timeoutMillis;
+	
+	private final RemoteCircuitBreaker circuitBreaker;
+	
+	private final Log log;
+	
+	/**
+	 * @param delegate the resolver to delegate the lookups to
+	 * @param timeoutMillis the maximum duration of the lookup of a single file in milliseconds, 0 means
+	 *            no limit
+	 * @param circuitBreaker {@link RemoteCircuitBreaker} instance
+	 * @param log {@link Log} instance
+	 */
+	public RemoteLookupGuard(ArtifactResolver delegate, int timeoutMillis, RemoteCircuitBreaker circuitBreaker,
+	        Log log) {
+		this.delegate = delegate;
+		this.timeoutMillis = timeoutMillis;
+		this.circuitBreaker = circuitBreaker;
+		this.log = log;
+	}
+	
+	private static ThreadFactory createThreadFactory() {
+		return runnable -> {
+			String name = "dependency-tracker-remote-lookup-" + THREAD_COUNT.incrementAndGet();
+			Thread thread = new Thread(runnable, name);
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+	
+	/**
+	 * Checks if the specified result is that of a lookup that failed as opposed to one for a file that
+	 * does not exist in the remote repository.
+	 *
+	 * @param result the result to check
+	 * @return true if the lookup failed otherwise false
+	 */
+	protected static boolean isFailed(ArtifactResult result) {
+		return result != null && !result.isResolved()
+		        && result.getExceptions().stream().anyMatch(e -> !(e instanceof ArtifactNotFoundException));
+	}
+	
+	@Override
+	public ArtifactResult resolveArtifact(RepositorySystemSession session, ArtifactRequest request)
+	        throws ArtifactResolutionException {
+		List<ArtifactRequest> requests = new ArrayList<>(1);
+		requests.add(request);
+		return resolveArtifacts(session, requests).get(0);
+	}
+	
+	@Override
+	public List<ArtifactResult> resolveArtifacts(RepositorySystemSession session,
+	        Collection<? extends ArtifactRequest> requests) throws ArtifactResolutionException {
+		if (circuitBreaker.isOpen()) {
+			circuitBreaker.recordSkipped(requests.size());
+			throw createException(requests, "Skipped because previous remote lookups failed");
+		}
+		
+		try {
+			List<ArtifactResult> results = timeoutMillis > 0 ? resolveWithTimeout(session, requests)
+			        : delegate.resolveArtifacts(session, requests);
+			circuitBreaker.recordSuccess();
+			return results;
+		}
+		catch (ArtifactResolutionException e) {
+			long failures = e.getResults().stream().filter(RemoteLookupGuard::isFailed).count();
+			if (failures > 0) {
+				recordFailure((int) failures);
+			} else {
+				circuitBreaker.recordSuccess();
+			}
+			
+			throw e;
+		}
+	}
+	
+	private List<ArtifactResult> resolveWithTimeout(RepositorySystemSession session,
+	        Collection<? extends ArtifactRequest> requests) throws ArtifactResolutionException {
+		DefaultRepositorySystemSession timeoutSession = new DefaultRepositorySystemSession(session);
+		timeoutSession.setConfigProperty(ConfigurationProperties.CONNECT_TIMEOUT, timeoutMillis);
+		timeoutSession.setConfigProperty(ConfigurationProperties.REQUEST_TIMEOUT, timeoutMillis);
+		long deadlineMillis = (long) timeoutMillis * Math.max(1, requests.size());
+		Future<List<ArtifactResult>> future = EXECUTOR
+		        .submit(() -> delegate.resolveArtifacts(timeoutSession, requests));
+		try {
+			return future.get(deadlineMillis, TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e) {
+			future.cancel(true);
+			throw createException(requests, "Timed out after " + deadlineMillis + "ms");
+		}
+		catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw createException(requests, "Interrupted");
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof ArtifactResolutionException) {
+				throw (ArtifactResolutionException) e.getCause();
+			}
+			
+			throw createException(requests, String.valueOf(e.getCause()));
+		}
+	}
+	
+	private void recordFailure(int files) {
+		if (circuitBreaker.recordFailure(files)) {
+			log.warn("Skipping the remaining remote dependency report lookups because the previous ones failed");
+		}
+	}
+	
+	private static ArtifactResolutionException createException(Collection<? extends ArtifactRequest> requests,
+	        String message) {
+		List<ArtifactResult> results = new ArrayList<>(requests.size());
+		for (ArtifactRequest request : requests) {
+			List<RemoteRepository> repos = request.getRepositories();
+			RemoteRepository repo = repos.isEmpty() ? null : repos.get(0);
+			ArtifactResult result = new ArtifactResult(request);
+			result.addException(new ArtifactTransferException(request.getArtifact(), repo, message));
+			results.add(result);
+		}
+		
+		return new ArtifactResolutionException(results);
+	}
+	
+}
@@ -0,0 +1,239 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.maven.artifact.repository.metadata.Metadata;
+import org.apache.maven.artifact.repository.metadata.Snapshot;
+import org.apache.maven.artifact.repository.metadata.SnapshotVersion;
+import org.apache.maven.artifact.repository.metadata.Versioning;
+import org.apache.maven.artifact.repository.metadata.io.xpp3.MetadataXpp3Reader;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.impl.MetadataResolver;
+import org.eclipse.aether.metadata.DefaultMetadata;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.MetadataRequest;
+import org.eclipse.aether.resolution.MetadataResult;
+
+/**
+ * {@link ArtifactResolver} that keeps a local copy of the snapshot dependency reports fetched from
+ * remote repositories, copies are keyed by the remote repository and the GAV of the report. Before
+ * a cached report is used, it is revalidated against the maven-metadata.xml file of the snapshot
+ * version in the remote repository which identifies the latest deployed timestamped version, so a
+ * report is only transferred again when a new snapshot of it has been deployed. The metadata files
+ * are resolved in a single batch and they are subject to the snapshot update policy of the remote
+ * repository. Requests for release versions are passed on to the delegate resolver as is since the
+ * local repository already caches released artifacts.
+ */
+public class RemoteReportCache implements ArtifactResolver {
+	
+	private static final String METADATA_FILE_NAME = "maven-metadata.xml";
+	
+	private static final String SNAPSHOT_VERSION = "SNAPSHOT";
+	
+	private final File cacheDirectory;
+	
+	private final ArtifactResolver delegate;
+	
+	private final MetadataResolver metadataResolver;
+	
+	public RemoteReportCache(File cacheDirectory, ArtifactResolver delegate, MetadataResolver metadataResolver) {
+		this.cacheDirectory = cacheDirectory;
+		this.delegate = delegate;
+		this.metadataResolver = metadataResolver;
+	}
+	
+	@Override
+	public ArtifactResult resolveArtifact(RepositorySystemSession session, ArtifactRequest request)
+	        throws ArtifactResolutionException {
+		List<ArtifactRequest> requests = new ArrayList<>(1);
+		requests.add(request);
+		return resolveArtifacts(session, requests).get(0);
+	}
+	
+	@Override
+	public List<ArtifactResult> resolveArtifacts(RepositorySystemSession session,
+	        Collection<? extends ArtifactRequest> requests) throws ArtifactResolutionException {
+		List<ArtifactRequest> requestList = new ArrayList<>(requests);
+		List<Integer> snapshotIndexes = new ArrayList<>();
+		List<MetadataRequest> metadataRequests = new ArrayList<>();
+		for (int i = 0; i < requestList.size(); i++) {
+			ArtifactRequest request = requestList.get(i);
+			Artifact a = request.getArtifact();
+			if (a.isSnapshot() && request.getRepositories().size() == 1) {
+				DefaultMetadata metadata = new DefaultMetadata(a.getGroupId(), a.getArtifactId(), a.getBaseVersion(),
+				        METADATA_FILE_NAME, org.eclipse.aether.metadata.Metadata.Nature.SNAPSHOT);
+				snapshotIndexes.add(i);
+				metadataRequests.add(new MetadataRequest(metadata, request.getRepositories().get(0), null));
+			}
+		}
+		
+		List<MetadataResult> metadataResults = metadataRequests.isEmpty() ? new ArrayList<>()
+		        : metadataResolver.resolveMetadata(session, metadataRequests);
+		
+		ArtifactResult[] results = new ArtifactResult[requestList.size()];
+		File[] cacheFiles = new File[requestList.size()];
+		for (int i = 0; i < snapshotIndexes.size(); i++) {
+			int index = snapshotIndexes.get(i);
+			ArtifactRequest request = requestList.get(index);
+			MetadataResult metadataResult = metadataResults.get(i);
+			if (!metadataResult.isResolved()) {
+				continue;
+			}
+			
+			String version = getSnapshotVersion(metadataResult.getMetadata().getFile(), request.getArtifact());
+			if (version == null) {
+				continue;
+			}
+			
+			Artifact artifact = request.getArtifact().setVersion(version);
+			File cacheFile = getCacheFile(request.getRepositories().get(0), artifact);
+			if (cacheFile.isFile()) {
+				results[index] = new ArtifactResult(request).setArtifact(artifact.setFile(cacheFile));
+			} else {
+				cacheFiles[index] = cacheFile;
+				requestList.set(index, new ArtifactRequest(artifact, request.getRepositories(),
+				        request.getRequestContext()));
+			}
+		}
+		
+		List<Integer> pendingIndexes = new ArrayList<>();
+		List<ArtifactRequest> pendingRequests = new ArrayList<>();
+		for (int i = 0; i < results.length; i++) {
+			if (results[i] == null) {
+				pendingIndexes.add(i);
+				pendingRequests.add(requestList.get(i));
+			}
+		}
+		
+		if (!pendingRequests.isEmpty()) {
+			List<ArtifactResult> pendingResults;
+			try {
+				pendingResults = delegate.resolveArtifacts(session, pendingRequests);
+			}
+			catch (ArtifactResolutionException e) {
+				pendingResults = e.getResults();
+			}
+			
+			for (int i = 0; i < pendingIndexes.size(); i++) {
+				int index = pendingIndexes.get(i);
+				ArtifactResult result = pendingResults.get(i);
+				if (result.isResolved() && cacheFiles[index] != null) {
+					store(result.getArtifact().getFile(), cacheFiles[index]);
+				}
+				
+				results[index] = result;
+			}
+		}
+		
+		List<ArtifactResult> resultList = new ArrayList<>(results.length);
+		boolean allResolved = true;
+		for (ArtifactResult result : results) {
+			resultList.add(result);
+			allResolved &= result.isResolved();
+		}
+		
+		if (!allResolved) {
+			throw new ArtifactResolutionException(resultList);
+		}
+		
+		return resultList;
+	}
+	
+	/**
+	 * Gets the latest timestamped version of the specified snapshot artifact from the specified
+	 * snapshot version metadata file
+	 *
+	 * @param metadataFile the maven-metadata.xml file of the snapshot version
+	 * @param artifact the snapshot artifact
+	 * @return the timestamped version or null if none is found
+	 */
+	protected static String getSnapshotVersion(File metadataFile, Artifact artifact) {
+		Versioning versioning;
+		try (InputStream in = Files.newInputStream(metadataFile.toPath())) {
+			Metadata metadata = new MetadataXpp3Reader().read(in, false);
+			versioning = metadata.getVersioning();
+		}
+		catch (IOException | XmlPullParserException e) {
+			//The report is fetched again, the same as when no metadata is found
+			return null;
+		}
+		
+		if (versioning == null) {
+			return null;
+		}
+		
+		//Checksum files are not listed, they have the same version as the file they belong to
+		String extension = artifact.getExtension();
+		if (extension.endsWith(Constants.CHECKSUM_EXT_SUFFIX)) {
+			extension = extension.substring(0, extension.length() - Constants.CHECKSUM_EXT_SUFFIX.length());
+		}
+		
+		for (SnapshotVersion sv : versioning.getSnapshotVersions()) {
+			if (artifact.getClassifier().equals(sv.getClassifier()) && extension.equals(sv.getExtension())) {
+				return sv.getVersion();
+			}
+		}
+		
+		//Metadata deployed by maven 2 has no snapshot versions
+		Snapshot snapshot = versioning.getSnapshot();
+		if (snapshot == null || snapshot.getTimestamp() == null || snapshot.isLocalCopy()) {
+			return null;
+		}
+		
+		String baseVersion = artifact.getBaseVersion();
+		return baseVersion.substring(0, baseVersion.length() - SNAPSHOT_VERSION.length()) + snapshot.getTimestamp()
+		        + "-" + snapshot.getBuildNumber();
+	}
+	
+	private File getCacheFile(RemoteRepository repository, Artifact artifact) {
+		String repoKey = DigestUtils.sha1Hex(repository.getUrl());
+		String path = repoKey + "/" + artifact.getGroupId().replace('.', '/') + "/" + artifact.getArtifactId() + "/"
+		        + artifact.getBaseVersion() + "/" + artifact.getArtifactId() + "-" + artifact.getVersion() + "-"
+		        + artifact.getClassifier() + "." + artifact.getExtension();
+		return new File(cacheDirectory, path);
+	}
+	
+	private void store(File file, File cacheFile) {
+		File dir = cacheFile.getParentFile();
+		String suffix = "-" + cacheFile.getName().substring(cacheFile.getName().lastIndexOf('-') + 1);
+		try {
+			Files.createDirectories(dir.toPath());
+			Path tempFile = Files.createTempFile(dir.toPath(), cacheFile.getName(), null);
+			try {
+				Files.copy(file.toPath(), tempFile, StandardCopyOption.REPLACE_EXISTING);
+				Files.move(tempFile, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				    StandardCopyOption.ATOMIC_MOVE);
+			}
+			finally {
+				Files.deleteIfExists(tempFile);
+			}
+			
+			//Older snapshots of the same report are no longer needed
+			File[] oldFiles = dir.listFiles((d, name) -> name.endsWith(suffix) && !name.equals(cacheFile.getName()));
+			if (oldFiles != null) {
+				for (File oldFile : oldFiles) {
+					Files.deleteIfExists(oldFile.toPath());
+				}
+			}
+		}
+		catch (IOException e) {
+			//The cache is only an optimization, the report is fetched again in the next build
+		}
+	}
+	
+}
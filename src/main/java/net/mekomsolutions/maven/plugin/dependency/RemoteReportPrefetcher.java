@@ -0,0 +1,214 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+
+/**
+ * Fetches the remote dependency reports of all the tracked projects in the reactor with a single
+ * batched resolution request when the first project is tracked, the resolver downloads the reports
+ * concurrently and the projects tracked later read their report from the prefetched results instead
+ * of each making a blocking round-trip to the remote repository. Either the reports or only their
+ * checksums can be prefetched.
+ */
+public class RemoteReportPrefetcher {
+	
+	private static final String KEY_REPORTS = RemoteReportPrefetcher.class.getName() + ".reports";
+	
+	private static final String KEY_EXTENSIONS = RemoteReportPrefetcher.class.getName() + ".extensions";
+	
+	private static final String KEY_FAILED = RemoteReportPrefetcher.class.getName() + ".failed";
+	
+	/**
+	 * The prefetched reports, all access to the state is synchronized on this map
+	 */
+	private final Map<String, File> projectAndReport;
+	
+	private final Set<String> prefetchedExtensions;
+	
+	private final Set<String> failedKeys;
+	
+	private RemoteReportPrefetcher(Map<String, File> projectAndReport, Set<String> prefetchedExtensions,
+	    Set<String> failedKeys) {
+		this.projectAndReport = projectAndReport;
+		this.prefetchedExtensions = prefetchedExtensions;
+		this.failedKeys = failedKeys;
+	}
+	
+	/**
+	 * Gets the {@link RemoteReportPrefetcher} instance for the build the specified session belongs to,
+	 * the prefetched reports are stored as JDK types in the session data so that they are shared with
+	 * the build extension which may be loaded by another class realm.
+	 *
+	 * @param session {@link MavenSession} instance
+	 * @return RemoteReportPrefetcher instance
+	 */
+	protected static RemoteReportPrefetcher getInstance(MavenSession session) {
+		RepositorySystemSession repoSession = session.getRepositorySession();
+		return Utils.getReactorInstance(repoSession, RemoteReportPrefetcher.class,
+		    () -> new RemoteReportPrefetcher(Utils.getReactorState(repoSession, KEY_REPORTS, HashMap::new),
+		            Utils.getReactorState(repoSession, KEY_EXTENSIONS, HashSet::new),
+		            Utils.getReactorState(repoSession, KEY_FAILED, HashSet::new)));
+	}
+	
+	/**
+	 * Creates the request to resolve the dependency report of the specified project from the remote
+	 * repository defined in the distribution management section of its POM file.
+	 *
+	 * @param project {@link MavenProject} instance
+	 * @param extension the extension of the file to resolve i.e. the report or its checksum
+	 * @return the ArtifactRequest or null if the project has no distribution repository
+	 */
+	protected static ArtifactRequest createRequest(MavenProject project, String extension) {
+		ArtifactRepository remoteRepo = project.getDistributionManagementArtifactRepository();
+		if (remoteRepo == null) {
+			return null;
+		}
+		
+		org.eclipse.aether.artifact.Artifact ea = new DefaultArtifact(project.getGroupId(), project.getArtifactId(),
+		        Constants.CLASSIFIER, extension, project.getVersion());
+		return new ArtifactRequest(ea, Collections.singletonList(RepositoryUtils.toRepo(remoteRepo)), null);
+	}
+	
+	/**
+	 * Gets the repository session to use to resolve the files with the specified extension, checksum
+	 * files have no checksums of their own so checksum verification is disabled for them, otherwise
+	 * the resolver would look up a checksum of the checksum file, warn that it is missing or even fail
+	 * if the checksum policy is set to fail.
+	 *
+	 * @param session {@link MavenSession} instance
+	 * @param extension the extension of the file to resolve i.e. the report or its checksum
+	 * @return the RepositorySystemSession
+	 */
+	protected static RepositorySystemSession getRepositorySession(MavenSession session, String extension) {
+		if (!extension.endsWith(Constants.CHECKSUM_EXT_SUFFIX)) {
+			return session.getRepositorySession();
+		}
+		
+		DefaultRepositorySystemSession repoSession = new DefaultRepositorySystemSession(session.getRepositorySession());
+		repoSession.setChecksumPolicy(RepositoryPolicy.CHECKSUM_POLICY_IGNORE);
+		return repoSession;
+	}
+	
+	/**
+	 * Resolves the dependency reports of the specified projects in a single request, only the first
+	 * invocation for an extension resolves the files, subsequent invocations are no-ops.
+	 *
+	 * @param projects the projects to resolve the reports for
+	 * @param extension the extension of the files to resolve i.e. the reports or their checksums
+	 * @param session {@link MavenSession} instance
+	 * @param artifactResolver {@link ArtifactResolver} instance
+	 * @param log {@link Log} instance
+	 */
+	protected void prefetch(Collection<MavenProject> projects, String extension, MavenSession session,
+	        ArtifactResolver artifactResolver, Log log) {
+		synchronized (projectAndReport) {
+			if (!prefetchedExtensions.add(extension)) {
+				return;
+			}
+			
+			List<String> keys = new ArrayList<>(projects.size());
+			List<ArtifactRequest> requests = new ArrayList<>(projects.size());
+			for (MavenProject project : projects) {
+				ArtifactRequest request = createRequest(project, extension);
+				if (request != null) {
+					keys.add(getKey(project, extension));
+					requests.add(request);
+				}
+			}
+			
+			if (requests.isEmpty()) {
+				return;
+			}
+			
+			log.info("Prefetching dependency report " + extension + " files for " + requests.size() + " projects");
+			
+			List<ArtifactResult> results;
+			try {
+				results = artifactResolver.resolveArtifacts(getRepositorySession(session, extension), requests);
+			}
+			catch (ArtifactResolutionException e) {
+				//Thrown if any report is missing, the results still contain the ones that were resolved
+				results = e.getResults();
+			}
+			
+			for (int i = 0; i < keys.size(); i++) {
+				ArtifactResult result = i < results.size() ? results.get(i) : null;
+				boolean resolved = result != null && result.isResolved();
+				projectAndReport.put(keys.get(i), resolved ? result.getArtifact().getFile() : null);
+				if (RemoteLookupGuard.isFailed(result)) {
+					failedKeys.add(keys.get(i));
+				}
+			}
+			
+			log.debug("Prefetched " + results.stream().filter(r -> r != null && r.isResolved()).count()
+			        + " dependency report " + extension + " files");
+		}
+	}
+	
+	/**
+	 * Checks if the dependency report of the specified project was prefetched, a report that was not
+	 * found in the remote repository is also considered to be prefetched.
+	 *
+	 * @param project {@link MavenProject} instance
+	 * @param extension the extension of the report file
+	 * @return true if the report was prefetched otherwise false
+	 */
+	protected boolean isPrefetched(MavenProject project, String extension) {
+		synchronized (projectAndReport) {
+			return projectAndReport.containsKey(getKey(project, extension));
+		}
+	}
+	
+	/**
+	 * Gets the prefetched dependency report of the specified project
+	 *
+	 * @param project {@link MavenProject} instance
+	 * @param extension the extension of the report file
+	 * @return the report file or null if no report was found in the remote repository
+	 */
+	protected File getReport(MavenProject project, String extension) {
+		synchronized (projectAndReport) {
+			return projectAndReport.get(getKey(project, extension));
+		}
+	}
+	
+	/**
+	 * Checks if the lookup of the dependency report of the specified project failed e.g. because the
+	 * remote repository was unreachable as opposed to the report not being found.
+	 *
+	 * @param project {@link MavenProject} instance
+	 * @param extension the extension of the report file
+	 * @return true if the lookup failed otherwise false
+	 */
+	protected boolean isFailed(MavenProject project, String extension) {
+		synchronized (projectAndReport) {
+			return failedKeys.contains(getKey(project, extension));
+		}
+	}
+	
+	private static String getKey(MavenProject project, String extension) {
+		return ReactorCoordinator.getKey(project) + Constants.SEPARATOR_COLON + extension;
+	}
+	
+}
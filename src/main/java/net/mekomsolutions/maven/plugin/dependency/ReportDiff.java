@@ -0,0 +1,115 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static net.mekomsolutions.maven.plugin.dependency.Constants.DIGEST_PROPERTY;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.OUTPUT_SEPARATOR;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+
+import net.mekomsolutions.maven.plugin.dependency.DependencyReport.Entry;
+import net.mekomsolutions.maven.plugin.dependency.DependencyReport.EntryReader;
+
+/**
+ * Compares two dependency reports in a single pass, since the entries in a report are sorted by key
+ * the files are streamed side by side like in a merge so only the current entry of each report is
+ * held in memory regardless of the report sizes. Each report can be in the text or binary format.
+ */
+public class ReportDiff {
+	
+	/**
+	 * The types of changes that can be detected for a dependency
+	 */
+	public enum ChangeType {
+		ADDED, REMOVED, VERSION_CHANGED, HASH_CHANGED, PROPERTY_CHANGED
+	}
+	
+	private static final String CHANGE_SEPARATOR = " -> ";
+	
+	/**
+	 * Compares the specified reports and writes a line for each changed dependency to the specified
+	 * writer, each line is of the form {@code TYPE key=old -> new} where old and new are the version
+	 * or the hash depending on the type of change, added and removed dependencies only have the new
+	 * and old value respectively. If no writer is specified, the comparison stops at the first change.
+	 * Differences between the properties of the reports e.g. the fingerprint mode are reported first
+	 * as changes of the form {@code PROPERTY_CHANGED name=old -> new}, the digest property is ignored
+	 * since it only changes along with the entries and the other properties.
+	 *
+	 * @param buildReport report file generated during the current build
+	 * @param remoteReport the report file from the remote repo
+	 * @param writer the writer to write the changes to, can be null
+	 * @return the number of changed dependencies
+	 * @throws IOException
+	 */
+	public static int diff(File buildReport, File remoteReport, Writer writer) throws IOException {
+		int changes = 0;
+		try (EntryReader buildReader = DependencyReport.openReader(buildReport);
+		        EntryReader remoteReader = DependencyReport.openReader(remoteReport)) {
+			Entry build = buildReader.next();
+			Entry remote = remoteReader.next();
+			Set<String> names = new TreeSet<>(buildReader.getProperties().keySet());
+			names.addAll(remoteReader.getProperties().keySet());
+			names.remove(DIGEST_PROPERTY);
+			for (String name : names) {
+				String buildValue = buildReader.getProperties().getOrDefault(name, "");
+				String remoteValue = remoteReader.getProperties().getOrDefault(name, "");
+				if (!buildValue.equals(remoteValue)) {
+					changes++;
+					if (writer == null) {
+						return changes;
+					}
+					
+					writer.write(ChangeType.PROPERTY_CHANGED + " " + name + OUTPUT_SEPARATOR + remoteValue
+					        + CHANGE_SEPARATOR + buildValue);
+					writer.write(System.lineSeparator());
+				}
+			}
+			
+			while (build != null || remote != null) {
+				int cmp;
+				if (build == null) {
+					cmp = 1;
+				} else if (remote == null) {
+					cmp = -1;
+				} else {
+					cmp = build.getKey().compareTo(remote.getKey());
+				}
+				
+				String change = null;
+				if (cmp < 0) {
+					change = ChangeType.ADDED + " " + build.getKey() + OUTPUT_SEPARATOR + build.getValue();
+					build = buildReader.next();
+				} else if (cmp > 0) {
+					change = ChangeType.REMOVED + " " + remote.getKey() + OUTPUT_SEPARATOR + remote.getValue();
+					remote = remoteReader.next();
+				} else {
+					if (!build.getVersion().equals(remote.getVersion())) {
+						change = ChangeType.VERSION_CHANGED + " " + build.getKey() + OUTPUT_SEPARATOR
+						        + remote.getVersion() + CHANGE_SEPARATOR + build.getVersion();
+					} else if (!build.hasSameHash(remote)) {
+						change = ChangeType.HASH_CHANGED + " " + build.getKey() + OUTPUT_SEPARATOR + remote.getHash()
+						        + CHANGE_SEPARATOR + build.getHash();
+					}
+					
+					build = buildReader.next();
+					remote = remoteReader.next();
+				}
+				
+				if (change != null) {
+					changes++;
+					if (writer == null) {
+						break;
+					}
+					
+					writer.write(change);
+					writer.write(System.lineSeparator());
+				}
+			}
+		}
+		
+		return changes;
+	}
+	
+}
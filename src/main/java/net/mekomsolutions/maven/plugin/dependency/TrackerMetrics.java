@@ -0,0 +1,261 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the timings and counters of a single execution of the plugin for a project, counters are
+ * updated from the hashing threads so they are thread safe. Phase timings are the elapsed wall clock
+ * time of each phase in nanoseconds, a phase that runs more than once accumulates its timings. The
+ * hash phase is the exception, it is the time spent hashing the contents of files summed across the
+ * hashing threads, so it excludes waiting for files hashed by another module.
+ */
+public class TrackerMetrics {
+	
+	public static final String PHASE_FINGERPRINT = "fingerprint";
+	
+	public static final String PHASE_HASH = "hash";
+	
+	public static final String PHASE_REPORT = "report";
+	
+	public static final String PHASE_SAVE = "save";
+	
+	public static final String PHASE_PREFETCH = "prefetch";
+	
+	public static final String PHASE_REMOTE_FETCH = "remoteFetch";
+	
+	public static final String PHASE_REMOTE_WAIT = "remoteWait";
+	
+	public static final String PHASE_COMPARE = "compare";
+	
+	public static final String PHASE_SKIP_DEPLOY = "skipDeploy";
+	
+	public static final String PHASE_TOTAL = "total";
+	
+	private static final double NANOS_PER_MILLI = 1_000_000d;
+	
+	private static final double BYTES_PER_MB = 1024 * 1024d;
+	
+	private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+	
+	private final AtomicLong dependencies = new AtomicLong();
+	
+	private final AtomicLong filesHashed = new AtomicLong();
+	
+	private final AtomicLong bytesHashed = new AtomicLong();
+	
+	private final AtomicLong zipFingerprints = new AtomicLong();
+	
+	private final AtomicLong hashCacheHits = new AtomicLong();
+	
+	private final AtomicLong repositoryChecksumHits = new AtomicLong();
+	
+	private final AtomicLong remoteFetches = new AtomicLong();
+	
+	private volatile boolean reportReused;
+	
+	/**
+	 * Adds the specified elapsed time to the specified phase
+	 *
+	 * @param phase the phase name
+	 * @param nanos the elapsed time in nanoseconds
+	 */
+	protected synchronized void addTime(String phase, long nanos) {
+		phaseNanos.merge(phase, nanos, Long::sum);
+	}
+	
+	/**
+	 * Gets the time spent in the specified phase
+	 *
+	 * @param phase the phase name
+	 * @return the elapsed time in nanoseconds
+	 */
+	protected synchronized long getTime(String phase) {
+		return phaseNanos.getOrDefault(phase, 0L);
+	}
+	
+	/**
+	 * Sets the number of tracked dependencies
+	 *
+	 * @param count the number of dependencies
+	 */
+	protected void setDependencies(long count) {
+		dependencies.set(count);
+	}
+	
+	/**
+	 * Records a file whose entire contents were hashed
+	 *
+	 * @param bytes the size of the file
+	 * @param nanos the time it took to hash the file in nanoseconds
+	 */
+	protected void addFileHashed(long bytes, long nanos) {
+		filesHashed.incrementAndGet();
+		bytesHashed.addAndGet(bytes);
+		addTime(PHASE_HASH, nanos);
+	}
+	
+	/**
+	 * Records a zip file fingerprinted from its central directory
+	 */
+	protected void addZipFingerprint() {
+		zipFingerprints.incrementAndGet();
+	}
+	
+	/**
+	 * Records a hash found in the hash cache
+	 */
+	protected void addHashCacheHit() {
+		hashCacheHits.incrementAndGet();
+	}
+	
+	/**
+	 * Records a hash read from a repository checksum file
+	 */
+	protected void addRepositoryChecksumHit() {
+		repositoryChecksumHits.incrementAndGet();
+	}
+	
+	/**
+	 * Records a file fetched from the remote repository
+	 */
+	protected void addRemoteFetch() {
+		remoteFetches.incrementAndGet();
+	}
+	
+	/**
+	 * Sets whether the dependency report of the previous build was reused
+	 *
+	 * @param reportReused true if the report was reused otherwise false
+	 */
+	protected void setReportReused(boolean reportReused) {
+		this.reportReused = reportReused;
+	}
+	
+	/**
+	 * Gets the number of files whose entire contents were hashed
+	 *
+	 * @return the number of files
+	 */
+	protected long getFilesHashed() {
+		return filesHashed.get();
+	}
+	
+	/**
+	 * Gets the total size of the files whose entire contents were hashed
+	 *
+	 * @return the number of bytes
+	 */
+	protected long getBytesHashed() {
+		return bytesHashed.get();
+	}
+	
+	/**
+	 * Gets the number of hashes found in the hash cache
+	 *
+	 * @return the number of cache hits
+	 */
+	protected long getHashCacheHits() {
+		return hashCacheHits.get();
+	}
+	
+	/**
+	 * Gets the hashing throughput i.e. the number of megabytes hashed per second spent hashing
+	 *
+	 * @return the throughput in MB/s or 0 if nothing was hashed
+	 */
+	protected double getThroughput() {
+		long nanos = getTime(PHASE_HASH);
+		if (nanos == 0 || bytesHashed.get() == 0) {
+			return 0;
+		}
+		
+		return bytesHashed.get() / BYTES_PER_MB / (nanos / (NANOS_PER_MILLI * 1000));
+	}
+	
+	/**
+	 * Serializes the metrics of the specified project as a JSON object, timings are in milliseconds.
+	 *
+	 * @param projectKey the key of the project
+	 * @return the JSON string
+	 */
+	protected String toJson(String projectKey) {
+		StringBuilder sb = new StringBuilder("{\n");
+		sb.append("  \"project\": \"").append(escape(projectKey)).append("\",\n");
+		sb.append("  \"dependencies\": ").append(dependencies.get()).append(",\n");
+		sb.append("  \"reportReused\": ").append(reportReused).append(",\n");
+		sb.append("  \"filesHashed\": ").append(filesHashed.get()).append(",\n");
+		sb.append("  \"bytesHashed\": ").append(bytesHashed.get()).append(",\n");
+		sb.append("  \"hashThroughputMBps\": ").append(format(getThroughput())).append(",\n");
+		sb.append("  \"zipFingerprints\": ").append(zipFingerprints.get()).append(",\n");
+		sb.append("  \"hashCacheHits\": ").append(hashCacheHits.get()).append(",\n");
+		sb.append("  \"repositoryChecksumHits\": ").append(repositoryChecksumHits.get()).append(",\n");
+		sb.append("  \"remoteFetches\": ").append(remoteFetches.get()).append(",\n");
+		sb.append("  \"timingsMillis\": {");
+		synchronized (this) {
+			String separator = "\n";
+			for (Map.Entry<String, Long> e : phaseNanos.entrySet()) {
+				sb.append(separator).append("    \"").append(e.getKey()).append("\": ")
+				        .append(format(e.getValue() / NANOS_PER_MILLI));
+				separator = ",\n";
+			}
+			
+			sb.append(phaseNanos.isEmpty() ? "}" : "\n  }");
+		}
+		
+		return sb.append("\n}\n").toString();
+	}
+	
+	/**
+	 * Creates a human readable summary of the metrics of the projects in a reactor, the summary has a
+	 * line per project followed by a line with the totals.
+	 *
+	 * @param projectAndMetrics the metrics of each project keyed by project key
+	 * @return the summary lines
+	 */
+	protected static List<String> createSummary(Map<String, TrackerMetrics> projectAndMetrics) {
+		List<String> lines = new ArrayList<>(projectAndMetrics.size() + 1);
+		TrackerMetrics total = new TrackerMetrics();
+		projectAndMetrics.forEach((key, metrics) -> {
+			lines.add(key + " -> " + metrics.summarize());
+			total.filesHashed.addAndGet(metrics.filesHashed.get());
+			total.bytesHashed.addAndGet(metrics.bytesHashed.get());
+			total.hashCacheHits.addAndGet(metrics.hashCacheHits.get());
+			synchronized (metrics) {
+				metrics.phaseNanos.forEach(total::addTime);
+			}
+		});
+		
+		lines.add("Total -> " + total.summarize());
+		return lines;
+	}
+	
+	private String summarize() {
+		return filesHashed.get() + " files hashed, " + format(bytesHashed.get() / BYTES_PER_MB) + " MB at "
+		        + format(getThroughput()) + " MB/s, " + hashCacheHits.get() + " cache hits, remote fetch "
+		        + formatMillis(PHASE_PREFETCH, PHASE_REMOTE_FETCH) + ", compare " + formatMillis(PHASE_COMPARE)
+		        + ", total " + formatMillis(PHASE_TOTAL);
+	}
+	
+	private String formatMillis(String... phases) {
+		long nanos = 0;
+		for (String phase : phases) {
+			nanos += getTime(phase);
+		}
+		
+		return format(nanos / NANOS_PER_MILLI) + " ms";
+	}
+	
+	private static String format(double value) {
+		return String.format(Locale.ROOT, "%.3f", value);
+	}
+	
+	private static String escape(String value) {
+		return value.replace("\\", "\\\\").replace("\"", "\\\"");
+	}
+	
+}
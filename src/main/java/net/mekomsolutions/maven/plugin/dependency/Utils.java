@@ -2,14 +2,44 @@ package net.mekomsolutions.maven.plugin.dependency;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
 
 /**
  * Contains plugin utilities
  */
 public class Utils {
 	
+	private static final int HASH_BUFFER_SIZE = 64 * 1024;
+	
+	private static final String SHA1_CHECKSUM_EXT = ".sha1";
+	
+	private static final Pattern SHA1_PATTERN = Pattern.compile("[0-9a-f]{40}");
+	
+	private static final int MAX_CHECKSUM_FILE_SIZE = 1024;
+	
+	/**
+	 * How much older than the file it belongs to a checksum file can be before it is considered stale,
+	 * the resolver writes the checksum file right after the artifact file.
+	 */
+	private static final long CHECKSUM_FILE_TOLERANCE_MILLIS = 2000;
+	
+	/**
+	 * Direct buffers are expensive to allocate, so each hashing thread reuses its own fixed size buffer
+	 */
+	private static final ThreadLocal<ByteBuffer> HASH_BUFFER = ThreadLocal
+	        .withInitial(() -> ByteBuffer.allocateDirect(HASH_BUFFER_SIZE));
+	
 	/**
 	 * Reads the contents of the specified file
 	 *
@@ -21,6 +51,138 @@ public class Utils {
 		return Files.readAllBytes(file.toPath());
 	}
 	
+	/**
+	 * Computes the SHA-1 hash of the contents of the specified file
+	 *
+	 * @param file the file to hash
+	 * @return the hex encoded SHA-1 hash
+	 * @throws IOException
+	 */
+	public static String sha1Hex(File file) throws IOException {
+		return hashHex(file, DigestAlgorithm.SHA1);
+	}
+	
+	/**
+	 * Computes the hash of the contents of the specified file with the specified algorithm, the file
+	 * is streamed through a fixed size buffer so the memory used is the same regardless of the file
+	 * size.
+	 *
+	 * @param file the file to hash
+	 * @param algorithm the digest algorithm to use
+	 * @return the hex encoded hash
+	 * @throws IOException
+	 */
+	public static String hashHex(File file, DigestAlgorithm algorithm) throws IOException {
+		DigestAlgorithm.Hasher hasher = algorithm.newHasher();
+		ByteBuffer buffer = HASH_BUFFER.get();
+		buffer.clear();
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			while (channel.read(buffer) != -1) {
+				buffer.flip();
+				hasher.update(buffer);
+				buffer.clear();
+			}
+		}
+		
+		return hasher.hexDigest();
+	}
+	
+	/**
+	 * Gets the instance of the specified type that is shared by all the modules in the reactor, the
+	 * instance is stored in the session data of the repository system session which unlike the maven
+	 * session is not copied for each project in a parallel build. The instance is keyed by the class
+	 * itself rather than its name so that each class realm e.g. the build extension and the plugin gets
+	 * its own instance, state that is shared across class realms must be stored with
+	 * {@link #getReactorState(RepositorySystemSession, String, Supplier)}.
+	 *
+	 * @param session {@link RepositorySystemSession} instance
+	 * @param type the type of the instance
+	 * @param factory creates the instance if none exists yet
+	 * @return the shared instance
+	 */
+	public static <T> T getReactorInstance(RepositorySystemSession session, Class<T> type, Supplier<T> factory) {
+		return type.cast(getReactorValue(session, type, factory));
+	}
+	
+	/**
+	 * Gets the state stored under the specified key that is shared by all the modules in the reactor and
+	 * all the class realms, the state must only be made up of JDK types since those are loaded by the
+	 * same class loader in every realm.
+	 *
+	 * @param session {@link RepositorySystemSession} instance
+	 * @param key the key of the state
+	 * @param factory creates the state if none exists yet
+	 * @return the shared state
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T getReactorState(RepositorySystemSession session, String key, Supplier<T> factory) {
+		return (T) getReactorValue(session, key, factory);
+	}
+	
+	private static Object getReactorValue(RepositorySystemSession session, Object key, Supplier<?> factory) {
+		SessionData data = session.getData();
+		Object value = data.get(key);
+		while (value == null) {
+			data.set(key, null, factory.get());
+			value = data.get(key);
+		}
+		
+		return value;
+	}
+	
+	/**
+	 * Creates a key that identifies the current state of the specified file, the key is made up of the
+	 * file path, size, last modified time and file key so it changes whenever the file is modified.
+	 *
+	 * @param file the file
+	 * @return the file state key
+	 * @throws IOException
+	 */
+	public static String createFileKey(File file) throws IOException {
+		BasicFileAttributes attrs = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+		Object fileKey = attrs.fileKey();
+		return file.getAbsolutePath() + "\t" + attrs.size() + "\t" + attrs.lastModifiedTime().toMillis() + "\t"
+		        + (fileKey != null ? fileKey : "");
+	}
+	
+	/**
+	 * Reads the SHA-1 hash of the specified file from the checksum file next to it, this is the file
+	 * with the same name and a .sha1 extension that the resolver stores alongside a downloaded
+	 * artifact. The checksum is ignored if it is not a valid SHA-1 hash or the checksum file is older
+	 * than the file it belongs to i.e. the file was replaced after the checksum file was written.
+	 *
+	 * @param file the file to read the checksum for
+	 * @return the hex encoded SHA-1 hash or null if no trusted checksum file was found
+	 * @throws IOException
+	 */
+	public static String readSha1Checksum(File file) throws IOException {
+		File checksumFile = new File(file.getPath() + SHA1_CHECKSUM_EXT);
+		if (!checksumFile.isFile()
+		        || checksumFile.lastModified() + CHECKSUM_FILE_TOLERANCE_MILLIS < file.lastModified()) {
+			return null;
+		}
+		
+		return readChecksumFile(checksumFile);
+	}
+	
+	/**
+	 * Reads the SHA-1 hash from the specified checksum file
+	 *
+	 * @param checksumFile the checksum file to read
+	 * @return the hex encoded SHA-1 hash or null if the file does not contain a valid SHA-1 hash
+	 * @throws IOException
+	 */
+	public static String readChecksumFile(File checksumFile) throws IOException {
+		if (!checksumFile.isFile() || checksumFile.length() > MAX_CHECKSUM_FILE_SIZE) {
+			return null;
+		}
+		
+		//Some tools write the file name after the hash
+		String content = new String(Files.readAllBytes(checksumFile.toPath()), StandardCharsets.US_ASCII).trim();
+		String hash = content.split("\\s+", 2)[0].toLowerCase();
+		return SHA1_PATTERN.matcher(hash).matches() ? hash : null;
+	}
+	
 	/**
 	 * Writes lines of data to the specified file
 	 *
@@ -58,8 +220,9 @@ public class Utils {
 	 * Returns a message based on the provided result value.
 	 *
 	 * @param result an integer representing the result type, where: - 0 indicates no dependency changes
-	 *            detected - -1 indicates no existing remote dependency report found - any other value
-	 *            indicates dependency changes detected
+	 *            detected - -1 indicates no existing remote dependency report found - -2 indicates the
+	 *            remote dependency report could not be fetched - any other value indicates dependency
+	 *            changes detected
 	 * @return a string message indicating the corresponding result
 	 */
 	public static String getStringResult(int result) {
@@ -68,6 +231,8 @@ public class Utils {
 			str = "no dependency changes detected";
 		} else if (result == -1) {
 			str = "no existing remote dependency report found";
+		} else if (result == -2) {
+			str = "remote dependency report unavailable";
 		} else {
 			str = "dependency changes detected";
 		}
@@ -0,0 +1,121 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Pure java streaming implementation of the 64-bit xxHash algorithm with a seed of zero, the input is
+ * consumed in stripes of 32 bytes and the bytes of an incomplete stripe are kept until the next
+ * update. The hash is hex encoded as an unsigned 64-bit number padded to 16 characters.
+ */
+public class XxHash64 implements DigestAlgorithm.Hasher {
+	
+	private static final long PRIME1 = 0x9E3779B185EBCA87L;
+	
+	private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+	
+	private static final long PRIME3 = 0x165667B19E3779F9L;
+	
+	private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+	
+	private static final long PRIME5 = 0x27D4EB2F165667C5L;
+	
+	private static final int STRIPE_LENGTH = 32;
+	
+	private final ByteBuffer stripe = ByteBuffer.allocate(STRIPE_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+	
+	private long v1 = PRIME1 + PRIME2;
+	
+	private long v2 = PRIME2;
+	
+	private long v3 = 0;
+	
+	private long v4 = -PRIME1;
+	
+	private long totalLength;
+	
+	@Override
+	public void update(ByteBuffer input) {
+		totalLength += input.remaining();
+		ByteOrder order = input.order();
+		input.order(ByteOrder.LITTLE_ENDIAN);
+		try {
+			if (stripe.position() > 0) {
+				while (stripe.hasRemaining() && input.hasRemaining()) {
+					stripe.put(input.get());
+				}
+				
+				if (stripe.hasRemaining()) {
+					return;
+				}
+				
+				stripe.flip();
+				processStripe(stripe);
+				stripe.clear();
+			}
+			
+			while (input.remaining() >= STRIPE_LENGTH) {
+				processStripe(input);
+			}
+			
+			stripe.put(input);
+		}
+		finally {
+			input.order(order);
+		}
+	}
+	
+	@Override
+	public String hexDigest() {
+		long hash;
+		if (totalLength >= STRIPE_LENGTH) {
+			hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+			hash = mergeRound(hash, v1);
+			hash = mergeRound(hash, v2);
+			hash = mergeRound(hash, v3);
+			hash = mergeRound(hash, v4);
+		} else {
+			hash = PRIME5;
+		}
+		
+		hash += totalLength;
+		stripe.flip();
+		while (stripe.remaining() >= 8) {
+			hash ^= round(0, stripe.getLong());
+			hash = Long.rotateLeft(hash, 27) * PRIME1 + PRIME4;
+		}
+		
+		if (stripe.remaining() >= 4) {
+			hash ^= (stripe.getInt() & 0xFFFFFFFFL) * PRIME1;
+			hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+		}
+		
+		while (stripe.hasRemaining()) {
+			hash ^= (stripe.get() & 0xFF) * PRIME5;
+			hash = Long.rotateLeft(hash, 11) * PRIME1;
+		}
+		
+		hash ^= hash >>> 33;
+		hash *= PRIME2;
+		hash ^= hash >>> 29;
+		hash *= PRIME3;
+		hash ^= hash >>> 32;
+		return String.format("%016x", hash);
+	}
+	
+	private void processStripe(ByteBuffer buffer) {
+		v1 = round(v1, buffer.getLong());
+		v2 = round(v2, buffer.getLong());
+		v3 = round(v3, buffer.getLong());
+		v4 = round(v4, buffer.getLong());
+	}
+	
+	private static long round(long acc, long input) {
+		return Long.rotateLeft(acc + input * PRIME2, 31) * PRIME1;
+	}
+	
+	private static long mergeRound(long acc, long value) {
+		return (acc ^ round(0, value)) * PRIME1 + PRIME4;
+	}
+	
+}
@@ -0,0 +1,166 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Computes the fingerprint of a zip file e.g. a jar or war from its central directory, the central
+ * directory is located at the end of the file and holds the name, CRC-32, size and timestamp of each
+ * entry so only a few kilobytes are read through a seekable channel regardless of the size of the
+ * archive. The fingerprint is the hash of the entries sorted by name, each entry is a line of
+ * the form {@code name\tcrc\tsize\ttimestamp} terminated by a line feed where the timestamp is
+ * omitted if timestamps are ignored. Zip64 archives are supported.
+ */
+public class ZipFingerprint {
+	
+	private static final int EOCD_SIGNATURE = 0x06054b50;
+	
+	private static final int EOCD_LENGTH = 22;
+	
+	private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+	
+	private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+	
+	private static final int ZIP64_LOCATOR_LENGTH = 20;
+	
+	private static final int ZIP64_EOCD_SIGNATURE = 0x06064b50;
+	
+	private static final int ZIP64_EOCD_LENGTH = 56;
+	
+	private static final int CEN_SIGNATURE = 0x02014b50;
+	
+	private static final int CEN_HEADER_LENGTH = 46;
+	
+	private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+	
+	private static final String FIELD_SEPARATOR = "\t";
+	
+	/**
+	 * Computes the fingerprint of the specified file from its central directory
+	 *
+	 * @param file the file to fingerprint
+	 * @param ignoreTimestamps specifies whether to leave out the entry timestamps
+	 * @param algorithm the digest algorithm used to hash the entries
+	 * @return the hex encoded fingerprint or null if the file is not a valid zip file
+	 * @throws IOException
+	 */
+	protected static String compute(File file, boolean ignoreTimestamps, DigestAlgorithm algorithm) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer centralDirectory = readCentralDirectory(channel);
+			if (centralDirectory == null) {
+				return null;
+			}
+			
+			List<String> entries = new ArrayList<>();
+			while (centralDirectory.remaining() >= CEN_HEADER_LENGTH) {
+				int start = centralDirectory.position();
+				if (centralDirectory.getInt(start) != CEN_SIGNATURE) {
+					return null;
+				}
+				
+				int time = centralDirectory.getShort(start + 12) & 0xFFFF;
+				int date = centralDirectory.getShort(start + 14) & 0xFFFF;
+				long crc = centralDirectory.getInt(start + 16) & 0xFFFFFFFFL;
+				long size = centralDirectory.getInt(start + 24) & 0xFFFFFFFFL;
+				int nameLength = centralDirectory.getShort(start + 28) & 0xFFFF;
+				int extraLength = centralDirectory.getShort(start + 30) & 0xFFFF;
+				int commentLength = centralDirectory.getShort(start + 32) & 0xFFFF;
+				int end = start + CEN_HEADER_LENGTH + nameLength + extraLength + commentLength;
+				if (end > centralDirectory.limit()) {
+					return null;
+				}
+				
+				byte[] name = new byte[nameLength];
+				centralDirectory.position(start + CEN_HEADER_LENGTH);
+				centralDirectory.get(name);
+				centralDirectory.position(end);
+				String entry = new String(name, StandardCharsets.UTF_8) + FIELD_SEPARATOR + Long.toHexString(crc)
+				        + FIELD_SEPARATOR + size;
+				if (!ignoreTimestamps) {
+					entry += FIELD_SEPARATOR + Integer.toHexString(date << 16 | time);
+				}
+				
+				entries.add(entry);
+			}
+			
+			Collections.sort(entries);
+			DigestAlgorithm.Hasher hasher = algorithm.newHasher();
+			entries.forEach(e -> hasher.update(ByteBuffer.wrap((e + "\n").getBytes(StandardCharsets.UTF_8))));
+			return hasher.hexDigest();
+		}
+	}
+	
+	private static ByteBuffer readCentralDirectory(FileChannel channel) throws IOException {
+		long fileSize = channel.size();
+		if (fileSize < EOCD_LENGTH) {
+			return null;
+		}
+		
+		//The end of central directory record is followed by a comment of variable length
+		int tailLength = (int) Math.min(fileSize, EOCD_LENGTH + MAX_COMMENT_LENGTH);
+		long tailStart = fileSize - tailLength;
+		ByteBuffer tail = read(channel, tailStart, tailLength);
+		int eocd = -1;
+		for (int i = tailLength - EOCD_LENGTH; i >= 0; i--) {
+			if (tail.getInt(i) == EOCD_SIGNATURE) {
+				eocd = i;
+				break;
+			}
+		}
+		
+		if (eocd < 0) {
+			return null;
+		}
+		
+		long size = tail.getInt(eocd + 12) & 0xFFFFFFFFL;
+		long offset = tail.getInt(eocd + 16) & 0xFFFFFFFFL;
+		if (size == ZIP64_MAGIC || offset == ZIP64_MAGIC) {
+			long locatorStart = tailStart + eocd - ZIP64_LOCATOR_LENGTH;
+			if (locatorStart < 0) {
+				return null;
+			}
+			
+			ByteBuffer locator = read(channel, locatorStart, ZIP64_LOCATOR_LENGTH);
+			long zip64EocdStart = locator.getLong(8);
+			if (locator.getInt(0) != ZIP64_LOCATOR_SIGNATURE || zip64EocdStart < 0
+			        || zip64EocdStart + ZIP64_EOCD_LENGTH > fileSize) {
+				return null;
+			}
+			
+			ByteBuffer zip64Eocd = read(channel, zip64EocdStart, ZIP64_EOCD_LENGTH);
+			if (zip64Eocd.getInt(0) != ZIP64_EOCD_SIGNATURE) {
+				return null;
+			}
+			
+			size = zip64Eocd.getLong(40);
+			offset = zip64Eocd.getLong(48);
+		}
+		
+		if (size < 0 || offset < 0 || size > Integer.MAX_VALUE || offset + size > fileSize) {
+			return null;
+		}
+		
+		return read(channel, offset, (int) size);
+	}
+	
+	private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("Unexpected end of zip file");
+			}
+		}
+		
+		buffer.flip();
+		return buffer;
+	}
+	
+}
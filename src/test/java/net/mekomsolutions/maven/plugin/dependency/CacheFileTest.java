@@ -0,0 +1,83 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CacheFileTest {
+	
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+	
+	private CacheFile<Long> createCacheFile(File file) {
+		return new CacheFile<>(file, 1, fields -> Long.parseLong(fields[0]), String::valueOf);
+	}
+	
+	@Test
+	public void read_shouldReturnTheEntriesAndIgnoreCorruptLines() throws Exception {
+		File file = tempFolder.newFile("cache.txt");
+		Files.write(file.toPath(), "1\tkey\twith\ttabs\nabc\tcorrupt\nnoseparator\n2\tother\n".getBytes(UTF_8));
+		
+		Map<String, Long> entries = createCacheFile(file).read();
+		
+		assertEquals(2, entries.size());
+		assertEquals(Long.valueOf(1), entries.get("key\twith\ttabs"));
+		assertEquals(Long.valueOf(2), entries.get("other"));
+	}
+	
+	@Test
+	public void read_shouldReturnNoEntriesIfTheFileDoesNotExist() throws Exception {
+		assertTrue(createCacheFile(new File(tempFolder.getRoot(), "cache.txt")).read().isEmpty());
+	}
+	
+	@Test
+	public void update_shouldWriteTheMergedEntriesInTheirIterationOrder() throws Exception {
+		File file = new File(tempFolder.getRoot(), "dir" + File.separator + "cache.txt");
+		CacheFile<Long> cacheFile = createCacheFile(file);
+		cacheFile.update(current -> {
+			current.put("a", 1L);
+			return current;
+		});
+		
+		cacheFile.update(current -> {
+			Map<String, Long> entries = new LinkedHashMap<>();
+			entries.put("b", 2L);
+			entries.putAll(current);
+			return entries;
+		});
+		
+		assertEquals(Arrays.asList("2\tb", "1\ta"), Files.readAllLines(file.toPath(), UTF_8));
+		String[] names = file.getParentFile().list();
+		Arrays.sort(names);
+		assertEquals(Arrays.asList("cache.txt", "cache.txt.lock"), Arrays.asList(names));
+	}
+	
+	@Test
+	public void getInstance_shouldLoadTheInstanceOnceForTheSameTypeFileAndSetting() throws Exception {
+		File file = new File(tempFolder.getRoot(), "cache.txt");
+		int[] loads = new int[1];
+		CacheFile.Loader<String> loader = f -> {
+			loads[0]++;
+			return new String(f.getName());
+		};
+		
+		String instance = CacheFile.getInstance(String.class, file, 1, loader);
+		
+		assertSame(instance, CacheFile.getInstance(String.class, file, 1, loader));
+		assertNotSame(instance, CacheFile.getInstance(String.class, file, 2, loader));
+		assertEquals(2, loads[0]);
+	}
+	
+}
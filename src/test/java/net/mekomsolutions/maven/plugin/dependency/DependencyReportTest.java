@@ -0,0 +1,165 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import net.mekomsolutions.maven.plugin.dependency.DependencyReport.Entry;
+
+public class DependencyReportTest {
+	
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+	
+	@Test
+	public void add_shouldKeepTheEntriesSortedByKeyAndStoreTheRawDigests() {
+		final String hash = DigestUtils.sha1Hex("data");
+		DependencyReport report = new DependencyReport();
+		report.add("b$b$jar", "2.0", hash);
+		report.add("a$a$jar", "1.0", "not-hex");
+		
+		assertEquals(Arrays.asList("a$a$jar=1.0:not-hex", "b$b$jar=2.0:" + hash), report.toLines());
+		Iterator<Entry> entries = report.getEntries().iterator();
+		assertEquals("not-hex", entries.next().getHash());
+		Entry entry = entries.next();
+		assertEquals(hash, entry.getHash());
+		assertSame("b$b$jar", entry.getKey());
+	}
+	
+	@Test
+	public void read_shouldReadABinaryReportWrittenByWriteBinary() throws Exception {
+		DependencyReport report = new DependencyReport();
+		report.add("a$a$jar", "1.0", DigestUtils.sha1Hex("data-1"));
+		report.add("b$b$jar", "2.0", "not-hex");
+		report.add("c$c$jar", "3.0", DigestUtils.sha256Hex("data-3"));
+		File file = tempFolder.newFile();
+		
+		report.writeBinary(file);
+		
+		assertTrue(DependencyReport.isBinary(file));
+		DependencyReport readReport = DependencyReport.read(file);
+		assertEquals(report.toLines(), readReport.toLines());
+		Entry entry = readReport.getEntries().iterator().next();
+		assertTrue(entry.hasSameHash(report.getEntries().iterator().next()));
+	}
+	
+	@Test
+	public void read_shouldReadATextReport() throws Exception {
+		File file = tempFolder.newFile();
+		Files.write(file.toPath(), Arrays.asList("a$a$jar=1.0:" + DigestUtils.sha1Hex("data"), "", "b$b$jar=2.0"));
+		
+		assertFalse(DependencyReport.isBinary(file));
+		DependencyReport report = DependencyReport.read(file);
+		assertEquals(Arrays.asList("a$a$jar=1.0:" + DigestUtils.sha1Hex("data"), "b$b$jar=2.0"), report.toLines());
+	}
+	
+	@Test
+	public void hasSameHash_shouldCompareTheHashesOfTheEntries() {
+		final String hash = DigestUtils.sha1Hex("data");
+		Entry entry = Entry.parse("a$a$jar=1.0:" + hash);
+		
+		assertTrue(entry.hasSameHash(Entry.parse("a$a$jar=2.0:" + hash)));
+		assertFalse(entry.hasSameHash(Entry.parse("a$a$jar=1.0:" + DigestUtils.sha1Hex("other"))));
+		assertFalse(entry.hasSameHash(Entry.parse("a$a$jar=1.0:not-hex")));
+	}
+	
+	@Test(expected = IOException.class)
+	public void read_shouldFailForATruncatedBinaryReport() throws Exception {
+		DependencyReport report = new DependencyReport();
+		report.add("a$a$jar", "1.0", DigestUtils.sha1Hex("data"));
+		File file = tempFolder.newFile();
+		report.writeBinary(file);
+		byte[] bytes = Files.readAllBytes(file.toPath());
+		Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 5));
+		
+		DependencyReport.read(file);
+	}
+	
+	@Test(expected = IOException.class)
+	public void read_shouldFailForABinaryReportWithOnlyTheMagicBytes() throws Exception {
+		File file = tempFolder.newFile();
+		Files.write(file.toPath(), "DTRB".getBytes());
+		
+		DependencyReport.read(file);
+	}
+	
+	@Test
+	public void read_shouldReleaseTheBinaryReportFile() throws Exception {
+		DependencyReport report = new DependencyReport();
+		report.add("a$a$jar", "1.0", DigestUtils.sha1Hex("data"));
+		File file = tempFolder.newFile();
+		report.writeBinary(file);
+		
+		assertEquals(report.toLines(), DependencyReport.read(file).toLines());
+		
+		assertTrue(file.delete());
+	}
+	
+	@Test
+	public void getDigest_shouldHashTheEntriesInKeyOrderEachTerminatedByALineFeed() {
+		final String hash = DigestUtils.sha1Hex("data");
+		DependencyReport report = new DependencyReport();
+		report.add("b$b$jar", "2.0", hash);
+		report.add("a$a$jar", "1.0", "not-hex");
+		DependencyReport sameReport = new DependencyReport();
+		sameReport.add("a$a$jar", "1.0", "not-hex");
+		sameReport.add("b$b$jar", "2.0", hash);
+		
+		assertEquals(DigestUtils.sha1Hex("a$a$jar=1.0:not-hex\nb$b$jar=2.0:" + hash + "\n"), report.getDigest());
+		assertEquals(report.getDigest(), sameReport.getDigest());
+		sameReport.add("b$b$jar", "2.1", hash);
+		assertFalse(report.getDigest().equals(sameReport.getDigest()));
+	}
+	
+	@Test
+	public void getDigest_shouldExcludeTheDigestProperty() {
+		DependencyReport report = new DependencyReport();
+		report.add("a$a$jar", "1.0", "not-hex");
+		String digest = report.getDigest();
+		
+		report.setProperty(Constants.DIGEST_PROPERTY, digest);
+		
+		assertEquals(digest, report.getDigest());
+		assertEquals(Arrays.asList("#digest=" + digest, "a$a$jar=1.0:not-hex"), report.toLines());
+	}
+	
+	@Test
+	public void read_shouldReadThePropertiesOfATextOrBinaryReport() throws Exception {
+		DependencyReport report = new DependencyReport();
+		report.setProperty("fingerprint", "zip");
+		report.add("a$a$jar", "1.0", DigestUtils.sha1Hex("data"));
+		File textFile = tempFolder.newFile();
+		Files.write(textFile.toPath(), report.toLines());
+		File binaryFile = tempFolder.newFile();
+		report.writeBinary(binaryFile);
+		
+		assertEquals(Arrays.asList("#fingerprint=zip", "a$a$jar=1.0:" + DigestUtils.sha1Hex("data")), report.toLines());
+		assertEquals(report.toLines(), DependencyReport.read(textFile).toLines());
+		assertEquals(report.toLines(), DependencyReport.read(binaryFile).toLines());
+		assertEquals("zip", DependencyReport.read(binaryFile).getProperties().get("fingerprint"));
+	}
+	
+	@Test
+	public void read_shouldIgnoreCommentLinesAfterTheHeader() throws Exception {
+		File file = tempFolder.newFile();
+		Files.write(file.toPath(),
+		    Arrays.asList("#fingerprint=zip", "a$a$jar=1.0:hash1", "#comment=other", "b$b$jar=2.0"));
+		
+		DependencyReport report = DependencyReport.read(file);
+		
+		assertEquals(Arrays.asList("#fingerprint=zip", "a$a$jar=1.0:hash1", "b$b$jar=2.0"), report.toLines());
+	}
+	
+}
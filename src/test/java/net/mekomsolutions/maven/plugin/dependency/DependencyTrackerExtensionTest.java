@@ -0,0 +1,267 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_COMPARE;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_FINGERPRINT;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_HASH_CACHE_FILE;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_HASH_THREADS;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_METRICS;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_REMOTE_REPORT_CACHE_DIR;
+import static org.apache.commons.codec.digest.DigestUtils.sha1Hex;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Future;
+
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
+import org.apache.maven.artifact.repository.MavenArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.plugin.descriptor.PluginDescriptorBuilder;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.impl.MetadataResolver;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+public class DependencyTrackerExtensionTest {
+	
+	private MavenSession session;
+	
+	private ArtifactResolver mockArtifactResolver;
+	
+	private BuildPluginManager mockPluginManager;
+	
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+	
+	private DefaultRepositorySystemSession repoSession = new DefaultRepositorySystemSession();
+	
+	private Properties userProps;
+	
+	private DependencyTrackerExtension extension;
+	
+	@Before
+	public void setup() throws Exception {
+		mockArtifactResolver = Mockito.mock(ArtifactResolver.class);
+		mockPluginManager = Mockito.mock(BuildPluginManager.class);
+		DefaultMavenExecutionRequest request = new DefaultMavenExecutionRequest();
+		request.setLocalRepositoryPath(tempFolder.newFolder("repository"));
+		session = new MavenSession(null, repoSession, request, new DefaultMavenExecutionResult());
+		userProps = session.getUserProperties();
+		MojoDescriptor descriptor;
+		try (Reader reader = new InputStreamReader(
+		        getClass().getClassLoader().getResourceAsStream("META-INF/maven/plugin.xml"), UTF_8)) {
+			descriptor = new PluginDescriptorBuilder().build(reader).getMojo(DependencyTrackerExtension.GOAL);
+		}
+		when(mockPluginManager.getMojoDescriptor(any(), eq(DependencyTrackerExtension.GOAL), any(), any()))
+		        .thenReturn(descriptor);
+		extension = new DependencyTrackerExtension(mockArtifactResolver, Mockito.mock(MetadataResolver.class),
+		        mockPluginManager, Mockito.mock(Logger.class));
+	}
+	
+	private MavenProject createProject(String artifactId, Xpp3Dom configuration, Dependency... dependencies) {
+		Model model = new Model();
+		model.setGroupId("org.openmrs");
+		model.setArtifactId(artifactId);
+		model.setVersion("1.0");
+		model.setDependencies(Arrays.asList(dependencies));
+		Build build = new Build();
+		build.setDirectory(new File(tempFolder.getRoot(), artifactId).getPath());
+		build.setFinalName(artifactId + "-1.0");
+		if (configuration != null) {
+			Plugin plugin = new Plugin();
+			plugin.setGroupId("net.mekomsolutions.maven.plugin");
+			plugin.setArtifactId("dependency-tracker-maven-plugin");
+			plugin.setConfiguration(configuration);
+			build.addPlugin(plugin);
+		}
+		
+		model.setBuild(build);
+		MavenProject project = new MavenProject(model);
+		project.setFile(new File(new File(tempFolder.getRoot(), artifactId), "pom.xml"));
+		project.setArtifact(new DefaultArtifact("org.openmrs", artifactId, "1.0", null, "jar", "", null));
+		return project;
+	}
+	
+	private Dependency createDependency(String groupId, String artifactId, String version) {
+		Dependency dependency = new Dependency();
+		dependency.setGroupId(groupId);
+		dependency.setArtifactId(artifactId);
+		dependency.setVersion(version);
+		return dependency;
+	}
+	
+	private Xpp3Dom createConfiguration(String... nameAndValues) {
+		Xpp3Dom configuration = new Xpp3Dom("configuration");
+		for (int i = 0; i < nameAndValues.length; i += 2) {
+			Xpp3Dom child = new Xpp3Dom(nameAndValues[i]);
+			child.setValue(nameAndValues[i + 1]);
+			configuration.addChild(child);
+		}
+		
+		return configuration;
+	}
+	
+	private void awaitTasks() throws Exception {
+		for (Future<?> task : extension.getTasks()) {
+			task.get();
+		}
+	}
+	
+	@Test
+	public void afterProjectsRead_shouldResolveAndHashTheDeclaredDependenciesInAdvance() throws Exception {
+		final File jar = tempFolder.newFile("slf4j-api-2.0.6.jar");
+		Files.write(jar.toPath(), "slf4j".getBytes(UTF_8));
+		MavenProject api = createProject("api", createConfiguration());
+		MavenProject web = createProject("web", createConfiguration(),
+		    createDependency("org.slf4j", "slf4j-api", "2.0.6"), createDependency("org.openmrs", "api", "1.0"),
+		    createDependency("org.openmrs", "ranged", "[1.0,2.0)"));
+		session.setProjects(Arrays.asList(api, web));
+		when(mockArtifactResolver.resolveArtifacts(any(), anyList())).thenAnswer(invocation -> {
+			List<ArtifactResult> results = new ArrayList<>();
+			for (ArtifactRequest request : invocation.<List<ArtifactRequest>> getArgument(1)) {
+				ArtifactResult result = new ArtifactResult(request);
+				result.setArtifact(request.getArtifact().setFile(jar));
+				results.add(result);
+			}
+			
+			return results;
+		});
+		
+		extension.afterProjectsRead(session);
+		awaitTasks();
+		
+		ArgumentCaptor<List> requestsCaptor = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(mockArtifactResolver).resolveArtifacts(any(), requestsCaptor.capture());
+		List<ArtifactRequest> requests = requestsCaptor.getValue();
+		assertEquals(1, requests.size());
+		assertEquals("org.slf4j:slf4j-api:jar:2.0.6", requests.get(0).getArtifact().toString());
+		String hash = HashMemo.getInstance(repoSession).get(jar, "content:sha1", file -> {
+			throw new AssertionError("The file should not be hashed again");
+		});
+		assertEquals(sha1Hex("slf4j"), hash);
+	}
+	
+	@Test
+	public void afterProjectsRead_shouldPrefetchTheRemoteReportsOfAMultiModuleProject() throws Exception {
+		final File report = tempFolder.newFile("report.txt");
+		MavenProject api = createProject("api", createConfiguration(PROP_COMPARE, "true"));
+		MavenProject web = createProject("web", createConfiguration(PROP_COMPARE, "true"));
+		ArtifactRepositoryPolicy policy = new ArtifactRepositoryPolicy();
+		for (MavenProject project : Arrays.asList(api, web)) {
+			project.setReleaseArtifactRepository(new MavenArtifactRepository("remote", "http://localhost/repo",
+			        new DefaultRepositoryLayout(), policy, policy));
+		}
+		session.setProjects(Arrays.asList(api, web));
+		when(mockArtifactResolver.resolveArtifacts(any(), anyList())).thenAnswer(invocation -> {
+			List<ArtifactResult> results = new ArrayList<>();
+			for (ArtifactRequest request : invocation.<List<ArtifactRequest>> getArgument(1)) {
+				ArtifactResult result = new ArtifactResult(request);
+				if (request.getArtifact().getArtifactId().equals("api")) {
+					result.setArtifact(request.getArtifact().setFile(report));
+				}
+				
+				results.add(result);
+			}
+			
+			return results;
+		});
+		
+		extension.afterProjectsRead(session);
+		awaitTasks();
+		
+		RemoteReportPrefetcher prefetcher = RemoteReportPrefetcher.getInstance(session);
+		assertTrue(prefetcher.isPrefetched(api, Constants.EXT));
+		assertTrue(prefetcher.isPrefetched(web, Constants.EXT));
+		assertEquals(report, prefetcher.getReport(api, Constants.EXT));
+		assertNull(prefetcher.getReport(web, Constants.EXT));
+	}
+	
+	@Test
+	public void afterProjectsRead_shouldNotPlanAnythingIfNoProjectUsesThePlugin() throws Exception {
+		session.setProjects(Collections.singletonList(createProject("api", null)));
+		
+		extension.afterProjectsRead(session);
+		
+		assertTrue(extension.getTasks().isEmpty());
+		Mockito.verifyNoInteractions(mockArtifactResolver);
+	}
+	
+	@Test
+	public void afterProjectsRead_shouldClearTheTasksOfThePreviousSession() throws Exception {
+		session.setProjects(Collections.singletonList(createProject("api", createConfiguration())));
+		extension.afterProjectsRead(session);
+		awaitTasks();
+		assertEquals(1, extension.getTasks().size());
+		
+		extension.afterSessionEnd(session);
+		
+		assertTrue(extension.getTasks().isEmpty());
+		extension.afterProjectsRead(session);
+		assertEquals(1, extension.getTasks().size());
+	}
+	
+	@Test
+	public void getConfiguration_shouldResolveTheOptionsAsMavenWouldConfigureTheGoal() throws Exception {
+		MavenProject project = createProject("api", createConfiguration(PROP_COMPARE, "true", PROP_HASH_THREADS, "2",
+		    PROP_FINGERPRINT, "${tracker.fingerprint}", PROP_REMOTE_REPORT_CACHE_DIR, "reports"));
+		PluginExecution execution = new PluginExecution();
+		execution.setId("track-dependencies");
+		execution.addGoal(DependencyTrackerExtension.GOAL);
+		execution.setConfiguration(createConfiguration(PROP_HASH_THREADS, "4"));
+		project.getPlugin(DependencyTrackerExtension.PLUGIN_KEY).addExecution(execution);
+		project.getProperties().setProperty("tracker.fingerprint", "zip");
+		project.getProperties().setProperty(PROP_METRICS, "true");
+		project.getProperties().setProperty(DependencyTrackerMojo.PROP_DIGEST_ALGORITHM, "sha1");
+		userProps.setProperty(DependencyTrackerMojo.PROP_DIGEST_ALGORITHM, "sha256");
+		
+		DependencyTrackerExtension.MojoConfiguration configuration = extension.getConfiguration(session, project);
+		
+		assertEquals(4, configuration.getInt(PROP_HASH_THREADS));
+		assertTrue(configuration.getBoolean(PROP_COMPARE));
+		assertEquals("zip", configuration.getString(PROP_FINGERPRINT));
+		assertTrue(configuration.getBoolean(PROP_METRICS));
+		assertEquals("sha256", configuration.getString(DependencyTrackerMojo.PROP_DIGEST_ALGORITHM));
+		assertEquals(50000, configuration.getInt(DependencyTrackerMojo.PROP_HASH_CACHE_MAX_ENTRIES));
+		File localRepo = session.getRequest().getLocalRepositoryPath();
+		assertEquals(new File(localRepo, ".dependency-tracker" + File.separator + "hashes.txt").getAbsolutePath(),
+		    configuration.getFile(PROP_HASH_CACHE_FILE).getAbsolutePath());
+		assertEquals(new File(project.getBasedir(), "reports"), configuration.getFile(PROP_REMOTE_REPORT_CACHE_DIR));
+		assertNull(configuration.getString("unknown"));
+	}
+	
+}
@@ -5,26 +5,44 @@ import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.D
 import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.MAX_SUPPORTED_VERSION;
 import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.MIN_SUPPORTED_VERSION;
 import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_COMPARE;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_COMPARE_CHECKSUMS;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_COMPARISON_DETAILS;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_DEPLOY_AT_END;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_DIGEST_ALGORITHM;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_FINGERPRINT;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_HASH_THREADS;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_INCLUDE_TRANSITIVE;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_INCREMENTAL;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_METRICS;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_REMOTE_FAILURE_THRESHOLD;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_REMOTE_REPORT_CACHE;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_REMOTE_REPORT_CACHE_DIR;
 import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_SKIP_IF_NO_CHANGE;
+import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.PROP_SKIP_PER_MODULE;
 import static net.mekomsolutions.maven.plugin.dependency.DependencyTrackerMojo.SYSTEM_PROP_SKIP_DEPLOY;
 import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
-import static org.powermock.reflect.Whitebox.getInternalState;
 
 import java.io.File;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
 import org.apache.maven.model.Plugin;
 import org.apache.maven.plugin.MavenPluginManager;
 import org.apache.maven.plugin.MojoFailureException;
@@ -32,7 +50,9 @@ import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.MavenProjectHelper;
-import org.junit.After;
+import org.eclipse.aether.DefaultSessionData;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.impl.ArtifactResolver;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -79,44 +99,65 @@ public class DependencyTrackerMojoTest {
 	@Mock
 	private PluginDescriptor mockDeployPluginDescriptor;
 	
+	@Mock
+	private RepositorySystemSession mockRepoSysSession;
+	
 	@Before
 	public void setup() {
 		when(mockProject.getPlugin(DEPLOY_PLUGIN_KEY)).thenReturn(mockDeployPlugin);
 		when(mockDeployPlugin.getVersion()).thenReturn("3.1.4");
+		when(mockSession.getRepositorySession()).thenReturn(mockRepoSysSession);
+		when(mockRepoSysSession.getData()).thenReturn(new DefaultSessionData());
+		when(mockSession.getUserProperties()).thenReturn(new Properties());
+		when(mockProject.getGroupId()).thenReturn("org.openmrs");
+		when(mockProject.getArtifactId()).thenReturn("datafilter");
+		when(mockProject.getVersion()).thenReturn("1.0");
 	}
 	
-	@After
-	public void tearDown() {
-		Whitebox.setInternalState(DependencyTrackerMojo.class, "parentBuildDir", (Object) null);
-		Whitebox.setInternalState(DependencyTrackerMojo.class, "parentBuildFileName", (Object) null);
-		Whitebox.setInternalState(DependencyTrackerMojo.class, "moduleCount", (Object) null);
-		Whitebox.setInternalState(DependencyTrackerMojo.class, "projectAndResultMap", (Object) null);
+	private MavenProject mockModule(String artifactId) {
+		MavenProject module = Mockito.mock(MavenProject.class);
+		when(module.getGroupId()).thenReturn("org.openmrs");
+		when(module.getArtifactId()).thenReturn(artifactId);
+		when(module.getVersion()).thenReturn("1.0");
+		return module;
 	}
 	
-	@Test
-	public void execute_shouldGetAndRunTheDependencyTracker() throws Exception {
-		PowerMockito.mockStatic(DependencyTracker.class);
+	private DependencyTrackerMojo createMojo(boolean compare) {
 		DependencyTrackerMojo mojo = new DependencyTrackerMojo();
 		Whitebox.setInternalState(mojo, MavenProject.class, mockProject);
 		Whitebox.setInternalState(mojo, MavenProjectHelper.class, mockProjectHelper);
-		Whitebox.setInternalState(mojo, File.class, mockBuildDir);
+		Whitebox.setInternalState(mojo, "buildDirectory", mockBuildDir);
 		Whitebox.setInternalState(mojo, "buildFileName", TEST_FILE_NAME);
-		Whitebox.setInternalState(mojo, PROP_COMPARE, false);
+		Whitebox.setInternalState(mojo, PROP_COMPARE, compare);
+		Whitebox.setInternalState(mojo, "session", mockSession);
+		Whitebox.setInternalState(mojo, PROP_FINGERPRINT, FingerprintMode.CONTENT.getValue());
+		Whitebox.setInternalState(mojo, PROP_DIGEST_ALGORITHM, DigestAlgorithm.SHA1.getValue());
 		mojo = Mockito.spy(mojo);
 		when(mojo.getLog()).thenReturn(mockLogger);
-		when(DependencyTracker.createInstance(mockProject, mockProjectHelper, null, null, TEST_FILE_NAME, mockBuildDir,
-		    mockLogger)).thenReturn(mockTracker);
+		when(DependencyTracker.createInstance(eq(mockProject), eq(mockProjectHelper), eq(mockSession), any(),
+		    eq(TEST_FILE_NAME), eq(mockBuildDir), eq(mockLogger))).thenReturn(mockTracker);
+		return mojo;
+	}
+	
+	@Test
+	public void execute_shouldGetAndRunTheDependencyTracker() throws Exception {
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(false);
+		Whitebox.setInternalState(mojo, PROP_HASH_THREADS, 4);
+		Whitebox.setInternalState(mojo, PROP_INCREMENTAL, true);
+		Whitebox.setInternalState(mojo, PROP_INCLUDE_TRANSITIVE, true);
 		
 		mojo.execute();
 		
+		Mockito.verify(mockTracker).setHashThreads(4);
+		Mockito.verify(mockTracker).setIncremental(true);
+		Mockito.verify(mockTracker).setIncludeTransitive(true);
+		Mockito.verify(mockTracker).setHashMemo(HashMemo.getInstance(mockRepoSysSession));
 		Mockito.verify(mockTracker).track();
 		Mockito.verify(mockTracker, Mockito.never()).compare(ArgumentMatchers.any(), ArgumentMatchers.any());
-		assertNull(getInternalState(DependencyTrackerMojo.class, "parentBuildDir"));
-		assertNull(getInternalState(DependencyTrackerMojo.class, "parentBuildFileName"));
-		int moduleCount = getInternalState(DependencyTrackerMojo.class, "moduleCount");
-		assertEquals(0, (moduleCount));
-		Map<String, Integer> map = getInternalState(DependencyTrackerMojo.class, "projectAndResultMap");
-		assertEquals(1, map.size());
+		ReactorCoordinator coordinator = ReactorCoordinator.getInstance(mockSession, mockProject, null);
+		assertFalse(coordinator.isMultiModule());
+		assertEquals(0, coordinator.getResult(mockProject).intValue());
 	}
 	
 	@Test
@@ -124,16 +165,8 @@ public class DependencyTrackerMojoTest {
 		final File remoteReportFile = Mockito.mock(File.class);
 		final File buildReportFile = Mockito.mock(File.class);
 		PowerMockito.mockStatic(DependencyTracker.class);
-		DependencyTrackerMojo mojo = new DependencyTrackerMojo();
-		Whitebox.setInternalState(mojo, MavenProject.class, mockProject);
-		Whitebox.setInternalState(mojo, MavenProjectHelper.class, mockProjectHelper);
-		Whitebox.setInternalState(mojo, File.class, mockBuildDir);
-		Whitebox.setInternalState(mojo, "buildFileName", TEST_FILE_NAME);
-		Whitebox.setInternalState(mojo, PROP_COMPARE, true);
-		mojo = Mockito.spy(mojo);
-		when(mojo.getLog()).thenReturn(mockLogger);
-		when(DependencyTracker.createInstance(mockProject, mockProjectHelper, null, null, TEST_FILE_NAME, mockBuildDir,
-		    mockLogger)).thenReturn(mockTracker);
+		DependencyTrackerMojo mojo = createMojo(true);
+		Whitebox.setInternalState(mojo, PROP_COMPARISON_DETAILS, true);
 		when(mockTracker.getRemoteDependencyReport()).thenReturn(remoteReportFile);
 		when(mockTracker.track()).thenReturn(buildReportFile);
 		
@@ -141,102 +174,215 @@ public class DependencyTrackerMojoTest {
 		
 		Mockito.verify(mockTracker).track();
 		Mockito.verify(mockTracker).compare(buildReportFile, remoteReportFile);
+		Mockito.verify(mockTracker).setWriteComparisonDetails(true);
 	}
 	
 	@Test
-	public void execute_shouldCaptureTheParentProjectDetails() throws Exception {
-		final String parentArtifactId = "datafilter";
+	public void execute_shouldFetchTheRemoteReportWhileTheDependenciesAreTracked() throws Exception {
 		final File remoteReportFile = Mockito.mock(File.class);
 		final File buildReportFile = Mockito.mock(File.class);
+		final CountDownLatch trackStarted = new CountDownLatch(1);
 		PowerMockito.mockStatic(DependencyTracker.class);
-		DependencyTrackerMojo mojo = new DependencyTrackerMojo();
-		assertNull(getInternalState(DependencyTrackerMojo.class, "parentBuildDir"));
-		assertNull(getInternalState(DependencyTrackerMojo.class, "parentBuildFileName"));
-		assertNull(getInternalState(DependencyTrackerMojo.class, "moduleCount"));
-		assertNull(getInternalState(DependencyTrackerMojo.class, "projectAndResultMap"));
-		Whitebox.setInternalState(mojo, MavenProject.class, mockProject);
-		Whitebox.setInternalState(mojo, MavenProjectHelper.class, mockProjectHelper);
-		Whitebox.setInternalState(mojo, File.class, mockBuildDir);
-		Whitebox.setInternalState(mojo, "buildFileName", TEST_FILE_NAME);
-		Whitebox.setInternalState(mojo, PROP_COMPARE, true);
-		Whitebox.setInternalState(mojo, "session", mockSession);
-		mojo = Mockito.spy(mojo);
-		when(mojo.getLog()).thenReturn(mockLogger);
-		when(DependencyTracker.createInstance(mockProject, mockProjectHelper, mockSession, null, TEST_FILE_NAME,
-		    mockBuildDir, mockLogger)).thenReturn(mockTracker);
+		DependencyTrackerMojo mojo = createMojo(true);
+		when(mockTracker.getRemoteDependencyReport()).thenAnswer(invocation -> {
+			//Only returns if the dependencies are tracked at the same time
+			assertTrue(trackStarted.await(10, TimeUnit.SECONDS));
+			return remoteReportFile;
+		});
+		when(mockTracker.track()).thenAnswer(invocation -> {
+			trackStarted.countDown();
+			return buildReportFile;
+		});
+		
+		mojo.execute();
+		
+		Mockito.verify(mockTracker).compare(buildReportFile, remoteReportFile);
+	}
+	
+	@Test
+	public void execute_shouldFailIfTheRemoteReportCannotBeFetched() throws Exception {
+		final IllegalStateException exception = new IllegalStateException("test");
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(true);
+		when(mockTracker.getRemoteDependencyReport()).thenThrow(exception);
+		
+		MojoFailureException e = Assert.assertThrows(MojoFailureException.class, () -> mojo.execute());
+		
+		assertEquals(exception, e.getCause());
+		Mockito.verify(mockTracker, Mockito.never()).compare(any(), any());
+	}
+	
+	@Test
+	public void execute_shouldCompareTheChecksumOfTheRemoteReportIfEnabled() throws Exception {
+		final File buildReportFile = Mockito.mock(File.class);
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(true);
+		Whitebox.setInternalState(mojo, PROP_COMPARE_CHECKSUMS, true);
+		Whitebox.setInternalState(mojo, PROP_COMPARISON_DETAILS, false);
+		when(mockTracker.getRemoteDependencyReportChecksum()).thenReturn("checksum");
+		when(mockTracker.track()).thenReturn(buildReportFile);
+		when(mockTracker.compareChecksum(buildReportFile, "checksum")).thenReturn(0);
+		
+		mojo.execute();
+		
+		Mockito.verify(mockTracker, Mockito.never()).getRemoteDependencyReport();
+		Mockito.verify(mockTracker, Mockito.never()).compare(ArgumentMatchers.any(), ArgumentMatchers.any());
+		ReactorCoordinator coordinator = ReactorCoordinator.getInstance(mockSession, mockProject, null);
+		assertEquals(0, coordinator.getResult(mockProject).intValue());
+	}
+	
+	@Test
+	public void execute_shouldDownloadTheRemoteReportIfTheRemoteChecksumIsNotFound() throws Exception {
+		final File remoteReportFile = Mockito.mock(File.class);
+		final File buildReportFile = Mockito.mock(File.class);
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(true);
+		Whitebox.setInternalState(mojo, PROP_COMPARE_CHECKSUMS, true);
+		Whitebox.setInternalState(mojo, PROP_COMPARISON_DETAILS, false);
 		when(mockTracker.getRemoteDependencyReport()).thenReturn(remoteReportFile);
 		when(mockTracker.track()).thenReturn(buildReportFile);
-		when(mockProject.getModules()).thenReturn(Arrays.asList("api", "web"));
-		final Integer comparisonResult = -1;
-		when(mockTracker.compare(buildReportFile, remoteReportFile)).thenReturn(comparisonResult);
-		when(mockProject.getArtifactId()).thenReturn(parentArtifactId);
-		when(mockSession.getUserProperties()).thenReturn(new Properties());
 		
 		mojo.execute();
 		
-		Assert.assertEquals(mockBuildDir, getInternalState(DependencyTrackerMojo.class, "parentBuildDir"));
-		Assert.assertEquals(TEST_FILE_NAME, getInternalState(DependencyTrackerMojo.class, "parentBuildFileName"));
-		Assert.assertEquals(2, (int) getInternalState(DependencyTrackerMojo.class, "moduleCount"));
+		Mockito.verify(mockTracker).getRemoteDependencyReportChecksum();
+		Mockito.verify(mockTracker).compare(buildReportFile, remoteReportFile);
 	}
 	
 	@Test
-	public void execute_shouldNotCaptureTheParentProjectDetailsIfCompareIsNotEnabled() throws Exception {
+	public void execute_shouldDownloadTheRemoteReportIfTheChecksumsDifferAndComparisonDetailsAreEnabled()
+	        throws Exception {
 		final File remoteReportFile = Mockito.mock(File.class);
 		final File buildReportFile = Mockito.mock(File.class);
 		PowerMockito.mockStatic(DependencyTracker.class);
-		DependencyTrackerMojo mojo = new DependencyTrackerMojo();
-		assertNull(getInternalState(DependencyTrackerMojo.class, "parentBuildDir"));
-		assertNull(getInternalState(DependencyTrackerMojo.class, "parentBuildFileName"));
-		assertNull(getInternalState(DependencyTrackerMojo.class, "moduleCount"));
-		assertNull(getInternalState(DependencyTrackerMojo.class, "projectAndResultMap"));
-		Whitebox.setInternalState(mojo, MavenProject.class, mockProject);
-		Whitebox.setInternalState(mojo, MavenProjectHelper.class, mockProjectHelper);
-		Whitebox.setInternalState(mojo, File.class, mockBuildDir);
-		Whitebox.setInternalState(mojo, "buildFileName", TEST_FILE_NAME);
-		Whitebox.setInternalState(mojo, PROP_COMPARE, false);
-		mojo = Mockito.spy(mojo);
-		when(mojo.getLog()).thenReturn(mockLogger);
-		when(DependencyTracker.createInstance(mockProject, mockProjectHelper, null, null, TEST_FILE_NAME, mockBuildDir,
-		    mockLogger)).thenReturn(mockTracker);
+		DependencyTrackerMojo mojo = createMojo(true);
+		Whitebox.setInternalState(mojo, PROP_COMPARE_CHECKSUMS, true);
+		Whitebox.setInternalState(mojo, PROP_COMPARISON_DETAILS, true);
+		when(mockTracker.getRemoteDependencyReportChecksum()).thenReturn("checksum");
 		when(mockTracker.getRemoteDependencyReport()).thenReturn(remoteReportFile);
 		when(mockTracker.track()).thenReturn(buildReportFile);
-		when(mockProject.getModules()).thenReturn(Arrays.asList("api", "web"));
+		when(mockTracker.matchesChecksum(buildReportFile, "checksum")).thenReturn(false);
+		
+		mojo.execute();
+		
+		Mockito.verify(mockTracker).setWriteComparisonDetails(true);
+		Mockito.verify(mockTracker).compare(buildReportFile, remoteReportFile);
+		Mockito.verify(mockTracker, Mockito.never()).compareChecksum(ArgumentMatchers.any(), ArgumentMatchers.any());
+	}
+	
+	@Test
+	public void execute_shouldNotDownloadTheRemoteReportIfTheChecksumsMatchAndComparisonDetailsAreEnabled()
+	        throws Exception {
+		final File buildReportFile = Mockito.mock(File.class);
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(true);
+		Whitebox.setInternalState(mojo, PROP_COMPARE_CHECKSUMS, true);
+		Whitebox.setInternalState(mojo, PROP_COMPARISON_DETAILS, true);
+		when(mockTracker.getRemoteDependencyReportChecksum()).thenReturn("checksum");
+		when(mockTracker.track()).thenReturn(buildReportFile);
+		when(mockTracker.matchesChecksum(buildReportFile, "checksum")).thenReturn(true);
+		when(mockTracker.compareChecksum(buildReportFile, "checksum")).thenReturn(0);
+		
+		mojo.execute();
+		
+		Mockito.verify(mockTracker, Mockito.never()).getRemoteDependencyReport();
+		Mockito.verify(mockTracker).compareChecksum(buildReportFile, "checksum");
+		ReactorCoordinator coordinator = ReactorCoordinator.getInstance(mockSession, mockProject, null);
+		assertEquals(0, coordinator.getResult(mockProject).intValue());
+	}
+	
+	@Test
+	public void execute_shouldFetchTheRemoteReportThroughTheCacheIfEnabled() throws Exception {
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(true);
+		Whitebox.setInternalState(mojo, PROP_REMOTE_REPORT_CACHE, true);
+		Whitebox.setInternalState(mojo, PROP_REMOTE_REPORT_CACHE_DIR, new File("target"));
 		
 		mojo.execute();
 		
-		assertNull(getInternalState(DependencyTrackerMojo.class, "parentBuildDir"));
-		assertNull(getInternalState(DependencyTrackerMojo.class, "parentBuildFileName"));
-		Assert.assertEquals(2, (int) getInternalState(DependencyTrackerMojo.class, "moduleCount"));
+		Mockito.verify(mockTracker).getRemoteDependencyReport();
+		Mockito.verify(mockTracker).track();
+		ArgumentCaptor<ArtifactResolver> captor = ArgumentCaptor.forClass(ArtifactResolver.class);
+		PowerMockito.verifyStatic(DependencyTracker.class);
+		DependencyTracker.createInstance(eq(mockProject), eq(mockProjectHelper), eq(mockSession), captor.capture(),
+		    eq(TEST_FILE_NAME), eq(mockBuildDir), eq(mockLogger));
+		assertTrue(captor.getValue() instanceof RemoteLookupGuard);
+		assertTrue(Whitebox.getInternalState(captor.getValue(), "delegate") instanceof RemoteReportCache);
+	}
+	
+	@Test
+	public void execute_shouldLogTheSummaryOfTheFailedRemoteLookupsAfterTheLastModule() throws Exception {
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(true);
+		Whitebox.setInternalState(mojo, PROP_REMOTE_FAILURE_THRESHOLD, 1);
+		RemoteCircuitBreaker circuitBreaker = RemoteCircuitBreaker.getInstance(mockRepoSysSession, 1);
+		when(mockTracker.getRemoteDependencyReport()).thenAnswer(invocation -> {
+			circuitBreaker.recordFailure(1);
+			return null;
+		});
+		when(mockTracker.compare(any(), any())).thenReturn(-2);
+		
+		mojo.execute();
+		
+		Mockito.verify(mockLogger)
+		        .warn("Remote dependency report lookups -> 1 failed, 0 skipped after 1 consecutive failures");
+	}
+	
+	@Test
+	public void execute_shouldNotAggregateTheResultsBeforeAllTheReactorProjectsAreTracked() throws Exception {
+		final File remoteReportFile = Mockito.mock(File.class);
+		final File buildReportFile = Mockito.mock(File.class);
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(true);
+		when(mockTracker.getRemoteDependencyReport()).thenReturn(remoteReportFile);
+		when(mockTracker.track()).thenReturn(buildReportFile);
+		when(mockTracker.compare(buildReportFile, remoteReportFile)).thenReturn(-1);
+		List<MavenProject> projects = Arrays.asList(mockProject, mockModule("api"), mockModule("web"));
+		when(mockSession.getProjects()).thenReturn(projects);
+		when(mockSession.getUserProperties()).thenReturn(new Properties());
+		
+		mojo.execute();
+		
+		Mockito.verify(mockTracker, Mockito.never()).aggregateDependencyReports(anyCollection());
+		ReactorCoordinator coordinator = ReactorCoordinator.getInstance(mockSession, mockProject, null);
+		assertTrue(coordinator.isMultiModule());
+		assertEquals(-1, coordinator.getResult(mockProject).intValue());
+	}
+	
+	@Test
+	public void execute_shouldNotAggregateTheResultsIfCompareIsNotEnabled() throws Exception {
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(false);
+		MavenProject parent = mockModule("datafilter");
+		when(mockProject.getArtifactId()).thenReturn("web");
+		when(mockSession.getProjects()).thenReturn(Arrays.asList(parent, mockProject));
+		ReactorCoordinator.getInstance(mockSession, mockProject, null).addResult(parent, 0);
+		
+		mojo.execute();
+		
+		Mockito.verify(mockTracker, Mockito.never()).aggregateDependencyReports(anyCollection());
+		Mockito.verify(mockTracker, Mockito.never()).saveAggregatedArtifact(any(), any(), any());
 	}
 	
 	@Test
 	public void execute_shouldAggregateComparisonResultsDuringExecutionOfTheLastModule() throws Exception {
-		final String artifactId = "web";
 		final File remoteReportFile = Mockito.mock(File.class);
 		final File buildReportFile = Mockito.mock(File.class);
+		final File parentBuildDir = new File("target");
 		PowerMockito.mockStatic(DependencyTracker.class);
-		DependencyTrackerMojo mojo = new DependencyTrackerMojo();
-		Whitebox.setInternalState(mojo, MavenProject.class, mockProject);
-		Whitebox.setInternalState(mojo, MavenProjectHelper.class, mockProjectHelper);
-		Whitebox.setInternalState(mojo, File.class, mockBuildDir);
-		Whitebox.setInternalState(mojo, "buildFileName", TEST_FILE_NAME);
-		Whitebox.setInternalState(mojo, PROP_COMPARE, true);
-		Whitebox.setInternalState(mojo, "session", mockSession);
-		mojo = Mockito.spy(mojo);
-		when(mojo.getLog()).thenReturn(mockLogger);
-		when(DependencyTracker.createInstance(mockProject, mockProjectHelper, mockSession, null, TEST_FILE_NAME,
-		    mockBuildDir, mockLogger)).thenReturn(mockTracker);
+		DependencyTrackerMojo mojo = createMojo(true);
 		when(mockTracker.getRemoteDependencyReport()).thenReturn(remoteReportFile);
 		when(mockTracker.track()).thenReturn(buildReportFile);
-		when(mockProject.getModules()).thenReturn(Arrays.asList("api", artifactId));
-		Whitebox.setInternalState(DependencyTrackerMojo.class, "moduleCount", 2);
-		Whitebox.setInternalState(DependencyTrackerMojo.class, "parentBuildDir", mockBuildDir);
-		Whitebox.setInternalState(DependencyTrackerMojo.class, "parentBuildFileName", TEST_FILE_NAME);
-		Map<String, Integer> results = new HashMap<>();
-		results.put("datafilter", 0);
-		results.put("api", 0);
-		Whitebox.setInternalState(DependencyTrackerMojo.class, "projectAndResultMap", results);
-		when(mockProject.getArtifactId()).thenReturn(artifactId);
+		MavenProject parent = mockModule("datafilter");
+		Build parentBuild = new Build();
+		parentBuild.setDirectory(parentBuildDir.getPath());
+		parentBuild.setFinalName("datafilter-1.0");
+		when(parent.getBuild()).thenReturn(parentBuild);
+		MavenProject api = mockModule("api");
+		when(mockProject.getArtifactId()).thenReturn("web");
+		when(mockSession.getProjects()).thenReturn(Arrays.asList(parent, api, mockProject));
+		ReactorCoordinator coordinator = ReactorCoordinator.getInstance(mockSession, mockProject, null);
+		coordinator.addResult(parent, 0);
+		coordinator.addResult(api, 0);
 		final Integer expectedAggregatedResult = 1;
 		when(mockTracker.compare(buildReportFile, remoteReportFile)).thenReturn(1);
 		when(mockTracker.aggregateDependencyReports(anyCollection())).thenReturn(expectedAggregatedResult);
@@ -244,7 +390,7 @@ public class DependencyTrackerMojoTest {
 		
 		mojo.execute();
 		
-		Mockito.verify(mockTracker).saveAggregatedArtifact(mockBuildDir, TEST_FILE_NAME, 1);
+		Mockito.verify(mockTracker).saveAggregatedArtifact(parentBuildDir, "datafilter-1.0", 1);
 		ArgumentCaptor<Collection> resultsCaptor = ArgumentCaptor.forClass(Collection.class);
 		Mockito.verify(mockTracker).aggregateDependencyReports(resultsCaptor.capture());
 		Collection<Integer> actualResults = resultsCaptor.getValue();
@@ -253,6 +399,159 @@ public class DependencyTrackerMojoTest {
 		Assert.assertTrue(actualResults.contains(1));
 	}
 	
+	@Test
+	public void execute_shouldSaveTheReactorDigestDuringExecutionOfTheLastModule() throws Exception {
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(false);
+		when(mockTracker.getReportDigest()).thenReturn("digest2");
+		MavenProject parent = mockModule("datafilter");
+		when(mockProject.getArtifactId()).thenReturn("web");
+		when(mockSession.getProjects()).thenReturn(Arrays.asList(parent, mockProject));
+		ReactorCoordinator coordinator = ReactorCoordinator.getInstance(mockSession, mockProject, null);
+		coordinator.addDigest(parent, "digest1");
+		coordinator.addResult(parent, 0);
+		
+		mojo.execute();
+		
+		Map<String, String> expectedDigests = new LinkedHashMap<>();
+		expectedDigests.put(ReactorCoordinator.getKey(parent), "digest1");
+		expectedDigests.put(ReactorCoordinator.getKey(mockProject), "digest2");
+		Mockito.verify(mockTracker).saveReactorDigestArtifact(parent, coordinator.getRootDigest(), expectedDigests);
+		Mockito.verify(mockLogger).info("The reactor dependency digest artifact is only deployed if the deploy plugin's "
+		        + "deployAtEnd option is enabled, the module reports still contain their digest");
+	}
+	
+	@Test
+	public void execute_shouldSaveTheMetricsAndLogTheReactorSummaryDuringExecutionOfTheLastModule() throws Exception {
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(false);
+		Whitebox.setInternalState(mojo, PROP_METRICS, true);
+		MavenProject parent = mockModule("datafilter");
+		when(mockProject.getArtifactId()).thenReturn("web");
+		when(mockSession.getProjects()).thenReturn(Arrays.asList(parent, mockProject));
+		ReactorCoordinator coordinator = ReactorCoordinator.getInstance(mockSession, mockProject, null);
+		TrackerMetrics parentMetrics = new TrackerMetrics();
+		coordinator.addMetrics(parent, parentMetrics);
+		coordinator.addResult(parent, 0);
+		
+		mojo.execute();
+		
+		ArgumentCaptor<TrackerMetrics> metricsCaptor = ArgumentCaptor.forClass(TrackerMetrics.class);
+		Mockito.verify(mockTracker).setMetrics(metricsCaptor.capture());
+		Mockito.verify(mockTracker).saveMetricsFile();
+		Map<String, TrackerMetrics> metrics = coordinator.getMetrics();
+		assertEquals(Arrays.asList(parentMetrics, metricsCaptor.getValue()), Arrays.asList(metrics.values().toArray()));
+		Mockito.verify(mockLogger).info("Dependency tracker reactor summary:");
+		for (String line : TrackerMetrics.createSummary(metrics)) {
+			Mockito.verify(mockLogger).info(line);
+		}
+	}
+	
+	@Test
+	public void execute_shouldNotSaveTheMetricsIfDisabled() throws Exception {
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(false);
+		Whitebox.setInternalState(mojo, PROP_METRICS, false);
+		
+		mojo.execute();
+		
+		Mockito.verify(mockTracker, Mockito.never()).saveMetricsFile();
+	}
+	
+	@Test
+	public void execute_shouldPrefetchTheRemoteReportsForAMultiModuleProject() throws Exception {
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(true);
+		List<MavenProject> projects = Arrays.asList(mockProject, mockModule("api"), mockModule("web"));
+		when(mockSession.getProjects()).thenReturn(projects);
+		when(mockSession.getUserProperties()).thenReturn(new Properties());
+		
+		mojo.execute();
+		
+		RemoteReportPrefetcher prefetcher = RemoteReportPrefetcher.getInstance(mockSession);
+		Mockito.verify(mockTracker).setRemoteReportPrefetcher(prefetcher);
+		Mockito.verify(mockTracker).getRemoteDependencyReport();
+	}
+	
+	@Test
+	public void execute_shouldTrackModulesWithTheSameArtifactIdSeparately() throws Exception {
+		final File remoteReportFile = Mockito.mock(File.class);
+		final File buildReportFile = Mockito.mock(File.class);
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(true);
+		when(mockTracker.getRemoteDependencyReport()).thenReturn(remoteReportFile);
+		when(mockTracker.track()).thenReturn(buildReportFile);
+		MavenProject otherApi = mockModule("api");
+		when(otherApi.getGroupId()).thenReturn("org.openmrs.other");
+		when(mockProject.getArtifactId()).thenReturn("api");
+		List<MavenProject> projects = Arrays.asList(mockModule("datafilter"), mockProject, otherApi);
+		when(mockSession.getProjects()).thenReturn(projects);
+		when(mockSession.getUserProperties()).thenReturn(new Properties());
+		
+		mojo.execute();
+		
+		Mockito.verify(mockTracker, Mockito.never()).aggregateDependencyReports(anyCollection());
+	}
+	
+	@Test
+	public void execute_shouldSetThePluginVersion() throws Exception {
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(false);
+		PluginDescriptor pluginDescriptor = new PluginDescriptor();
+		pluginDescriptor.setVersion("1.2.0");
+		Whitebox.setInternalState(mojo, "pluginDescriptor", pluginDescriptor);
+		
+		mojo.execute();
+		
+		Mockito.verify(mockTracker).setPluginVersion("1.2.0");
+	}
+	
+	@Test
+	public void execute_shouldSetTheFingerprintMode() throws Exception {
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(false);
+		Whitebox.setInternalState(mojo, PROP_FINGERPRINT, "zip-ignore-timestamps");
+		
+		mojo.execute();
+		
+		Mockito.verify(mockTracker).setFingerprintMode(FingerprintMode.ZIP_IGNORE_TIMESTAMPS);
+	}
+	
+	@Test
+	public void execute_shouldFailForAnUnsupportedFingerprintMode() throws Exception {
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(false);
+		Whitebox.setInternalState(mojo, PROP_FINGERPRINT, "md5");
+		
+		MojoFailureException e = Assert.assertThrows(MojoFailureException.class, () -> mojo.execute());
+		
+		Assert.assertEquals("Unsupported dependency fingerprint mode: md5", e.getMessage());
+		Mockito.verify(mockTracker, Mockito.never()).track();
+	}
+	
+	@Test
+	public void execute_shouldSetTheDigestAlgorithm() throws Exception {
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(false);
+		Whitebox.setInternalState(mojo, PROP_DIGEST_ALGORITHM, "xxhash64");
+		
+		mojo.execute();
+		
+		Mockito.verify(mockTracker).setDigestAlgorithm(DigestAlgorithm.XXHASH64);
+	}
+	
+	@Test
+	public void execute_shouldFailForAnUnsupportedDigestAlgorithm() throws Exception {
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(false);
+		Whitebox.setInternalState(mojo, PROP_DIGEST_ALGORITHM, "md5");
+		
+		MojoFailureException e = Assert.assertThrows(MojoFailureException.class, () -> mojo.execute());
+		
+		Assert.assertEquals("Unsupported digest algorithm: md5", e.getMessage());
+		Mockito.verify(mockTracker, Mockito.never()).track();
+	}
+	
 	@Test
 	public void execute_shouldFailForAnOlderUnSupportedDeployPluginVersion() throws Exception {
 		final String version = "2.8.4";
@@ -261,6 +560,7 @@ public class DependencyTrackerMojoTest {
 		when(mockDeployPlugin.getVersion()).thenReturn(version);
 		Whitebox.setInternalState(mojo, MavenProject.class, mockProject);
 		Whitebox.setInternalState(mojo, PROP_COMPARE, true);
+		Whitebox.setInternalState(mojo, "session", mockSession);
 		
 		MojoFailureException e = Assert.assertThrows(MojoFailureException.class, () -> mojo.execute());
 		
@@ -277,6 +577,7 @@ public class DependencyTrackerMojoTest {
 		when(mockDeployPlugin.getVersion()).thenReturn(version);
 		Whitebox.setInternalState(mojo, MavenProject.class, mockProject);
 		Whitebox.setInternalState(mojo, PROP_COMPARE, true);
+		Whitebox.setInternalState(mojo, "session", mockSession);
 		
 		MojoFailureException e = Assert.assertThrows(MojoFailureException.class, () -> mojo.execute());
 		
@@ -285,6 +586,22 @@ public class DependencyTrackerMojoTest {
 		Assert.assertEquals(msg, e.getMessage());
 	}
 	
+	@Test
+	public void execute_shouldCheckTheDeployPluginOnlyOnceForTheReactor() throws Exception {
+		DependencyTrackerMojo mojo = Mockito.spy(new DependencyTrackerMojo());
+		when(mojo.getLog()).thenReturn(mockLogger);
+		when(mockDeployPlugin.getVersion()).thenReturn("2.8.4");
+		Whitebox.setInternalState(mojo, MavenProject.class, mockProject);
+		Whitebox.setInternalState(mojo, PROP_COMPARE, true);
+		Whitebox.setInternalState(mojo, "session", mockSession);
+		
+		MojoFailureException e1 = Assert.assertThrows(MojoFailureException.class, () -> mojo.execute());
+		MojoFailureException e2 = Assert.assertThrows(MojoFailureException.class, () -> mojo.execute());
+		
+		Assert.assertEquals(e1.getMessage(), e2.getMessage());
+		Mockito.verify(mockDeployPlugin).getVersion();
+	}
+	
 	@Test
 	public void execute_shouldSkipDeployIfThereAreNoDependencyChangesAndSkipIsEnabled() throws Exception {
 		final String artifactId = "datafilter";
@@ -298,23 +615,24 @@ public class DependencyTrackerMojoTest {
 		DependencyTrackerMojo mojo = new DependencyTrackerMojo();
 		Whitebox.setInternalState(mojo, MavenProject.class, mockProject);
 		Whitebox.setInternalState(mojo, MavenProjectHelper.class, mockProjectHelper);
-		Whitebox.setInternalState(mojo, File.class, mockBuildDir);
+		Whitebox.setInternalState(mojo, "buildDirectory", mockBuildDir);
 		Whitebox.setInternalState(mojo, PROP_COMPARE, true);
 		Whitebox.setInternalState(mojo, PROP_SKIP_IF_NO_CHANGE, true);
 		Whitebox.setInternalState(mojo, "session", mockSession);
+		Whitebox.setInternalState(mojo, PROP_FINGERPRINT, FingerprintMode.CONTENT.getValue());
+		Whitebox.setInternalState(mojo, PROP_DIGEST_ALGORITHM, DigestAlgorithm.SHA1.getValue());
 		Whitebox.setInternalState(mojo, "pluginManager", mockPluginManager);
 		mojo = Mockito.spy(mojo);
 		when(mojo.getLog()).thenReturn(mockLogger);
-		when(DependencyTracker.createInstance(mockProject, mockProjectHelper, mockSession, null, null, mockBuildDir,
-		    mockLogger)).thenReturn(mockTracker);
+		when(DependencyTracker.createInstance(eq(mockProject), eq(mockProjectHelper), eq(mockSession), any(), eq(null),
+		    eq(mockBuildDir), eq(mockLogger))).thenReturn(mockTracker);
 		when(mockTracker.getRemoteDependencyReport()).thenReturn(remoteReportFile);
 		when(mockTracker.track()).thenReturn(buildReportFile);
 		when(mockProject.getArtifactId()).thenReturn(artifactId);
-		when(mockProject.getModules()).thenReturn(Collections.emptyList());
 		when(mockTracker.compare(buildReportFile, remoteReportFile)).thenReturn(0);
 		when(mockSession.getUserProperties()).thenReturn(userProps);
 		when(mockSession.getProjects()).thenReturn(Collections.singletonList(mockProject));
-		when(mockPluginManager.getPluginDescriptor(eq(mockDeployPlugin), anyList(), isNull()))
+		when(mockPluginManager.getPluginDescriptor(eq(mockDeployPlugin), anyList(), eq(mockRepoSysSession)))
 		        .thenReturn(mockDeployPluginDescriptor);
 		when(mockSession.getPluginContext(mockDeployPluginDescriptor, mockProject)).thenReturn(deployPluginContext);
 		
@@ -324,6 +642,53 @@ public class DependencyTrackerMojoTest {
 		Assert.assertEquals("SKIPPED", deployPluginContext.get(CTX_KEY_DEPLOY_STATE));
 	}
 	
+	@Test
+	public void execute_shouldOnlySkipDeployOfTheUnchangedModulesIfSkipPerModuleIsEnabled() throws Exception {
+		final Properties userProps = new Properties();
+		userProps.setProperty(PROP_DEPLOY_AT_END, "true");
+		final File remoteReportFile = Mockito.mock(File.class);
+		final File buildReportFile = Mockito.mock(File.class);
+		PowerMockito.mockStatic(DependencyTracker.class);
+		DependencyTrackerMojo mojo = createMojo(true);
+		Whitebox.setInternalState(mojo, PROP_SKIP_IF_NO_CHANGE, true);
+		Whitebox.setInternalState(mojo, PROP_SKIP_PER_MODULE, true);
+		Whitebox.setInternalState(mojo, "pluginManager", mockPluginManager);
+		when(mockTracker.getRemoteDependencyReport()).thenReturn(remoteReportFile);
+		when(mockTracker.track()).thenReturn(buildReportFile);
+		when(mockTracker.compare(buildReportFile, remoteReportFile)).thenReturn(0);
+		when(mockTracker.aggregateDependencyReports(anyCollection())).thenReturn(1);
+		MavenProject parent = mockModule("datafilter");
+		Build parentBuild = new Build();
+		parentBuild.setDirectory("target");
+		when(parent.getBuild()).thenReturn(parentBuild);
+		MavenProject api = mockModule("api");
+		when(mockProject.getArtifactId()).thenReturn("web");
+		Map<MavenProject, Map<String, Object>> projectAndContext = new LinkedHashMap<>();
+		for (MavenProject p : Arrays.asList(parent, api, mockProject)) {
+			Map<String, Object> deployPluginContext = new HashMap<>();
+			deployPluginContext.put(CTX_KEY_DEPLOY_STATE, "TO_BE_DEPLOYED");
+			projectAndContext.put(p, deployPluginContext);
+			when(p.getProperties()).thenReturn(new Properties());
+			when(mockSession.getPluginContext(mockDeployPluginDescriptor, p)).thenReturn(deployPluginContext);
+		}
+		when(mockSession.getProjects()).thenReturn(Arrays.asList(parent, api, mockProject));
+		when(mockSession.getUserProperties()).thenReturn(userProps);
+		when(mockPluginManager.getPluginDescriptor(eq(mockDeployPlugin), anyList(), eq(mockRepoSysSession)))
+		        .thenReturn(mockDeployPluginDescriptor);
+		ReactorCoordinator coordinator = ReactorCoordinator.getInstance(mockSession, mockProject, null);
+		coordinator.addResult(parent, 0);
+		coordinator.addResult(api, 1);
+		
+		mojo.execute();
+		
+		assertFalse(userProps.containsKey(SYSTEM_PROP_SKIP_DEPLOY));
+		assertEquals("SKIPPED", projectAndContext.get(parent).get(CTX_KEY_DEPLOY_STATE));
+		assertEquals("TO_BE_DEPLOYED", projectAndContext.get(api).get(CTX_KEY_DEPLOY_STATE));
+		assertEquals("SKIPPED", projectAndContext.get(mockProject).get(CTX_KEY_DEPLOY_STATE));
+		assertEquals("true", mockProject.getProperties().getProperty(SYSTEM_PROP_SKIP_DEPLOY));
+		assertFalse(api.getProperties().containsKey(SYSTEM_PROP_SKIP_DEPLOY));
+	}
+	
 	@Test
 	public void execute_shouldDeployIfThereAreNoDependencyChangesAndSkipIsNotEnabled() throws Exception {
 		final String artifactId = "datafilter";
@@ -338,17 +703,19 @@ public class DependencyTrackerMojoTest {
 		DependencyTrackerMojo mojo = new DependencyTrackerMojo();
 		Whitebox.setInternalState(mojo, MavenProject.class, mockProject);
 		Whitebox.setInternalState(mojo, MavenProjectHelper.class, mockProjectHelper);
-		Whitebox.setInternalState(mojo, File.class, mockBuildDir);
+		Whitebox.setInternalState(mojo, "buildDirectory", mockBuildDir);
 		Whitebox.setInternalState(mojo, PROP_COMPARE, true);
 		Whitebox.setInternalState(mojo, PROP_SKIP_IF_NO_CHANGE, false);
+		Whitebox.setInternalState(mojo, "session", mockSession);
+		Whitebox.setInternalState(mojo, PROP_FINGERPRINT, FingerprintMode.CONTENT.getValue());
+		Whitebox.setInternalState(mojo, PROP_DIGEST_ALGORITHM, DigestAlgorithm.SHA1.getValue());
 		mojo = Mockito.spy(mojo);
 		when(mojo.getLog()).thenReturn(mockLogger);
-		when(DependencyTracker.createInstance(mockProject, mockProjectHelper, null, null, null, mockBuildDir, mockLogger))
-		        .thenReturn(mockTracker);
+		when(DependencyTracker.createInstance(eq(mockProject), eq(mockProjectHelper), eq(mockSession), any(), eq(null),
+		    eq(mockBuildDir), eq(mockLogger))).thenReturn(mockTracker);
 		when(mockTracker.getRemoteDependencyReport()).thenReturn(remoteReportFile);
 		when(mockTracker.track()).thenReturn(buildReportFile);
 		when(mockProject.getArtifactId()).thenReturn(artifactId);
-		when(mockProject.getModules()).thenReturn(Collections.emptyList());
 		when(mockTracker.compare(buildReportFile, remoteReportFile)).thenReturn(0);
 		when(mockSession.getUserProperties()).thenReturn(userProps);
 		
@@ -366,7 +733,10 @@ public class DependencyTrackerMojoTest {
 		Whitebox.setInternalState(mojo, PROP_COMPARE, true);
 		Whitebox.setInternalState(mojo, PROP_SKIP_IF_NO_CHANGE, true);
 		Whitebox.setInternalState(mojo, "session", mockSession);
-		when(mockProject.getModules()).thenReturn(Arrays.asList("api", "web"));
+		Whitebox.setInternalState(mojo, PROP_FINGERPRINT, FingerprintMode.CONTENT.getValue());
+		Whitebox.setInternalState(mojo, PROP_DIGEST_ALGORITHM, DigestAlgorithm.SHA1.getValue());
+		List<MavenProject> projects = Arrays.asList(mockProject, mockModule("api"), mockModule("web"));
+		when(mockSession.getProjects()).thenReturn(projects);
 		when(mockSession.getUserProperties()).thenReturn(new Properties());
 		
 		MojoFailureException e = Assert.assertThrows(MojoFailureException.class, () -> mojo.execute());
@@ -2,46 +2,70 @@ package net.mekomsolutions.maven.plugin.dependency;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static net.mekomsolutions.maven.plugin.dependency.Constants.ARTIFACT_SUFFIX;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.BINARY_ARTIFACT_SUFFIX;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.BINARY_EXT;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.CHECKSUM_EXT;
 import static net.mekomsolutions.maven.plugin.dependency.Constants.CLASSIFIER;
 import static net.mekomsolutions.maven.plugin.dependency.Constants.COMPARE_ARTIFACT_SUFFIX;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.COMPARE_DETAILS_ARTIFACT_SUFFIX;
 import static net.mekomsolutions.maven.plugin.dependency.Constants.EXT;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.FINGERPRINT_FILE_SUFFIX;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.KEY_SEPARATOR_DOLLAR;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.METRICS_FILE_SUFFIX;
 import static net.mekomsolutions.maven.plugin.dependency.Constants.OUTPUT_SEPARATOR;
 import static net.mekomsolutions.maven.plugin.dependency.Constants.SEPARATOR_COLON;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.TREE_ARTIFACT_SUFFIX;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.TREE_CLASSIFIER;
 import static net.mekomsolutions.maven.plugin.dependency.DependencyTracker.createInstance;
 import static org.apache.commons.codec.digest.DigestUtils.sha1Hex;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.apache.maven.RepositoryUtils;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.MavenProjectHelper;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.repository.LocalRepository;
 import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
 import org.eclipse.aether.resolution.ArtifactRequest;
 import org.eclipse.aether.resolution.ArtifactResolutionException;
 import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.transfer.ArtifactTransferException;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
@@ -54,6 +78,8 @@ public class DependencyTrackerTest {
 	
 	private static final String TEST_FILE_NAME = "test-1.0";
 	
+	private static final String HASH_TYPE = "content:sha1";
+	
 	private DependencyTracker tracker;
 	
 	@Mock
@@ -80,6 +106,15 @@ public class DependencyTrackerTest {
 	@Mock
 	private RepositorySystemSession mockRepoSysSession;
 	
+	@Mock
+	private HashCache mockHashCache;
+	
+	@Mock
+	private HashMemo mockHashMemo;
+	
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+	
 	@Before
 	public void setup() {
 		PowerMockito.mockStatic(Utils.class);
@@ -88,11 +123,24 @@ public class DependencyTrackerTest {
 		    mockBuildDir, mockLogger);
 	}
 	
+	private DependencyReport createDependencyReport() {
+		DependencyReport report = new DependencyReport();
+		report.add("dependency1", "1.0", "hash1");
+		report.add("dependency2", "1.0", "hash2");
+		return report;
+	}
+	
+	private File createReport(String name, String... lines) throws Exception {
+		File report = tempFolder.newFile(name);
+		Files.write(report.toPath(), Arrays.asList(lines));
+		return report;
+	}
+	
 	@Test
 	public void track_shouldPrepareDependenceDetailsAndSaveTheArtifact() throws Exception {
 		final File mockFile = Mockito.mock(File.class);
 		tracker = Mockito.spy(tracker);
-		List<String> testDependencies = Arrays.asList("dependency1=hash1", "dependency2=hash2");
+		DependencyReport testDependencies = createDependencyReport();
 		AtomicInteger preparedInvocations = new AtomicInteger();
 		Mockito.doAnswer(invocation -> {
 			preparedInvocations.incrementAndGet();
@@ -110,7 +158,7 @@ public class DependencyTrackerTest {
 	public void track_shouldNotFailForAProjectWithPomPackagingAndTheBuildDirectoryDoesNotExist() throws Exception {
 		final File mockFile = Mockito.mock(File.class);
 		tracker = Mockito.spy(tracker);
-		List<String> testDependencies = Arrays.asList("dependency1=hash1");
+		DependencyReport testDependencies = createDependencyReport();
 		Mockito.doReturn(testDependencies).when(tracker).prepareDependencyArtifact();
 		Mockito.doReturn(mockFile).when(tracker).saveDependencyArtifact(testDependencies);
 		Mockito.when(mockProject.getPackaging()).thenReturn("pom");
@@ -119,6 +167,69 @@ public class DependencyTrackerTest {
 		Mockito.verify(mockBuildDir).mkdir();
 	}
 	
+	@Test
+	public void track_shouldReuseThePreviousReportIfTheInputFingerprintMatches() throws Exception {
+		final File dependencyFile = tempFolder.newFile("dependency.jar");
+		Artifact artifact = new DefaultArtifact("org.openmrs", "api", "1.0", null, "jar", "", null);
+		artifact.setFile(dependencyFile);
+		when(mockProject.getDependencyArtifacts()).thenReturn(Collections.singleton(artifact));
+		when(Utils.createFileKey(dependencyFile)).thenReturn("key1");
+		File reportFile = createReport("report.txt", "org.openmrs$api$jar=1.0:hash1");
+		reportFile.setLastModified(System.currentTimeMillis() - 60000);
+		File fingerprintFile = tempFolder.newFile("report.fingerprint");
+		when(Utils.instantiateFile(mockBuildDir, TEST_FILE_NAME + ARTIFACT_SUFFIX)).thenReturn(reportFile);
+		when(Utils.instantiateFile(mockBuildDir, TEST_FILE_NAME + FINGERPRINT_FILE_SUFFIX)).thenReturn(fingerprintFile);
+		tracker.setIncremental(true);
+		Files.write(fingerprintFile.toPath(), tracker.createInputFingerprint().getBytes(UTF_8));
+		
+		assertEquals(reportFile, tracker.track());
+		
+		assertEquals(DependencyReport.read(reportFile).getDigest(), tracker.getReportDigest());
+		Mockito.verify(mockProjectHelper).attachArtifact(mockProject, EXT, CLASSIFIER, reportFile);
+		PowerMockito.verifyStatic(Utils.class, Mockito.never());
+		Utils.hashHex(dependencyFile, DigestAlgorithm.SHA1);
+		PowerMockito.verifyStatic(Utils.class, Mockito.never());
+		Utils.writeToFile(any(), any());
+	}
+	
+	@Test
+	public void track_shouldRegenerateTheReportIfTheDependencyFilesHaveChanged() throws Exception {
+		final File dependencyFile = tempFolder.newFile("dependency.jar");
+		Artifact artifact = new DefaultArtifact("org.openmrs", "api", "1.0", null, "jar", "", null);
+		artifact.setFile(dependencyFile);
+		when(mockProject.getDependencyArtifacts()).thenReturn(Collections.singleton(artifact));
+		when(Utils.createFileKey(dependencyFile)).thenReturn("key1");
+		File reportFile = createReport("report.txt", "org.openmrs$api$jar=1.0:hash1");
+		reportFile.setLastModified(System.currentTimeMillis() - 60000);
+		File fingerprintFile = tempFolder.newFile("report.fingerprint");
+		when(Utils.instantiateFile(mockBuildDir, TEST_FILE_NAME + ARTIFACT_SUFFIX)).thenReturn(reportFile);
+		when(Utils.instantiateFile(mockBuildDir, TEST_FILE_NAME + FINGERPRINT_FILE_SUFFIX)).thenReturn(fingerprintFile);
+		when(Utils.hashHex(dependencyFile, DigestAlgorithm.SHA1)).thenReturn("hash2");
+		tracker.setIncremental(true);
+		Files.write(fingerprintFile.toPath(), tracker.createInputFingerprint().getBytes(UTF_8));
+		when(Utils.createFileKey(dependencyFile)).thenReturn("key2");
+		final String fingerprint = tracker.createInputFingerprint();
+		
+		assertEquals(reportFile, tracker.track());
+		
+		PowerMockito.verifyStatic(Utils.class);
+		Utils.writeToFile(reportFile, Arrays.asList("#digest=" + sha1Hex("org.openmrs$api$jar=1.0:hash2\n"),
+		    "org.openmrs$api$jar=1.0:hash2"));
+		PowerMockito.verifyStatic(Utils.class);
+		Utils.writeBytesToFile(fingerprintFile, fingerprint.getBytes(UTF_8));
+	}
+	
+	@Test
+	public void createInputFingerprint_shouldChangeWithThePluginVersion() throws Exception {
+		when(mockProject.getDependencyArtifacts()).thenReturn(Collections.emptySet());
+		tracker.setPluginVersion("1.0");
+		final String fingerprint = tracker.createInputFingerprint();
+		
+		tracker.setPluginVersion("1.1");
+		
+		Assert.assertNotEquals(fingerprint, tracker.createInputFingerprint());
+	}
+	
 	@Test
 	public void prepareDependencyArtifact_shouldGetTheProjectDependenciesSortedAlphabeticallyByKey() throws Exception {
 		final String groupId1 = "groupId-1";
@@ -150,35 +261,372 @@ public class DependencyTrackerTest {
 		artifacts.add(a2);
 		artifacts.add(a3);
 		when(mockProject.getDependencyArtifacts()).thenReturn(artifacts);
-		when(Utils.readFile(mockDependencyFile1)).thenReturn(data1.getBytes(UTF_8));
-		when(Utils.readFile(mockDependencyFile2)).thenReturn(data2.getBytes(UTF_8));
-		when(Utils.readFile(mockDependencyFile3)).thenReturn(data3.getBytes(UTF_8));
+		when(Utils.hashHex(mockDependencyFile1, DigestAlgorithm.SHA1)).thenReturn(sha1Hex(data1.getBytes(UTF_8)));
+		when(Utils.hashHex(mockDependencyFile2, DigestAlgorithm.SHA1)).thenReturn(sha1Hex(data2.getBytes(UTF_8)));
+		when(Utils.hashHex(mockDependencyFile3, DigestAlgorithm.SHA1)).thenReturn(sha1Hex(data3.getBytes(UTF_8)));
 		
-		List<String> lines = tracker.prepareDependencyArtifact();
+		List<String> lines = tracker.prepareDependencyArtifact().toLines();
 		
 		assertEquals(3, lines.size());
-		assertEquals(a3.getDependencyConflictId() + OUTPUT_SEPARATOR + a3.getBaseVersion() + SEPARATOR_COLON
-		        + sha1Hex(data3.getBytes(UTF_8)),
+		assertEquals(a3.getDependencyConflictId().replace(SEPARATOR_COLON, KEY_SEPARATOR_DOLLAR) + OUTPUT_SEPARATOR
+		        + a3.getBaseVersion() + SEPARATOR_COLON + sha1Hex(data3.getBytes(UTF_8)),
 		    lines.get(0));
-		assertEquals(a1.getDependencyConflictId() + OUTPUT_SEPARATOR + a1.getBaseVersion() + SEPARATOR_COLON
-		        + sha1Hex(data1.getBytes(UTF_8)),
+		assertEquals(a1.getDependencyConflictId().replace(SEPARATOR_COLON, KEY_SEPARATOR_DOLLAR) + OUTPUT_SEPARATOR
+		        + a1.getBaseVersion() + SEPARATOR_COLON + sha1Hex(data1.getBytes(UTF_8)),
 		    lines.get(1));
-		assertEquals(a2.getDependencyConflictId() + OUTPUT_SEPARATOR + a2.getBaseVersion() + SEPARATOR_COLON
-		        + sha1Hex(data2.getBytes(UTF_8)),
+		assertEquals(a2.getDependencyConflictId().replace(SEPARATOR_COLON, KEY_SEPARATOR_DOLLAR) + OUTPUT_SEPARATOR
+		        + a2.getBaseVersion() + SEPARATOR_COLON + sha1Hex(data2.getBytes(UTF_8)),
 		    lines.get(2));
 	}
 	
+	@Test
+	public void prepareDependencyArtifact_shouldIncludeTransitiveDependenciesIfEnabled() throws Exception {
+		final File mockDependencyFile1 = Mockito.mock(File.class);
+		final File mockDependencyFile2 = Mockito.mock(File.class);
+		Artifact a1 = new DefaultArtifact("groupId-1", "artifactId-1", "version-1", null, "jar", "", null);
+		a1.setFile(mockDependencyFile1);
+		Artifact a2 = new DefaultArtifact("groupId-2", "artifactId-2", "version-2", null, "jar", "", null);
+		a2.setFile(mockDependencyFile2);
+		when(mockProject.getDependencyArtifacts()).thenReturn(Collections.singleton(a1));
+		when(mockProject.getArtifacts()).thenReturn(new HashSet<>(Arrays.asList(a1, a2)));
+		when(Utils.hashHex(mockDependencyFile1, DigestAlgorithm.SHA1)).thenReturn("hash1");
+		when(Utils.hashHex(mockDependencyFile2, DigestAlgorithm.SHA1)).thenReturn("hash2");
+		assertEquals(Collections.singletonList("groupId-1$artifactId-1$jar=version-1:hash1"),
+		    tracker.prepareDependencyArtifact().toLines());
+		tracker.setIncludeTransitive(true);
+		
+		List<String> lines = tracker.prepareDependencyArtifact().toLines();
+		
+		assertEquals(2, lines.size());
+		assertEquals("groupId-1$artifactId-1$jar=version-1:hash1", lines.get(0));
+		assertEquals("groupId-2$artifactId-2$jar=version-2:hash2", lines.get(1));
+	}
+	
+	@Test
+	public void prepareDependencyArtifact_shouldFingerprintZipFilesFromTheirCentralDirectory() throws Exception {
+		final File jarFile = tempFolder.newFile("test.jar");
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jarFile.toPath()))) {
+			out.putNextEntry(new ZipEntry("test.txt"));
+			out.write("data".getBytes(UTF_8));
+		}
+		final File pomFile = createReport("test.pom", "<project/>");
+		Artifact jar = new DefaultArtifact("groupId-1", "artifactId-1", "version-1", null, "jar", "", null);
+		jar.setFile(jarFile);
+		Artifact pom = new DefaultArtifact("groupId-2", "artifactId-2", "version-2", null, "pom", "", null);
+		pom.setFile(pomFile);
+		when(mockProject.getDependencyArtifacts()).thenReturn(new HashSet<>(Arrays.asList(jar, pom)));
+		when(Utils.hashHex(pomFile, DigestAlgorithm.SHA1)).thenReturn("pom-hash");
+		tracker.setFingerprintMode(FingerprintMode.ZIP);
+		
+		List<String> lines = tracker.prepareDependencyArtifact().toLines();
+		
+		assertEquals(3, lines.size());
+		assertEquals("#fingerprint=zip", lines.get(0));
+		final String fingerprint = ZipFingerprint.compute(jarFile, false, DigestAlgorithm.SHA1);
+		assertEquals("groupId-1$artifactId-1$jar=version-1:" + fingerprint, lines.get(1));
+		assertEquals("groupId-2$artifactId-2$pom=version-2:pom-hash", lines.get(2));
+		PowerMockito.verifyStatic(Utils.class, Mockito.never());
+		Utils.hashHex(jarFile, DigestAlgorithm.SHA1);
+	}
+	
+	@Test
+	public void prepareDependencyArtifact_shouldOnlyHashTheResolvedVersionAndTheFileSizeInMetadataMode()
+	        throws Exception {
+		final File mockDependencyFile = Mockito.mock(File.class);
+		when(mockDependencyFile.length()).thenReturn(2048L);
+		Artifact a = new DefaultArtifact("groupId-1", "artifactId-1", "1.0-SNAPSHOT", null, "jar", "", null);
+		a.setResolvedVersion("1.0-20240101.120000-3");
+		a.setFile(mockDependencyFile);
+		when(mockProject.getDependencyArtifacts()).thenReturn(Collections.singleton(a));
+		tracker.setFingerprintMode(FingerprintMode.METADATA);
+		tracker.setHashMemo(mockHashMemo);
+		
+		List<String> lines = tracker.prepareDependencyArtifact().toLines();
+		
+		String expectedHash = sha1Hex("1.0-20240101.120000-3:2048");
+		assertEquals(Arrays.asList("#fingerprint=metadata", "groupId-1$artifactId-1$jar=1.0-SNAPSHOT:" + expectedHash),
+		    lines);
+		assertEquals(0, tracker.getMetrics().getFilesHashed());
+		Mockito.verifyZeroInteractions(mockHashMemo);
+		PowerMockito.verifyStatic(Utils.class, Mockito.never());
+		Utils.hashHex(any(), any());
+	}
+	
+	@Test
+	public void prepareDependencyArtifact_shouldHashTheContentsOfASnapshotThatIsNotTimestampedInMetadataMode()
+	        throws Exception {
+		final File mockDependencyFile = Mockito.mock(File.class);
+		when(mockDependencyFile.length()).thenReturn(2048L);
+		Artifact a = new DefaultArtifact("groupId-1", "artifactId-1", "1.0-SNAPSHOT", null, "jar", "", null);
+		a.setFile(mockDependencyFile);
+		when(mockProject.getDependencyArtifacts()).thenReturn(Collections.singleton(a));
+		when(Utils.hashHex(mockDependencyFile, DigestAlgorithm.SHA1)).thenReturn("content-hash");
+		tracker.setFingerprintMode(FingerprintMode.METADATA);
+		
+		List<String> lines = tracker.prepareDependencyArtifact().toLines();
+		
+		assertEquals(Arrays.asList("#fingerprint=metadata", "groupId-1$artifactId-1$jar=1.0-SNAPSHOT:content-hash"),
+		    lines);
+		assertEquals(1, tracker.getMetrics().getFilesHashed());
+	}
+	
+	@Test
+	public void prepareDependencyArtifact_shouldHashTheFilesWithTheSpecifiedDigestAlgorithm() throws Exception {
+		final File mockDependencyFile = Mockito.mock(File.class);
+		Artifact a = new DefaultArtifact("groupId-1", "artifactId-1", "version-1", null, "jar", "", null);
+		a.setFile(mockDependencyFile);
+		when(mockProject.getDependencyArtifacts()).thenReturn(Collections.singleton(a));
+		when(Utils.hashHex(mockDependencyFile, DigestAlgorithm.XXHASH64)).thenReturn("fast-hash");
+		tracker.setDigestAlgorithm(DigestAlgorithm.XXHASH64);
+		
+		List<String> lines = tracker.prepareDependencyArtifact().toLines();
+		
+		assertEquals(Arrays.asList("#algorithm=xxhash64", "groupId-1$artifactId-1$jar=version-1:fast-hash"), lines);
+		assertEquals(1, tracker.getMetrics().getFilesHashed());
+		PowerMockito.verifyStatic(Utils.class, Mockito.never());
+		Utils.hashHex(mockDependencyFile, DigestAlgorithm.SHA1);
+	}
+	
+	@Test
+	public void prepareDependencyArtifact_shouldHashDirectoriesFromTheFilesInTheTree() throws Exception {
+		File classesDir = tempFolder.newFolder("classes");
+		File classFile = new File(classesDir, "org/openmrs/A.class");
+		classFile.getParentFile().mkdirs();
+		Files.write(classFile.toPath(), "class-a".getBytes(UTF_8));
+		File propertiesFile = new File(classesDir, "B.properties");
+		Files.write(propertiesFile.toPath(), "b=1".getBytes(UTF_8));
+		new File(classesDir, "empty").mkdir();
+		Artifact a = new DefaultArtifact("groupId-1", "artifactId-1", "version-1", null, "jar", "", null);
+		a.setFile(classesDir);
+		when(mockProject.getDependencyArtifacts()).thenReturn(Collections.singleton(a));
+		when(Utils.hashHex(classFile, DigestAlgorithm.SHA1)).thenReturn("hash-a");
+		when(Utils.hashHex(propertiesFile, DigestAlgorithm.SHA1)).thenReturn("hash-b");
+		tracker.setFingerprintMode(FingerprintMode.ZIP);
+		
+		List<String> lines = tracker.prepareDependencyArtifact().toLines();
+		
+		String expectedHash = sha1Hex("B.properties\thash-b\norg/openmrs/A.class\thash-a\n");
+		assertEquals(Arrays.asList("#fingerprint=zip", "groupId-1$artifactId-1$jar=version-1:" + expectedHash), lines);
+		assertEquals(2, tracker.getMetrics().getFilesHashed());
+	}
+	
+	@Test
+	public void prepareDependencyArtifact_shouldNotAddTheFilesOfDirectoriesToTheHashCache() throws Exception {
+		File classesDir = tempFolder.newFolder("classes");
+		File classFile = new File(classesDir, "A.class");
+		Files.write(classFile.toPath(), "class-a".getBytes(UTF_8));
+		Artifact a = new DefaultArtifact("groupId-1", "artifactId-1", "version-1", null, "jar", "", null);
+		a.setFile(classesDir);
+		when(mockProject.getDependencyArtifacts()).thenReturn(Collections.singleton(a));
+		when(Utils.hashHex(classFile, DigestAlgorithm.SHA1)).thenReturn("hash-a");
+		File cacheFile = new File(tempFolder.getRoot(), "hashes.txt");
+		HashCache cache = HashCache.load(cacheFile, 10);
+		tracker.setHashCache(cache);
+		
+		tracker.prepareDependencyArtifact();
+		cache.save();
+		
+		assertNull(cache.get(classFile, HASH_TYPE));
+		assertFalse(cacheFile.exists());
+		assertEquals(1, tracker.getMetrics().getFilesHashed());
+	}
+	
+	@Test
+	public void prepareDependencyArtifact_shouldHashInParallelAndProduceTheSameSortedOutput() throws Exception {
+		Set<Artifact> artifacts = new HashSet<>();
+		for (int i = 0; i < 20; i++) {
+			final File mockDependencyFile = Mockito.mock(File.class);
+			Artifact a = new DefaultArtifact("groupId-" + i, "artifactId-" + i, "version-" + i, null, "jar", "", null);
+			a.setFile(mockDependencyFile);
+			artifacts.add(a);
+			when(Utils.hashHex(mockDependencyFile, DigestAlgorithm.SHA1)).thenReturn(sha1Hex("data-" + i));
+		}
+		when(mockProject.getDependencyArtifacts()).thenReturn(artifacts);
+		List<String> expectedLines = tracker.prepareDependencyArtifact().toLines();
+		tracker.setHashThreads(4);
+		
+		List<String> lines = tracker.prepareDependencyArtifact().toLines();
+		
+		assertEquals(20, lines.size());
+		assertEquals(expectedLines, lines);
+		assertEquals("groupId-0$artifactId-0$jar=version-0:" + sha1Hex("data-0"), lines.get(0));
+		assertEquals("groupId-9$artifactId-9$jar=version-9:" + sha1Hex("data-9"), lines.get(19));
+	}
+	
+	@Test
+	public void prepareDependencyArtifact_shouldNotHashTheFilesOfDirectoriesWithMoreThreadsThanConfigured()
+	        throws Exception {
+		Set<Artifact> artifacts = new HashSet<>();
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		for (int i = 0; i < 2; i++) {
+			File classesDir = tempFolder.newFolder("classes-" + i);
+			for (int j = 0; j < 8; j++) {
+				File classFile = new File(classesDir, "A" + j + ".class");
+				Files.write(classFile.toPath(), ("class-" + j).getBytes(UTF_8));
+				when(Utils.hashHex(classFile, DigestAlgorithm.SHA1)).thenAnswer(invocation -> {
+					threads.add(Thread.currentThread());
+					Thread.sleep(10);
+					return "hash";
+				});
+			}
+			
+			Artifact a = new DefaultArtifact("groupId-" + i, "artifactId-" + i, "version-" + i, null, "jar", "", null);
+			a.setFile(classesDir);
+			artifacts.add(a);
+		}
+		when(mockProject.getDependencyArtifacts()).thenReturn(artifacts);
+		tracker.setHashThreads(2);
+		
+		assertEquals(2, tracker.prepareDependencyArtifact().toLines().size());
+		
+		assertTrue(threads.size() <= 2);
+	}
+	
+	@Test
+	public void prepareDependencyArtifact_shouldUseTheCachedHashesAndCacheNewOnes() throws Exception {
+		final File mockDependencyFile1 = Mockito.mock(File.class);
+		final File mockDependencyFile2 = Mockito.mock(File.class);
+		Artifact a1 = new DefaultArtifact("groupId-1", "artifactId-1", "version-1", null, "jar", "", null);
+		a1.setFile(mockDependencyFile1);
+		Artifact a2 = new DefaultArtifact("groupId-2", "artifactId-2", "version-2", null, "jar", "", null);
+		a2.setFile(mockDependencyFile2);
+		when(mockProject.getDependencyArtifacts()).thenReturn(new HashSet<>(Arrays.asList(a1, a2)));
+		when(mockHashCache.get(mockDependencyFile1, HASH_TYPE)).thenReturn("cached-hash");
+		when(Utils.hashHex(mockDependencyFile2, DigestAlgorithm.SHA1)).thenReturn("computed-hash");
+		tracker.setHashCache(mockHashCache);
+		
+		List<String> lines = tracker.prepareDependencyArtifact().toLines();
+		
+		assertEquals("groupId-1$artifactId-1$jar=version-1:cached-hash", lines.get(0));
+		assertEquals("groupId-2$artifactId-2$jar=version-2:computed-hash", lines.get(1));
+		PowerMockito.verifyStatic(Utils.class, Mockito.never());
+		Utils.hashHex(mockDependencyFile1, DigestAlgorithm.SHA1);
+		Mockito.verify(mockHashCache).put(mockDependencyFile2, HASH_TYPE, "computed-hash");
+	}
+	
+	@Test
+	public void prepareDependencyArtifact_shouldUseTheRepositoryChecksumsForLocalRepositoryFiles() throws Exception {
+		final File localRepoDir = new File("repository");
+		final File dependencyFile1 = new File(localRepoDir, "groupId-1/artifactId-1/version-1/artifactId-1.jar");
+		final File dependencyFile2 = new File("reactor/target/artifactId-2.jar");
+		Artifact a1 = new DefaultArtifact("groupId-1", "artifactId-1", "version-1", null, "jar", "", null);
+		a1.setFile(dependencyFile1);
+		Artifact a2 = new DefaultArtifact("groupId-2", "artifactId-2", "version-2", null, "jar", "", null);
+		a2.setFile(dependencyFile2);
+		when(mockProject.getDependencyArtifacts()).thenReturn(new HashSet<>(Arrays.asList(a1, a2)));
+		when(mockSession.getRepositorySession()).thenReturn(mockRepoSysSession);
+		when(mockRepoSysSession.getLocalRepository()).thenReturn(new LocalRepository(localRepoDir));
+		when(Utils.readSha1Checksum(dependencyFile1)).thenReturn("repo-hash");
+		when(Utils.readSha1Checksum(dependencyFile2)).thenReturn("untrusted-hash");
+		when(Utils.hashHex(dependencyFile2, DigestAlgorithm.SHA1)).thenReturn("computed-hash");
+		tracker.setUseRepositoryChecksums(true);
+		
+		List<String> lines = tracker.prepareDependencyArtifact().toLines();
+		
+		assertEquals("groupId-1$artifactId-1$jar=version-1:repo-hash", lines.get(0));
+		assertEquals("groupId-2$artifactId-2$jar=version-2:computed-hash", lines.get(1));
+		PowerMockito.verifyStatic(Utils.class, Mockito.never());
+		Utils.hashHex(dependencyFile1, DigestAlgorithm.SHA1);
+	}
+	
+	@Test
+	public void prepareDependencyArtifact_shouldHashTheFileIfItHasNoTrustedRepositoryChecksum() throws Exception {
+		final File localRepoDir = new File("repository");
+		final File dependencyFile = new File(localRepoDir, "groupId-1/artifactId-1/version-1/artifactId-1.jar");
+		Artifact a = new DefaultArtifact("groupId-1", "artifactId-1", "version-1", null, "jar", "", null);
+		a.setFile(dependencyFile);
+		when(mockProject.getDependencyArtifacts()).thenReturn(Collections.singleton(a));
+		when(mockSession.getRepositorySession()).thenReturn(mockRepoSysSession);
+		when(mockRepoSysSession.getLocalRepository()).thenReturn(new LocalRepository(localRepoDir));
+		when(Utils.hashHex(dependencyFile, DigestAlgorithm.SHA1)).thenReturn("computed-hash");
+		tracker.setUseRepositoryChecksums(true);
+		
+		List<String> lines = tracker.prepareDependencyArtifact().toLines();
+		
+		assertEquals("groupId-1$artifactId-1$jar=version-1:computed-hash", lines.get(0));
+	}
+	
+	@Test
+	public void prepareDependencyArtifact_shouldGetTheHashesFromTheReactorMemo() throws Exception {
+		final File mockDependencyFile = Mockito.mock(File.class);
+		Artifact a = new DefaultArtifact("groupId-1", "artifactId-1", "version-1", null, "jar", "", null);
+		a.setFile(mockDependencyFile);
+		when(mockProject.getDependencyArtifacts()).thenReturn(Collections.singleton(a));
+		when(mockHashMemo.get(eq(mockDependencyFile), eq(HASH_TYPE),
+		    any(HashMemo.FileHasher.class))).thenReturn("memo-hash");
+		tracker.setHashMemo(mockHashMemo);
+		
+		List<String> lines = tracker.prepareDependencyArtifact().toLines();
+		
+		assertEquals("groupId-1$artifactId-1$jar=version-1:memo-hash", lines.get(0));
+		PowerMockito.verifyStatic(Utils.class, Mockito.never());
+		Utils.hashHex(mockDependencyFile, DigestAlgorithm.SHA1);
+	}
+	
 	@Test
 	public void saveDependencyArtifact_shouldSaveTheDependencyArtifactToTheBuildDirectory() throws Exception {
 		final File artifactFile = Mockito.mock(File.class);
-		List<String> testDependencies = Arrays.asList("dependency1=hash1", "dependency2=hash2");
+		DependencyReport testDependencies = createDependencyReport();
 		when(Utils.instantiateFile(mockBuildDir, TEST_FILE_NAME + ARTIFACT_SUFFIX)).thenReturn(artifactFile);
 		
-		tracker.saveDependencyArtifact(testDependencies);
+		assertEquals(artifactFile, tracker.saveDependencyArtifact(testDependencies));
 		
 		PowerMockito.verifyStatic(Utils.class);
-		Utils.writeToFile(artifactFile, testDependencies);
+		Utils.writeToFile(artifactFile, Arrays.asList("dependency1=1.0:hash1", "dependency2=1.0:hash2"));
+		Mockito.verify(mockProjectHelper).attachArtifact(mockProject, EXT, CLASSIFIER, artifactFile);
+	}
+	
+	@Test
+	public void saveDependencyArtifact_shouldAlsoSaveTheBinaryReportIfEnabled() throws Exception {
+		final File artifactFile = Mockito.mock(File.class);
+		final File binaryFile = tempFolder.newFile("test.bin");
+		DependencyReport testDependencies = createDependencyReport();
+		when(Utils.instantiateFile(mockBuildDir, TEST_FILE_NAME + ARTIFACT_SUFFIX)).thenReturn(artifactFile);
+		when(Utils.instantiateFile(mockBuildDir, TEST_FILE_NAME + BINARY_ARTIFACT_SUFFIX)).thenReturn(binaryFile);
+		tracker.setBinaryReport(true);
+		
+		assertEquals(binaryFile, tracker.saveDependencyArtifact(testDependencies));
+		
 		Mockito.verify(mockProjectHelper).attachArtifact(mockProject, EXT, CLASSIFIER, artifactFile);
+		Mockito.verify(mockProjectHelper).attachArtifact(mockProject, BINARY_EXT, CLASSIFIER, binaryFile);
+		assertEquals(testDependencies.toLines(), DependencyReport.read(binaryFile).toLines());
+	}
+	
+	@Test
+	public void saveReactorDigestArtifact_shouldSaveTheDigestsToTheAggregatorBuildDirectory() throws Exception {
+		final File artifactFile = Mockito.mock(File.class);
+		final File parentBuildDir = new File("target");
+		MavenProject parent = Mockito.mock(MavenProject.class);
+		Build parentBuild = new Build();
+		parentBuild.setDirectory(parentBuildDir.getPath());
+		parentBuild.setFinalName("parent-1.0");
+		when(parent.getBuild()).thenReturn(parentBuild);
+		when(Utils.instantiateFile(parentBuildDir, "parent-1.0" + TREE_ARTIFACT_SUFFIX)).thenReturn(artifactFile);
+		Map<String, String> digests = new LinkedHashMap<>();
+		digests.put("org.openmrs:api:1.0", "digest1");
+		digests.put("org.openmrs:web:1.0", "digest2");
+		
+		tracker.saveReactorDigestArtifact(parent, "root-digest", digests);
+		
+		PowerMockito.verifyStatic(Utils.class);
+		Utils.writeToFile(artifactFile,
+		    Arrays.asList("root=root-digest", "org.openmrs:api:1.0=digest1", "org.openmrs:web:1.0=digest2"));
+		Mockito.verify(mockProjectHelper).attachArtifact(parent, EXT, TREE_CLASSIFIER, artifactFile);
+	}
+	
+	@Test
+	public void saveMetricsFile_shouldSaveTheMetricsAsJsonToTheBuildDirectory() throws Exception {
+		final File metricsFile = Mockito.mock(File.class);
+		when(mockProject.getGroupId()).thenReturn("org.openmrs");
+		when(mockProject.getArtifactId()).thenReturn("api");
+		when(mockProject.getVersion()).thenReturn("1.0");
+		when(Utils.instantiateFile(mockBuildDir, TEST_FILE_NAME + METRICS_FILE_SUFFIX)).thenReturn(metricsFile);
+		tracker.getMetrics().addFileHashed(100, 1000);
+		
+		tracker.saveMetricsFile();
+		
+		PowerMockito.verifyStatic(Utils.class);
+		Utils.writeBytesToFile(metricsFile, tracker.getMetrics().toJson("org.openmrs:api:1.0").getBytes(UTF_8));
 	}
 	
 	@Test
@@ -227,13 +675,138 @@ public class DependencyTrackerTest {
 		Mockito.verify(mockLogger).info("No remote dependency report found");
 	}
 	
+	@Test
+	public void compare_shouldReturnNegativeTwoIfTheRemoteReportCouldNotBeFetched() throws Exception {
+		RemoteRepository remoteAetherRepo = new RemoteRepository.Builder(null, null, null).build();
+		when(mockProject.getDistributionManagementArtifactRepository()).thenReturn(mockRemoteRepo);
+		when(RepositoryUtils.toRepo(mockRemoteRepo)).thenReturn(remoteAetherRepo);
+		when(mockSession.getRepositorySession()).thenReturn(mockRepoSysSession);
+		ArtifactResult failedResult = new ArtifactResult(new ArtifactRequest());
+		failedResult.addException(new ArtifactTransferException(null, remoteAetherRepo, "Timed out after 100ms"));
+		ArtifactResolutionException exception = new ArtifactResolutionException(Arrays.asList(failedResult));
+		when(mockArtifactResolver.resolveArtifact(eq(mockRepoSysSession), any(ArtifactRequest.class)))
+		        .thenThrow(exception);
+		tracker = Mockito.spy(tracker);
+		Mockito.doNothing().when(tracker).saveComparisonArtifact(-2);
+		
+		assertNull(tracker.getRemoteDependencyReport());
+		assertEquals(-2, tracker.compare(Mockito.mock(File.class), null).intValue());
+		
+		Mockito.verify(mockLogger).warn("Failed to fetch remote dependency report: " + exception.getMessage());
+		Mockito.verify(tracker).saveComparisonArtifact(-2);
+	}
+	
+	@Test
+	public void getRemoteDependencyReport_shouldReturnThePrefetchedReport() throws Exception {
+		final File report = Mockito.mock(File.class);
+		RemoteReportPrefetcher mockPrefetcher = Mockito.mock(RemoteReportPrefetcher.class);
+		when(mockPrefetcher.isPrefetched(mockProject, EXT)).thenReturn(true);
+		when(mockPrefetcher.getReport(mockProject, EXT)).thenReturn(report);
+		tracker.setRemoteReportPrefetcher(mockPrefetcher);
+		
+		assertEquals(report, tracker.getRemoteDependencyReport());
+		
+		Mockito.verifyZeroInteractions(mockArtifactResolver);
+	}
+	
+	@Test
+	public void getRemoteDependencyReport_shouldReturnNullIfNoReportWasPrefetched() throws Exception {
+		RemoteReportPrefetcher mockPrefetcher = Mockito.mock(RemoteReportPrefetcher.class);
+		when(mockPrefetcher.isPrefetched(mockProject, EXT)).thenReturn(true);
+		tracker.setRemoteReportPrefetcher(mockPrefetcher);
+		
+		assertNull(tracker.getRemoteDependencyReport());
+		
+		Mockito.verify(mockLogger).info("No remote dependency report found");
+		Mockito.verifyZeroInteractions(mockArtifactResolver);
+	}
+	
+	@Test
+	public void getRemoteDependencyReport_shouldFallBackToTheTextReportIfNoBinaryReportIsFound() throws Exception {
+		final File report = Mockito.mock(File.class);
+		RemoteReportPrefetcher mockPrefetcher = Mockito.mock(RemoteReportPrefetcher.class);
+		when(mockPrefetcher.isPrefetched(eq(mockProject), any())).thenReturn(true);
+		when(mockPrefetcher.getReport(mockProject, EXT)).thenReturn(report);
+		tracker.setRemoteReportPrefetcher(mockPrefetcher);
+		tracker.setBinaryReport(true);
+		
+		assertEquals(report, tracker.getRemoteDependencyReport());
+		
+		Mockito.verify(mockPrefetcher).getReport(mockProject, BINARY_EXT);
+		Mockito.verify(mockLogger).info("No remote binary dependency report found");
+	}
+	
+	@Test
+	public void getRemoteDependencyReportChecksum_shouldDownloadTheChecksumOfTheReportFromTheRemoteRepo()
+	        throws Exception {
+		final File checksumFile = Mockito.mock(File.class);
+		final org.eclipse.aether.artifact.Artifact artifact = Mockito.mock(org.eclipse.aether.artifact.Artifact.class);
+		when(artifact.getFile()).thenReturn(checksumFile);
+		ArtifactResult artifactResult = new ArtifactResult(new ArtifactRequest());
+		artifactResult.setArtifact(artifact);
+		RemoteRepository remoteAetherRepo = new RemoteRepository.Builder(null, null, null).build();
+		when(mockProject.getDistributionManagementArtifactRepository()).thenReturn(mockRemoteRepo);
+		when(RepositoryUtils.toRepo(mockRemoteRepo)).thenReturn(remoteAetherRepo);
+		when(mockSession.getRepositorySession()).thenReturn(mockRepoSysSession);
+		when(mockArtifactResolver.resolveArtifact(any(RepositorySystemSession.class), any(ArtifactRequest.class)))
+		        .thenReturn(artifactResult);
+		final String checksum = sha1Hex("report");
+		when(Utils.readChecksumFile(checksumFile)).thenReturn(checksum);
+		
+		assertEquals(checksum, tracker.getRemoteDependencyReportChecksum());
+		
+		ArgumentCaptor<RepositorySystemSession> sessionArgCaptor = ArgumentCaptor.forClass(RepositorySystemSession.class);
+		ArgumentCaptor<ArtifactRequest> reqArgCaptor = ArgumentCaptor.forClass(ArtifactRequest.class);
+		Mockito.verify(mockArtifactResolver).resolveArtifact(sessionArgCaptor.capture(), reqArgCaptor.capture());
+		assertEquals(CLASSIFIER, reqArgCaptor.getValue().getArtifact().getClassifier());
+		assertEquals(CHECKSUM_EXT, reqArgCaptor.getValue().getArtifact().getExtension());
+		//The checksum file has no checksum of its own
+		assertEquals(RepositoryPolicy.CHECKSUM_POLICY_IGNORE, sessionArgCaptor.getValue().getChecksumPolicy());
+	}
+	
+	@Test
+	public void getRemoteDependencyReportChecksum_shouldReturnNullIfTheChecksumDoesNotExistInTheRemoteRepo()
+	        throws Exception {
+		RemoteRepository remoteAetherRepo = new RemoteRepository.Builder(null, null, null).build();
+		when(mockProject.getDistributionManagementArtifactRepository()).thenReturn(mockRemoteRepo);
+		when(RepositoryUtils.toRepo(mockRemoteRepo)).thenReturn(remoteAetherRepo);
+		when(mockSession.getRepositorySession()).thenReturn(mockRepoSysSession);
+		when(mockArtifactResolver.resolveArtifact(any(RepositorySystemSession.class), any(ArtifactRequest.class)))
+		        .thenThrow(new ArtifactResolutionException(Collections.emptyList()));
+		
+		assertNull(tracker.getRemoteDependencyReportChecksum());
+		
+		Mockito.verify(mockLogger).info("No remote dependency report checksum found");
+	}
+	
+	@Test
+	public void compareChecksum_shouldReturnZeroIfTheChecksumMatchesTheBuildReport() throws Exception {
+		final File buildReport = createReport("build.txt", "dependency1=1.0:hash1");
+		when(Utils.sha1Hex(buildReport)).thenReturn(sha1Hex("report"));
+		tracker = Mockito.spy(tracker);
+		Mockito.doNothing().when(tracker).saveComparisonArtifact(ArgumentMatchers.anyInt());
+		
+		assertEquals(0, tracker.compareChecksum(buildReport, sha1Hex("report")).intValue());
+		
+		Mockito.verify(tracker).saveComparisonArtifact(0);
+	}
+	
+	@Test
+	public void compareChecksum_shouldReturnOneIfTheChecksumDoesNotMatchTheBuildReport() throws Exception {
+		final File buildReport = createReport("build.txt", "dependency1=1.0:hash1");
+		when(Utils.sha1Hex(buildReport)).thenReturn(sha1Hex("report"));
+		tracker = Mockito.spy(tracker);
+		Mockito.doNothing().when(tracker).saveComparisonArtifact(ArgumentMatchers.anyInt());
+		
+		assertEquals(1, tracker.compareChecksum(buildReport, sha1Hex("other report")).intValue());
+		
+		Mockito.verify(tracker).saveComparisonArtifact(1);
+	}
+	
 	@Test
 	public void compare_shouldCompareAndSaveReportForMatchingDependencyReports() throws Exception {
-		final byte[] reportContents = "dependency1=hash1".getBytes(UTF_8);
-		final File buildReport = Mockito.mock(File.class);
-		final File remoteReport = Mockito.mock(File.class);
-		when(Utils.readFile(buildReport)).thenReturn(reportContents);
-		when(Utils.readFile(remoteReport)).thenReturn(reportContents);
+		final File buildReport = createReport("build.txt", "dependency1=1.0:hash1");
+		final File remoteReport = createReport("remote.txt", "dependency1=1.0:hash1");
 		tracker = Mockito.spy(tracker);
 		AtomicInteger saveInvocations = new AtomicInteger();
 		Mockito.doAnswer(invocation -> {
@@ -248,10 +821,8 @@ public class DependencyTrackerTest {
 	
 	@Test
 	public void compare_shouldCompareAndSaveReportForDependencyReportsThatDoNotMatch() throws Exception {
-		final File buildReport = Mockito.mock(File.class);
-		final File remoteReport = Mockito.mock(File.class);
-		when(Utils.readFile(buildReport)).thenReturn("dependency1=hash1".getBytes(UTF_8));
-		when(Utils.readFile(remoteReport)).thenReturn("dependency1=hash2".getBytes(UTF_8));
+		final File buildReport = createReport("build.txt", "dependency1=1.0:hash1");
+		final File remoteReport = createReport("remote.txt", "dependency1=1.0:hash2");
 		tracker = Mockito.spy(tracker);
 		AtomicInteger saveInvocations = new AtomicInteger();
 		Mockito.doAnswer(invocation -> {
@@ -264,6 +835,24 @@ public class DependencyTrackerTest {
 		assertEquals(1, saveInvocations.get());
 	}
 	
+	@Test
+	public void compare_shouldSaveTheComparisonDetailsIfEnabled() throws Exception {
+		final File buildReport = createReport("build.txt", "a=1.0:hash1", "b=1.1:hash2", "d=1.0:hash4");
+		final File remoteReport = createReport("remote.txt", "a=1.0:hash1", "b=1.0:hash2", "c=1.0:hash3");
+		final File detailsFile = new File(tempFolder.getRoot(), "details.txt");
+		when(Utils.instantiateFile(mockBuildDir, TEST_FILE_NAME + COMPARE_DETAILS_ARTIFACT_SUFFIX))
+		        .thenReturn(detailsFile);
+		tracker = Mockito.spy(tracker);
+		Mockito.doNothing().when(tracker).saveComparisonArtifact(1);
+		tracker.setWriteComparisonDetails(true);
+		
+		assertEquals(1, tracker.compare(buildReport, remoteReport).intValue());
+		
+		List<String> details = Files.readAllLines(detailsFile.toPath());
+		assertEquals(Arrays.asList("VERSION_CHANGED b=1.0 -> 1.1", "REMOVED c=1.0:hash3", "ADDED d=1.0:hash4"),
+		    details);
+	}
+	
 	@Test
 	public void compare_shouldCompareAndSaveReportWhenTheReportDoesNotExistInTheRemoteRepo() throws Exception {
 		tracker = Mockito.spy(tracker);
@@ -305,4 +894,10 @@ public class DependencyTrackerTest {
 		Assert.assertEquals(-1, tracker.aggregateDependencyReports(Arrays.asList(0, -1, 0)).intValue());
 	}
 	
+	@Test
+	public void aggregateDependencyReports_shouldReturnNegativeTwoIfAReportCouldNotBeFetchedAndNoneChanged() {
+		Assert.assertEquals(-2, tracker.aggregateDependencyReports(Arrays.asList(0, -1, -2)).intValue());
+		Assert.assertEquals(1, tracker.aggregateDependencyReports(Arrays.asList(1, -2)).intValue());
+	}
+	
 }
@@ -0,0 +1,103 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static net.mekomsolutions.maven.plugin.dependency.DigestAlgorithm.SHA1;
+import static org.apache.commons.codec.digest.DigestUtils.sha1Hex;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DirectoryHasherTest {
+	
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+	
+	private File createFile(File directory, String path, String contents) throws IOException {
+		File file = new File(directory, path);
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), contents.getBytes(UTF_8));
+		return file;
+	}
+	
+	@Test
+	public void compute_shouldHashTheFilesInTheTreeSortedByRelativePath() throws Exception {
+		File directory = tempFolder.newFolder("classes");
+		createFile(directory, "org/openmrs/A.class", "class-a");
+		createFile(directory, "B.properties", "b=1");
+		new File(directory, "org/empty").mkdirs();
+		
+		String hash = DirectoryHasher.compute(directory, SHA1, Utils::sha1Hex, 1);
+		
+		assertEquals(sha1Hex("B.properties\t" + sha1Hex("b=1") + "\norg/openmrs/A.class\t" + sha1Hex("class-a") + "\n"),
+		    hash);
+	}
+	
+	@Test
+	public void compute_shouldProduceTheSameHashWhenHashingInParallel() throws Exception {
+		File directory = tempFolder.newFolder("classes");
+		for (int i = 0; i < 50; i++) {
+			createFile(directory, "pkg" + (i % 5) + "/C" + i + ".class", "class-" + i);
+		}
+		
+		assertEquals(DirectoryHasher.compute(directory, SHA1, Utils::sha1Hex, 1),
+		    DirectoryHasher.compute(directory, SHA1, Utils::sha1Hex, 4));
+	}
+	
+	@Test
+	public void compute_shouldChangeIfAFileIsModifiedAddedOrRenamed() throws Exception {
+		File directory = tempFolder.newFolder("classes");
+		File file = createFile(directory, "org/A.class", "class-a");
+		String hash = DirectoryHasher.compute(directory, SHA1, Utils::sha1Hex, 1);
+		
+		createFile(directory, "org/A.class", "class-a2");
+		String modifiedHash = DirectoryHasher.compute(directory, SHA1, Utils::sha1Hex, 1);
+		createFile(directory, "org/B.class", "class-b");
+		String addedHash = DirectoryHasher.compute(directory, SHA1, Utils::sha1Hex, 1);
+		file.renameTo(new File(directory, "org/C.class"));
+		String renamedHash = DirectoryHasher.compute(directory, SHA1, Utils::sha1Hex, 1);
+		
+		assertNotEquals(hash, modifiedHash);
+		assertNotEquals(modifiedHash, addedHash);
+		assertNotEquals(addedHash, renamedHash);
+	}
+	
+	@Test(expected = IOException.class)
+	public void compute_shouldFailIfAFileCannotBeHashed() throws Exception {
+		File directory = tempFolder.newFolder("classes");
+		createFile(directory, "A.class", "class-a");
+		
+		DirectoryHasher.compute(directory, SHA1, file -> {
+			throw new IOException("test");
+		}, 2);
+	}
+	
+	@Test
+	public void getSize_shouldReturnTheTotalSizeOfTheFilesInTheTree() throws Exception {
+		File directory = tempFolder.newFolder("classes");
+		createFile(directory, "org/openmrs/A.class", "class-a");
+		createFile(directory, "B.properties", "b=1");
+		new File(directory, "org/empty").mkdirs();
+		
+		assertEquals(10, DirectoryHasher.getSize(directory));
+	}
+	
+	@Test
+	public void createKey_shouldChangeIfAFileInTheTreeIsModified() throws Exception {
+		File directory = tempFolder.newFolder("classes");
+		File file = createFile(directory, "org/openmrs/A.class", "class-a");
+		String key = DirectoryHasher.createKey(directory);
+		assertEquals(key, DirectoryHasher.createKey(directory));
+		
+		Files.write(file.toPath(), "changed-class-a".getBytes(UTF_8));
+		
+		assertNotEquals(key, DirectoryHasher.createKey(directory));
+	}
+	
+}
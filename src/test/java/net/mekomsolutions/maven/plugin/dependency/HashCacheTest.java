@@ -0,0 +1,159 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class HashCacheTest {
+	
+	private static final String HASH_TYPE = "content";
+	
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+	
+	private File createFile(String name, String contents) throws Exception {
+		File file = tempFolder.newFile(name);
+		Files.write(file.toPath(), contents.getBytes());
+		return file;
+	}
+	
+	@Test
+	public void get_shouldReturnTheCachedHash() throws Exception {
+		File file = createFile("test.jar", "data");
+		HashCache cache = HashCache.load(new File(tempFolder.getRoot(), "hashes.txt"), 10);
+		assertNull(cache.get(file, HASH_TYPE));
+		
+		cache.put(file, HASH_TYPE, "hash");
+		
+		assertEquals("hash", cache.get(file, HASH_TYPE));
+	}
+	
+	@Test
+	public void get_shouldNotReturnAHashOfAnotherType() throws Exception {
+		File file = createFile("test.jar", "data");
+		HashCache cache = HashCache.load(new File(tempFolder.getRoot(), "hashes.txt"), 10);
+		cache.put(file, HASH_TYPE, "hash");
+		
+		assertNull(cache.get(file, "zip"));
+		
+		cache.put(file, "zip", "zip-hash");
+		assertEquals("hash", cache.get(file, HASH_TYPE));
+		assertEquals("zip-hash", cache.get(file, "zip"));
+	}
+	
+	@Test
+	public void get_shouldReturnNullIfTheFileWasModified() throws Exception {
+		File file = createFile("test.jar", "data");
+		HashCache cache = HashCache.load(new File(tempFolder.getRoot(), "hashes.txt"), 10);
+		cache.put(file, HASH_TYPE, "hash");
+		
+		Files.write(file.toPath(), "changed data".getBytes());
+		
+		assertNull(cache.get(file, HASH_TYPE));
+	}
+	
+	@Test
+	public void save_shouldPersistTheEntriesAndMergeThemWithThoseSavedByOtherBuilds() throws Exception {
+		File file1 = createFile("test1.jar", "data1");
+		File file2 = createFile("test2.jar", "data2");
+		File cacheFile = new File(tempFolder.getRoot(), "cache/hashes.txt");
+		HashCache cache1 = HashCache.load(cacheFile, 10);
+		HashCache cache2 = HashCache.load(cacheFile, 10);
+		cache1.put(file1, HASH_TYPE, "hash1");
+		cache2.put(file2, HASH_TYPE, "hash2");
+		
+		cache1.save();
+		cache2.save();
+		
+		HashCache cache = HashCache.load(cacheFile, 10);
+		assertEquals("hash1", cache.get(file1, HASH_TYPE));
+		assertEquals("hash2", cache.get(file2, HASH_TYPE));
+	}
+	
+	@Test
+	public void save_shouldEvictTheLeastRecentlyUsedEntries() throws Exception {
+		File file1 = createFile("test1.jar", "data1");
+		File file2 = createFile("test2.jar", "data2");
+		File file3 = createFile("test3.jar", "data3");
+		File cacheFile = new File(tempFolder.getRoot(), "hashes.txt");
+		HashCache cache = HashCache.load(cacheFile, 2);
+		cache.put(file1, HASH_TYPE, "hash1");
+		Thread.sleep(5);
+		cache.put(file2, HASH_TYPE, "hash2");
+		Thread.sleep(5);
+		cache.put(file3, HASH_TYPE, "hash3");
+		
+		cache.save();
+		
+		cache = HashCache.load(cacheFile, 2);
+		assertNull(cache.get(file1, HASH_TYPE));
+		assertEquals("hash2", cache.get(file2, HASH_TYPE));
+		assertEquals("hash3", cache.get(file3, HASH_TYPE));
+	}
+	
+	@Test
+	public void get_shouldReturnNullIfTheFileWasTouchedWithoutChangingItsSize() throws Exception {
+		File file = createFile("test.jar", "data");
+		HashCache cache = HashCache.load(new File(tempFolder.getRoot(), "hashes.txt"), 10);
+		cache.put(file, HASH_TYPE, "hash");
+		
+		Files.setLastModifiedTime(file.toPath(), FileTime.fromMillis(file.lastModified() + 60000));
+		
+		assertNull(cache.get(file, HASH_TYPE));
+	}
+	
+	@Test
+	public void save_shouldNotRewriteTheCacheFileIfTheHitsWereRecentlyUsed() throws Exception {
+		File file = createFile("test.jar", "data");
+		File cacheFile = new File(tempFolder.getRoot(), "hashes.txt");
+		HashCache cache = HashCache.load(cacheFile, 10);
+		cache.put(file, HASH_TYPE, "hash");
+		cache.save();
+		cache = HashCache.load(cacheFile, 10);
+		Files.delete(cacheFile.toPath());
+		
+		assertEquals("hash", cache.get(file, HASH_TYPE));
+		cache.save();
+		
+		assertFalse(cacheFile.exists());
+	}
+	
+	@Test
+	public void save_shouldUpdateTheLastAccessTimeOfHitsThatWereNotRecentlyUsed() throws Exception {
+		File file = createFile("test.jar", "data");
+		File cacheFile = new File(tempFolder.getRoot(), "hashes.txt");
+		HashCache cache = HashCache.load(cacheFile, 10);
+		cache.put(file, HASH_TYPE, "hash");
+		cache.save();
+		String line = new String(Files.readAllBytes(cacheFile.toPath()), UTF_8);
+		Files.write(cacheFile.toPath(), line.replaceFirst("^\\d+", "1000").getBytes(UTF_8));
+		cache = HashCache.load(cacheFile, 10);
+		
+		assertEquals("hash", cache.get(file, HASH_TYPE));
+		cache.save();
+		
+		line = new String(Files.readAllBytes(cacheFile.toPath()), UTF_8);
+		assertTrue(Long.parseLong(line.split("\t")[0]) > 1000);
+	}
+	
+	@Test
+	public void getInstance_shouldReturnTheSameInstanceOnlyForTheSameFileAndMaxEntries() throws Exception {
+		File cacheFile = new File(tempFolder.getRoot(), "hashes.txt");
+		
+		assertSame(HashCache.getInstance(cacheFile, 10), HashCache.getInstance(cacheFile, 10));
+		assertNotSame(HashCache.getInstance(cacheFile, 10), HashCache.getInstance(cacheFile, 20));
+	}
+	
+}
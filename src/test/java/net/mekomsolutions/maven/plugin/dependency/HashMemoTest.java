@@ -0,0 +1,101 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.aether.DefaultSessionData;
+import org.eclipse.aether.RepositorySystemSession;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+public class HashMemoTest {
+	
+	private static final String HASH_TYPE = "content";
+	
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+	
+	@Test
+	public void getInstance_shouldReturnTheSameInstanceForTheSameRepositorySession() {
+		RepositorySystemSession session1 = Mockito.mock(RepositorySystemSession.class);
+		when(session1.getData()).thenReturn(new DefaultSessionData());
+		RepositorySystemSession session2 = Mockito.mock(RepositorySystemSession.class);
+		when(session2.getData()).thenReturn(new DefaultSessionData());
+		
+		assertSame(HashMemo.getInstance(session1), HashMemo.getInstance(session1));
+		assertNotSame(HashMemo.getInstance(session1), HashMemo.getInstance(session2));
+	}
+	
+	@Test
+	public void get_shouldHashEachFileOnlyOnce() throws Exception {
+		File file = tempFolder.newFile();
+		HashMemo memo = new HashMemo();
+		AtomicInteger count = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<String>> futures = new ArrayList<>();
+		try {
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit(() -> memo.get(file, HASH_TYPE, f -> {
+					try {
+						latch.await();
+					}
+					catch (InterruptedException e) {
+						throw new IOException(e);
+					}
+					
+					return "hash-" + count.incrementAndGet();
+				})));
+			}
+			
+			latch.countDown();
+			for (Future<String> future : futures) {
+				assertEquals("hash-1", future.get());
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		
+		assertEquals(1, count.get());
+	}
+	
+	@Test
+	public void get_shouldHashTheFileAgainIfItWasModified() throws Exception {
+		File file = tempFolder.newFile();
+		HashMemo memo = new HashMemo();
+		assertEquals("hash-1", memo.get(file, HASH_TYPE, f -> "hash-1"));
+		
+		Files.write(file.toPath(), "changed".getBytes());
+		
+		assertEquals("hash-2", memo.get(file, HASH_TYPE, f -> "hash-2"));
+	}
+	
+	@Test
+	public void get_shouldNotMemoizeFailures() throws Exception {
+		File file = tempFolder.newFile();
+		HashMemo memo = new HashMemo();
+		Assert.assertThrows(IOException.class, () -> memo.get(file, HASH_TYPE, f -> {
+			throw new IOException();
+		}));
+		
+		assertEquals("hash", memo.get(file, HASH_TYPE, f -> "hash"));
+	}
+	
+}
@@ -0,0 +1,178 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.ArtifactTransferException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+public class MissingReportCacheTest {
+	
+	private static final long TTL = TimeUnit.HOURS.toMillis(1);
+	
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+	
+	private ArtifactResolver mockDelegate;
+	
+	private DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+	
+	private RemoteRepository remoteRepo = new RemoteRepository.Builder("remote", "default", "http://localhost/repo")
+	        .build();
+	
+	private File cacheFile;
+	
+	@Before
+	public void setup() {
+		mockDelegate = Mockito.mock(ArtifactResolver.class);
+		cacheFile = new File(tempFolder.getRoot(), "missing-reports.txt");
+	}
+	
+	private ArtifactRequest createRequest(String artifactId) {
+		DefaultArtifact artifact = new DefaultArtifact("org.openmrs", artifactId, Constants.CLASSIFIER, Constants.EXT,
+		        "1.0-SNAPSHOT");
+		return new ArtifactRequest(artifact, Collections.singletonList(remoteRepo), null);
+	}
+	
+	private ArtifactResolutionException createException(ArtifactRequest request, Exception cause) {
+		ArtifactResult result = new ArtifactResult(request);
+		result.addException(cause);
+		return new ArtifactResolutionException(Collections.singletonList(result));
+	}
+	
+	private ArtifactResolutionException resolveAndFail(ArtifactResolver resolver, ArtifactRequest request) {
+		try {
+			resolver.resolveArtifact(session, request);
+		}
+		catch (ArtifactResolutionException e) {
+			return e;
+		}
+		
+		fail("The lookup should have failed");
+		return null;
+	}
+	
+	@Test
+	public void decorate_shouldNotLookUpAReportAgainThatWasRecentlyNotFound() throws Exception {
+		ArtifactRequest request = createRequest("api");
+		when(mockDelegate.resolveArtifacts(any(), anyList()))
+		        .thenThrow(createException(request, new ArtifactNotFoundException(null, remoteRepo)));
+		ArtifactResolver resolver = MissingReportCache.load(cacheFile, TTL).decorate(mockDelegate);
+		
+		resolveAndFail(resolver, request);
+		ArtifactResolutionException e = resolveAndFail(resolver, request);
+		
+		assertTrue(e.getResult().getExceptions().get(0) instanceof ArtifactNotFoundException);
+		Mockito.verify(mockDelegate).resolveArtifacts(any(), anyList());
+	}
+	
+	@Test
+	public void decorate_shouldNotCacheFailedLookups() throws Exception {
+		ArtifactRequest request = createRequest("api");
+		when(mockDelegate.resolveArtifacts(any(), anyList())).thenThrow(
+		    createException(request, new ArtifactTransferException(null, remoteRepo, "Connection refused")));
+		MissingReportCache cache = MissingReportCache.load(cacheFile, TTL);
+		ArtifactResolver resolver = cache.decorate(mockDelegate);
+		
+		resolveAndFail(resolver, request);
+		resolveAndFail(resolver, request);
+		
+		Mockito.verify(mockDelegate, Mockito.times(2)).resolveArtifacts(any(), anyList());
+		assertFalse(cache.isMissing(MissingReportCache.createKey(request)));
+	}
+	
+	@Test
+	public void decorate_shouldOnlyPassOnTheRequestsForReportsThatAreNotKnownToBeMissing() throws Exception {
+		ArtifactRequest apiRequest = createRequest("api");
+		ArtifactRequest webRequest = createRequest("web");
+		File webReport = tempFolder.newFile("web.txt");
+		ArtifactResult webResult = new ArtifactResult(webRequest);
+		webResult.setArtifact(webRequest.getArtifact().setFile(webReport));
+		when(mockDelegate.resolveArtifacts(any(), anyList())).thenReturn(Collections.singletonList(webResult));
+		MissingReportCache cache = MissingReportCache.load(cacheFile, TTL);
+		cache.putMissing(MissingReportCache.createKey(apiRequest));
+		
+		try {
+			cache.decorate(mockDelegate).resolveArtifacts(session, Arrays.asList(apiRequest, webRequest));
+			fail("The lookup of the missing report should have failed");
+		}
+		catch (ArtifactResolutionException e) {
+			assertEquals(2, e.getResults().size());
+			assertFalse(e.getResults().get(0).isResolved());
+			assertEquals(webReport, e.getResults().get(1).getArtifact().getFile());
+		}
+		
+		ArgumentCaptor<List<ArtifactRequest>> captor = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(mockDelegate).resolveArtifacts(any(), captor.capture());
+		assertEquals(Collections.singletonList(webRequest), captor.getValue());
+	}
+	
+	@Test
+	public void isMissing_shouldReturnFalseForEntriesOlderThanTheTtl() throws Exception {
+		String key = MissingReportCache.createKey(createRequest("api"));
+		long expired = System.currentTimeMillis() - TTL - 1000;
+		Files.write(cacheFile.toPath(), (expired + "\t" + key + "\n").getBytes(UTF_8));
+		
+		assertFalse(MissingReportCache.load(cacheFile, TTL).isMissing(key));
+		assertTrue(MissingReportCache.load(cacheFile, TTL * 2).isMissing(key));
+	}
+	
+	@Test
+	public void save_shouldMergeTheEntriesOfConcurrentBuildsAndDropTheReportsThatWereFound() throws Exception {
+		String apiKey = MissingReportCache.createKey(createRequest("api"));
+		String webKey = MissingReportCache.createKey(createRequest("web"));
+		MissingReportCache cache1 = MissingReportCache.load(cacheFile, TTL);
+		MissingReportCache cache2 = MissingReportCache.load(cacheFile, TTL);
+		cache1.putMissing(apiKey);
+		cache2.putMissing(webKey);
+		cache1.save();
+		cache2.save();
+		
+		MissingReportCache cache = MissingReportCache.load(cacheFile, TTL);
+		assertTrue(cache.isMissing(apiKey));
+		assertTrue(cache.isMissing(webKey));
+		
+		cache.remove(apiKey);
+		cache.save();
+		
+		cache = MissingReportCache.load(cacheFile, TTL);
+		assertFalse(cache.isMissing(apiKey));
+		assertTrue(cache.isMissing(webKey));
+	}
+	
+	@Test
+	public void getInstance_shouldReturnTheSameInstanceOnlyForTheSameFileAndTtl() throws Exception {
+		assertSame(MissingReportCache.getInstance(cacheFile, TTL), MissingReportCache.getInstance(cacheFile, TTL));
+		assertNotSame(MissingReportCache.getInstance(cacheFile, TTL),
+		    MissingReportCache.getInstance(cacheFile, TTL * 2));
+	}
+	
+}
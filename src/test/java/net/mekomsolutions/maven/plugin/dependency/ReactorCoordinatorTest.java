@@ -0,0 +1,132 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultSessionData;
+import org.eclipse.aether.RepositorySystemSession;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class ReactorCoordinatorTest {
+	
+	private static final String PLUGIN_KEY = "net.mekomsolutions.maven.plugin:dependency-tracker-maven-plugin";
+	
+	private MavenSession mockSession;
+	
+	@Before
+	public void setup() {
+		mockSession = Mockito.mock(MavenSession.class);
+		RepositorySystemSession mockRepoSysSession = Mockito.mock(RepositorySystemSession.class);
+		when(mockSession.getRepositorySession()).thenReturn(mockRepoSysSession);
+		when(mockRepoSysSession.getData()).thenReturn(new DefaultSessionData());
+	}
+	
+	private MavenProject mockProject(String artifactId, boolean declaresPlugin) {
+		MavenProject project = Mockito.mock(MavenProject.class);
+		when(project.getGroupId()).thenReturn("org.openmrs");
+		when(project.getArtifactId()).thenReturn(artifactId);
+		when(project.getVersion()).thenReturn("1.0");
+		if (declaresPlugin) {
+			when(project.getPlugin(PLUGIN_KEY)).thenReturn(new Plugin());
+		}
+		
+		return project;
+	}
+	
+	@Test
+	public void addResult_shouldReturnTrueOnlyOnceWhenTheLastProjectIsTrackedInParallel() throws Exception {
+		List<MavenProject> projects = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			projects.add(mockProject("module-" + i, true));
+		}
+		when(mockSession.getProjects()).thenReturn(projects);
+		ReactorCoordinator coordinator = ReactorCoordinator.getInstance(mockSession, projects.get(0), PLUGIN_KEY);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<Boolean>> futures = new ArrayList<>();
+		try {
+			for (MavenProject project : projects) {
+				futures.add(executor.submit(() -> coordinator.addResult(project, 0)));
+			}
+			
+			int lastCount = 0;
+			for (Future<Boolean> future : futures) {
+				lastCount += future.get() ? 1 : 0;
+			}
+			
+			assertEquals(1, lastCount);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		
+		assertEquals(50, coordinator.getResults().size());
+	}
+	
+	@Test
+	public void getInstance_shouldOnlyExpectTheProjectsThatDeclareThePlugin() {
+		MavenProject parent = mockProject("parent", true);
+		MavenProject nestedParent = mockProject("nested-parent", false);
+		MavenProject api = mockProject("api", true);
+		List<MavenProject> projects = new ArrayList<>();
+		projects.add(parent);
+		projects.add(nestedParent);
+		projects.add(api);
+		when(mockSession.getProjects()).thenReturn(projects);
+		ReactorCoordinator coordinator = ReactorCoordinator.getInstance(mockSession, parent, PLUGIN_KEY);
+		
+		assertFalse(coordinator.addResult(parent, 0));
+		assertTrue(coordinator.addResult(api, 1));
+	}
+	
+	@Test
+	public void getInstance_shouldExpectAllTheProjectsIfThePluginIsNotDeclared() {
+		MavenProject parent = mockProject("parent", false);
+		MavenProject api = mockProject("api", false);
+		List<MavenProject> projects = new ArrayList<>();
+		projects.add(parent);
+		projects.add(api);
+		when(mockSession.getProjects()).thenReturn(projects);
+		ReactorCoordinator coordinator = ReactorCoordinator.getInstance(mockSession, api, PLUGIN_KEY);
+		
+		assertTrue(coordinator.isMultiModule());
+		assertFalse(coordinator.addResult(api, 0));
+		assertTrue(coordinator.addResult(parent, 0));
+	}
+	
+	@Test
+	public void getRootDigest_shouldHashTheProjectDigestsInKeyOrder() {
+		MavenProject parent = mockProject("parent", false);
+		MavenProject web = mockProject("web", false);
+		MavenProject api = mockProject("api", false);
+		when(mockSession.getProjects()).thenReturn(Arrays.asList(parent, web, api));
+		ReactorCoordinator coordinator = ReactorCoordinator.getInstance(mockSession, parent, PLUGIN_KEY);
+		coordinator.addDigest(parent, "digest1");
+		coordinator.addDigest(web, "digest2");
+		coordinator.addDigest(api, "digest3");
+		
+		assertEquals(Arrays.asList("org.openmrs:api:1.0", "org.openmrs:parent:1.0", "org.openmrs:web:1.0"),
+		    new ArrayList<>(coordinator.getDigests().keySet()));
+		String expected = "org.openmrs:api:1.0=digest3\norg.openmrs:parent:1.0=digest1\norg.openmrs:web:1.0=digest2\n";
+		String rootDigest = coordinator.getRootDigest();
+		assertEquals(DigestUtils.sha1Hex(expected), rootDigest);
+		coordinator.addDigest(web, "digest4");
+		assertNotEquals(rootDigest, coordinator.getRootDigest());
+	}
+	
+}
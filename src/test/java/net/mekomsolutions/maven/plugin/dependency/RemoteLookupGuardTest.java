@@ -0,0 +1,193 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.Log;
+import org.eclipse.aether.ConfigurationProperties;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.ArtifactTransferException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+public class RemoteLookupGuardTest {
+	
+	private ArtifactResolver mockDelegate;
+	
+	private Log mockLogger;
+	
+	private DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+	
+	private RemoteRepository remoteRepo = new RemoteRepository.Builder("remote", "default", "http://localhost/repo")
+	        .build();
+	
+	private ArtifactRequest request = new ArtifactRequest(new DefaultArtifact("org.openmrs:api:txt:1.0"),
+	        Collections.singletonList(remoteRepo), null);
+	
+	@Before
+	public void setup() {
+		mockDelegate = Mockito.mock(ArtifactResolver.class);
+		mockLogger = Mockito.mock(Log.class);
+	}
+	
+	private ArtifactResolutionException createException(Exception cause) {
+		ArtifactResult result = new ArtifactResult(request);
+		result.addException(cause);
+		return new ArtifactResolutionException(Collections.singletonList(result));
+	}
+	
+	private ArtifactResolutionException resolveAndFail(RemoteLookupGuard guard) {
+		try {
+			guard.resolveArtifact(session, request);
+		}
+		catch (ArtifactResolutionException e) {
+			return e;
+		}
+		
+		fail("The lookup should have failed");
+		return null;
+	}
+	
+	@Test
+	public void resolveArtifact_shouldFailALookupThatTakesLongerThanTheTimeout() throws Exception {
+		when(mockDelegate.resolveArtifacts(any(), anyList())).thenAnswer(invocation -> {
+			//Stands in for a remote repository that is too slow to respond
+			Thread.sleep(10000);
+			return null;
+		});
+		RemoteCircuitBreaker circuitBreaker = new RemoteCircuitBreaker(3);
+		RemoteLookupGuard guard = new RemoteLookupGuard(mockDelegate, 100, circuitBreaker, mockLogger);
+		
+		long start = System.nanoTime();
+		ArtifactResolutionException e = resolveAndFail(guard);
+		
+		assertTrue((System.nanoTime() - start) / 1_000_000 < 5000);
+		assertTrue(RemoteLookupGuard.isFailed(e.getResult()));
+		assertEquals("Timed out after 100ms", e.getResult().getExceptions().get(0).getMessage());
+		assertEquals(1, circuitBreaker.getFailedLookups());
+	}
+	
+	@Test
+	public void resolveArtifacts_shouldScaleTheDeadlineWithTheNumberOfRequests() throws Exception {
+		List<ArtifactRequest> requests = Arrays.asList(request, request, request);
+		List<ArtifactResult> results = Arrays.asList(new ArtifactResult(request), new ArtifactResult(request),
+		    new ArtifactResult(request));
+		when(mockDelegate.resolveArtifacts(any(), anyList())).thenAnswer(invocation -> {
+			//Longer than the timeout of a single request but within that of the batch
+			Thread.sleep(1000);
+			return results;
+		});
+		RemoteCircuitBreaker circuitBreaker = new RemoteCircuitBreaker(1);
+		RemoteLookupGuard guard = new RemoteLookupGuard(mockDelegate, 500, circuitBreaker, mockLogger);
+		
+		assertEquals(results, guard.resolveArtifacts(session, requests));
+		
+		assertFalse(circuitBreaker.isOpen());
+		assertEquals(0, circuitBreaker.getFailedLookups());
+	}
+	
+	@Test
+	public void resolveArtifact_shouldRunTheLookupOnADaemonThread() throws Exception {
+		List<Thread> threads = new ArrayList<>();
+		when(mockDelegate.resolveArtifacts(any(), anyList())).thenAnswer(invocation -> {
+			threads.add(Thread.currentThread());
+			return Collections.singletonList(new ArtifactResult(request));
+		});
+		RemoteLookupGuard guard = new RemoteLookupGuard(mockDelegate, 2000, new RemoteCircuitBreaker(3), mockLogger);
+		
+		guard.resolveArtifact(session, request);
+		
+		assertTrue(threads.get(0).isDaemon());
+		assertTrue(threads.get(0).getName().startsWith("dependency-tracker-remote-lookup-"));
+	}
+	
+	@Test
+	public void resolveArtifact_shouldSetTheTransportTimeoutsOfTheSessionPassedToTheDelegate() throws Exception {
+		ArtifactResult result = new ArtifactResult(request);
+		when(mockDelegate.resolveArtifacts(any(), anyList())).thenReturn(Collections.singletonList(result));
+		RemoteLookupGuard guard = new RemoteLookupGuard(mockDelegate, 2000, new RemoteCircuitBreaker(3), mockLogger);
+		
+		assertEquals(result, guard.resolveArtifact(session, request));
+		
+		ArgumentCaptor<RepositorySystemSession> captor = ArgumentCaptor.forClass(RepositorySystemSession.class);
+		Mockito.verify(mockDelegate).resolveArtifacts(captor.capture(), anyList());
+		assertEquals(2000, captor.getValue().getConfigProperties().get(ConfigurationProperties.CONNECT_TIMEOUT));
+		assertEquals(2000, captor.getValue().getConfigProperties().get(ConfigurationProperties.REQUEST_TIMEOUT));
+		assertNull(session.getConfigProperties().get(ConfigurationProperties.REQUEST_TIMEOUT));
+	}
+	
+	@Test
+	public void resolveArtifacts_shouldSkipTheLookupsOnceTheFailureThresholdIsReached() throws Exception {
+		when(mockDelegate.resolveArtifacts(any(), anyList()))
+		        .thenThrow(createException(new ArtifactTransferException(null, remoteRepo, "Connection refused")));
+		RemoteCircuitBreaker circuitBreaker = new RemoteCircuitBreaker(2);
+		RemoteLookupGuard guard = new RemoteLookupGuard(mockDelegate, 0, circuitBreaker, mockLogger);
+		
+		resolveAndFail(guard);
+		assertFalse(circuitBreaker.isOpen());
+		resolveAndFail(guard);
+		assertTrue(circuitBreaker.isOpen());
+		ArtifactResolutionException e = resolveAndFail(guard);
+		
+		assertTrue(RemoteLookupGuard.isFailed(e.getResult()));
+		Mockito.verify(mockDelegate, Mockito.times(2)).resolveArtifacts(any(), anyList());
+		Mockito.verify(mockLogger)
+		        .warn("Skipping the remaining remote dependency report lookups because the previous ones failed");
+		assertEquals("Remote dependency report lookups -> 2 failed, 1 skipped after 2 consecutive failures",
+		    circuitBreaker.createSummary());
+	}
+	
+	@Test
+	public void resolveArtifacts_shouldNotCountReportsThatAreNotFoundAsFailures() throws Exception {
+		ArtifactResolutionException failure = createException(
+		    new ArtifactTransferException(null, remoteRepo, "Connection refused"));
+		ArtifactResolutionException notFound = createException(new ArtifactNotFoundException(null, remoteRepo));
+		when(mockDelegate.resolveArtifacts(any(), anyList())).thenThrow(failure, notFound, failure);
+		RemoteCircuitBreaker circuitBreaker = new RemoteCircuitBreaker(2);
+		RemoteLookupGuard guard = new RemoteLookupGuard(mockDelegate, 0, circuitBreaker, mockLogger);
+		
+		resolveAndFail(guard);
+		assertFalse(RemoteLookupGuard.isFailed(resolveAndFail(guard).getResult()));
+		resolveAndFail(guard);
+		
+		assertFalse(circuitBreaker.isOpen());
+		assertEquals("Remote dependency report lookups -> 2 failed, 0 skipped", circuitBreaker.createSummary());
+	}
+	
+	@Test
+	public void resolveArtifacts_shouldNeverSkipTheLookupsIfTheFailureThresholdIsZero() throws Exception {
+		when(mockDelegate.resolveArtifacts(any(), anyList()))
+		        .thenThrow(createException(new ArtifactTransferException(null, remoteRepo, "Connection refused")));
+		RemoteCircuitBreaker circuitBreaker = new RemoteCircuitBreaker(0);
+		RemoteLookupGuard guard = new RemoteLookupGuard(mockDelegate, 0, circuitBreaker, mockLogger);
+		
+		for (int i = 0; i < 5; i++) {
+			resolveAndFail(guard);
+		}
+		
+		assertFalse(circuitBreaker.isOpen());
+		Mockito.verify(mockDelegate, Mockito.times(5)).resolveArtifacts(any(), anyList());
+	}
+	
+}
@@ -0,0 +1,214 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static net.mekomsolutions.maven.plugin.dependency.Constants.CHECKSUM_EXT;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.CLASSIFIER;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.EXT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.impl.MetadataResolver;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.MetadataRequest;
+import org.eclipse.aether.resolution.MetadataResult;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+public class RemoteReportCacheTest {
+	
+	private static final String TIMESTAMPED_VERSION = "1.0-20240101.120000-1";
+	
+	private static final String NEW_TIMESTAMPED_VERSION = "1.0-20240102.120000-2";
+	
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+	
+	private ArtifactResolver mockDelegate;
+	
+	private MetadataResolver mockMetadataResolver;
+	
+	private RepositorySystemSession mockSession;
+	
+	private RemoteRepository remoteRepo;
+	
+	private File repoDir;
+	
+	private File cacheDir;
+	
+	private RemoteReportCache cache;
+	
+	private List<ArtifactRequest> delegatedRequests;
+	
+	@Before
+	public void setup() throws Exception {
+		mockDelegate = Mockito.mock(ArtifactResolver.class);
+		mockMetadataResolver = Mockito.mock(MetadataResolver.class);
+		mockSession = Mockito.mock(RepositorySystemSession.class);
+		remoteRepo = new RemoteRepository.Builder("remote", "default", "https://repo.example.org/snapshots").build();
+		repoDir = tempFolder.newFolder("repo");
+		cacheDir = new File(tempFolder.getRoot(), "cache");
+		cache = new RemoteReportCache(cacheDir, mockDelegate, mockMetadataResolver);
+		delegatedRequests = new ArrayList<>();
+		when(mockMetadataResolver.resolveMetadata(eq(mockSession), anyCollection())).thenAnswer(invocation -> {
+			Collection<MetadataRequest> requests = invocation.getArgument(1);
+			List<MetadataResult> results = new ArrayList<>();
+			for (MetadataRequest request : requests) {
+				File file = new File(repoDir, request.getMetadata().getArtifactId() + "-maven-metadata.xml");
+				MetadataResult result = new MetadataResult(request);
+				if (file.exists()) {
+					result.setMetadata(request.getMetadata().setFile(file));
+				}
+				
+				results.add(result);
+			}
+			
+			return results;
+		});
+		
+		//Serves the files from the stand-in repository directory like a remote repository would
+		when(mockDelegate.resolveArtifacts(eq(mockSession), anyCollection())).thenAnswer(invocation -> {
+			Collection<ArtifactRequest> requests = invocation.getArgument(1);
+			List<ArtifactResult> results = new ArrayList<>();
+			boolean allResolved = true;
+			for (ArtifactRequest request : requests) {
+				delegatedRequests.add(request);
+				Artifact a = request.getArtifact();
+				File file = new File(repoDir, a.getArtifactId() + "-" + a.getVersion() + "-" + a.getClassifier() + "."
+				        + a.getExtension());
+				ArtifactResult result = new ArtifactResult(request);
+				if (file.exists()) {
+					result.setArtifact(a.setFile(file));
+				} else {
+					allResolved = false;
+				}
+				
+				results.add(result);
+			}
+			
+			if (!allResolved) {
+				throw new ArtifactResolutionException(results);
+			}
+			
+			return results;
+		});
+	}
+	
+	private void deploy(String artifactId, String version, String contents) throws Exception {
+		File report = new File(repoDir, artifactId + "-" + version + "-" + CLASSIFIER + "." + EXT);
+		Files.write(report.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+		File metadataFile = new File(repoDir, artifactId + "-maven-metadata.xml");
+		String timestamp = version.substring(4, version.lastIndexOf('-'));
+		String buildNumber = version.substring(version.lastIndexOf('-') + 1);
+		String metadata = "<metadata><groupId>org.openmrs</groupId><artifactId>" + artifactId + "</artifactId>"
+		        + "<version>1.0-SNAPSHOT</version><versioning><snapshot><timestamp>" + timestamp + "</timestamp>"
+		        + "<buildNumber>" + buildNumber + "</buildNumber></snapshot><snapshotVersions><snapshotVersion>"
+		        + "<classifier>" + CLASSIFIER + "</classifier><extension>" + EXT + "</extension><value>" + version
+		        + "</value></snapshotVersion></snapshotVersions></versioning></metadata>";
+		Files.write(metadataFile.toPath(), metadata.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	private ArtifactRequest createRequest(String artifactId, String version, String extension) {
+		Artifact artifact = new DefaultArtifact("org.openmrs", artifactId, CLASSIFIER, extension, version);
+		return new ArtifactRequest(artifact, Collections.singletonList(remoteRepo), null);
+	}
+	
+	private String read(File file) throws Exception {
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+	
+	@Test
+	public void resolveArtifact_shouldOnlyFetchTheReportAgainIfANewSnapshotIsDeployed() throws Exception {
+		deploy("api", TIMESTAMPED_VERSION, "dependency=1.0:hash1");
+		ArtifactRequest request = createRequest("api", "1.0-SNAPSHOT", EXT);
+		
+		File first = cache.resolveArtifact(mockSession, request).getArtifact().getFile();
+		File second = cache.resolveArtifact(mockSession, request).getArtifact().getFile();
+		
+		assertEquals(1, delegatedRequests.size());
+		assertEquals(TIMESTAMPED_VERSION, delegatedRequests.get(0).getArtifact().getVersion());
+		assertEquals("dependency=1.0:hash1", read(first));
+		assertTrue(second.getPath().startsWith(cacheDir.getPath()));
+		assertEquals("dependency=1.0:hash1", read(second));
+		
+		deploy("api", NEW_TIMESTAMPED_VERSION, "dependency=1.0:hash2");
+		
+		File third = cache.resolveArtifact(mockSession, request).getArtifact().getFile();
+		
+		assertEquals(2, delegatedRequests.size());
+		assertEquals("dependency=1.0:hash2", read(third));
+		assertEquals("dependency=1.0:hash2", read(cache.resolveArtifact(mockSession, request).getArtifact().getFile()));
+		assertEquals(2, delegatedRequests.size());
+		assertFalse(second.exists());
+	}
+	
+	@Test
+	public void resolveArtifacts_shouldResolveTheCachedAndMissingReportsInBatches() throws Exception {
+		deploy("api", TIMESTAMPED_VERSION, "dependency=1.0:hash1");
+		cache.resolveArtifact(mockSession, createRequest("api", "1.0-SNAPSHOT", EXT));
+		List<ArtifactRequest> requests = Arrays.asList(createRequest("api", "1.0-SNAPSHOT", EXT),
+		    createRequest("web", "1.0-SNAPSHOT", EXT));
+		
+		List<ArtifactResult> results = null;
+		try {
+			cache.resolveArtifacts(mockSession, requests);
+		}
+		catch (ArtifactResolutionException e) {
+			results = e.getResults();
+		}
+		
+		assertEquals(2, results.size());
+		assertTrue(results.get(0).isResolved());
+		assertFalse(results.get(1).isResolved());
+		assertEquals(2, delegatedRequests.size());
+		assertEquals("web", delegatedRequests.get(1).getArtifact().getArtifactId());
+		Mockito.verify(mockMetadataResolver, Mockito.times(2)).resolveMetadata(eq(mockSession), anyCollection());
+	}
+	
+	@Test
+	public void resolveArtifact_shouldPassReleaseVersionsToTheDelegate() throws Exception {
+		Files.write(new File(repoDir, "api-1.0-" + CLASSIFIER + "." + EXT).toPath(), "report".getBytes());
+		ArtifactRequest request = createRequest("api", "1.0", EXT);
+		
+		cache.resolveArtifact(mockSession, request);
+		cache.resolveArtifact(mockSession, request);
+		
+		assertEquals(2, delegatedRequests.size());
+		Mockito.verifyZeroInteractions(mockMetadataResolver);
+	}
+	
+	@Test
+	public void getSnapshotVersion_shouldUseTheVersionOfTheReportForItsChecksum() throws Exception {
+		deploy("api", TIMESTAMPED_VERSION, "dependency=1.0:hash1");
+		File metadataFile = new File(repoDir, "api-maven-metadata.xml");
+		Artifact checksum = new DefaultArtifact("org.openmrs", "api", CLASSIFIER, CHECKSUM_EXT, "1.0-SNAPSHOT");
+		Artifact other = new DefaultArtifact("org.openmrs", "api", "other", "jar", "2.0-SNAPSHOT");
+		
+		assertEquals(TIMESTAMPED_VERSION, RemoteReportCache.getSnapshotVersion(metadataFile, checksum));
+		assertEquals("2.0-20240101.120000-1", RemoteReportCache.getSnapshotVersion(metadataFile, other));
+		assertNull(RemoteReportCache.getSnapshotVersion(new File(repoDir, "missing.xml"), checksum));
+	}
+	
+}
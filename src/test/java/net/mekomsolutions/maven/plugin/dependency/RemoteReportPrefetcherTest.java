@@ -0,0 +1,199 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static net.mekomsolutions.maven.plugin.dependency.Constants.CHECKSUM_EXT;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.CLASSIFIER;
+import static net.mekomsolutions.maven.plugin.dependency.Constants.EXT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultSessionData;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.impl.ArtifactResolver;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.ArtifactTransferException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(RepositoryUtils.class)
+public class RemoteReportPrefetcherTest {
+	
+	@Mock
+	private MavenSession mockSession;
+	
+	@Mock
+	private RepositorySystemSession mockRepoSysSession;
+	
+	@Mock
+	private ArtifactResolver mockArtifactResolver;
+	
+	@Mock
+	private ArtifactRepository mockRemoteRepo;
+	
+	@Mock
+	private Log mockLogger;
+	
+	private RemoteRepository remoteAetherRepo;
+	
+	@Before
+	public void setup() {
+		PowerMockito.mockStatic(RepositoryUtils.class);
+		remoteAetherRepo = new RemoteRepository.Builder(null, null, null).build();
+		when(RepositoryUtils.toRepo(mockRemoteRepo)).thenReturn(remoteAetherRepo);
+		when(mockSession.getRepositorySession()).thenReturn(mockRepoSysSession);
+		when(mockRepoSysSession.getData()).thenReturn(new DefaultSessionData());
+	}
+	
+	private MavenProject mockProject(String artifactId, boolean hasRemoteRepo) {
+		MavenProject project = Mockito.mock(MavenProject.class);
+		when(project.getGroupId()).thenReturn("org.openmrs");
+		when(project.getArtifactId()).thenReturn(artifactId);
+		when(project.getVersion()).thenReturn("1.0");
+		if (hasRemoteRepo) {
+			when(project.getDistributionManagementArtifactRepository()).thenReturn(mockRemoteRepo);
+		}
+		
+		return project;
+	}
+	
+	private ArtifactResult createResult(File file) {
+		ArtifactResult result = new ArtifactResult(new ArtifactRequest());
+		if (file != null) {
+			result.setArtifact(new DefaultArtifact("org.openmrs:report:1.0").setFile(file));
+		}
+		
+		return result;
+	}
+	
+	@Test
+	public void prefetch_shouldResolveTheReportsOfAllTheProjectsInASingleRequest() throws Exception {
+		MavenProject api = mockProject("api", true);
+		MavenProject web = mockProject("web", true);
+		File apiReport = new File("api.txt");
+		File webReport = new File("web.txt");
+		List<ArtifactResult> results = Arrays.asList(createResult(apiReport), createResult(webReport));
+		when(mockArtifactResolver.resolveArtifacts(eq(mockRepoSysSession), anyList())).thenReturn(results);
+		RemoteReportPrefetcher prefetcher = RemoteReportPrefetcher.getInstance(mockSession);
+		
+		prefetcher.prefetch(Arrays.asList(api, web), EXT, mockSession, mockArtifactResolver, mockLogger);
+		
+		ArgumentCaptor<List<ArtifactRequest>> captor = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(mockArtifactResolver).resolveArtifacts(eq(mockRepoSysSession), captor.capture());
+		List<ArtifactRequest> requests = captor.getValue();
+		assertEquals(2, requests.size());
+		assertEquals("api", requests.get(0).getArtifact().getArtifactId());
+		assertEquals(CLASSIFIER, requests.get(0).getArtifact().getClassifier());
+		assertEquals(EXT, requests.get(0).getArtifact().getExtension());
+		assertEquals(Collections.singletonList(remoteAetherRepo), requests.get(0).getRepositories());
+		assertEquals("web", requests.get(1).getArtifact().getArtifactId());
+		assertTrue(prefetcher.isPrefetched(api, EXT));
+		assertEquals(apiReport, prefetcher.getReport(api, EXT));
+		assertEquals(webReport, prefetcher.getReport(web, EXT));
+	}
+	
+	@Test
+	public void prefetch_shouldKeepTheResolvedReportsIfSomeAreNotFound() throws Exception {
+		MavenProject api = mockProject("api", true);
+		MavenProject web = mockProject("web", true);
+		File webReport = new File("web.txt");
+		List<ArtifactResult> results = Arrays.asList(createResult(null), createResult(webReport));
+		when(mockArtifactResolver.resolveArtifacts(eq(mockRepoSysSession), anyList()))
+		        .thenThrow(new ArtifactResolutionException(results));
+		RemoteReportPrefetcher prefetcher = RemoteReportPrefetcher.getInstance(mockSession);
+		
+		prefetcher.prefetch(Arrays.asList(api, web), EXT, mockSession, mockArtifactResolver, mockLogger);
+		
+		assertTrue(prefetcher.isPrefetched(api, EXT));
+		assertNull(prefetcher.getReport(api, EXT));
+		assertEquals(webReport, prefetcher.getReport(web, EXT));
+	}
+	
+	@Test
+	public void prefetch_shouldTellFailedLookupsApartFromReportsThatAreNotFound() throws Exception {
+		MavenProject api = mockProject("api", true);
+		MavenProject web = mockProject("web", true);
+		ArtifactResult notFound = createResult(null);
+		notFound.addException(new ArtifactNotFoundException(null, remoteAetherRepo));
+		ArtifactResult failed = createResult(null);
+		failed.addException(new ArtifactTransferException(null, remoteAetherRepo, "Connection refused"));
+		when(mockArtifactResolver.resolveArtifacts(eq(mockRepoSysSession), anyList()))
+		        .thenThrow(new ArtifactResolutionException(Arrays.asList(notFound, failed)));
+		RemoteReportPrefetcher prefetcher = RemoteReportPrefetcher.getInstance(mockSession);
+		
+		prefetcher.prefetch(Arrays.asList(api, web), EXT, mockSession, mockArtifactResolver, mockLogger);
+		
+		assertNull(prefetcher.getReport(api, EXT));
+		assertFalse(prefetcher.isFailed(api, EXT));
+		assertNull(prefetcher.getReport(web, EXT));
+		assertTrue(prefetcher.isFailed(web, EXT));
+	}
+	
+	@Test
+	public void prefetch_shouldSkipProjectsWithoutADistributionRepositoryAndOnlyRunOnce() throws Exception {
+		MavenProject parent = mockProject("parent", false);
+		MavenProject api = mockProject("api", true);
+		when(mockArtifactResolver.resolveArtifacts(eq(mockRepoSysSession), anyList()))
+		        .thenReturn(Collections.singletonList(createResult(new File("api.txt"))));
+		RemoteReportPrefetcher prefetcher = RemoteReportPrefetcher.getInstance(mockSession);
+		List<MavenProject> projects = Arrays.asList(parent, api);
+		
+		prefetcher.prefetch(projects, EXT, mockSession, mockArtifactResolver, mockLogger);
+		prefetcher.prefetch(projects, EXT, mockSession, mockArtifactResolver, mockLogger);
+		
+		Mockito.verify(mockArtifactResolver).resolveArtifacts(eq(mockRepoSysSession), anyList());
+		assertFalse(prefetcher.isPrefetched(parent, EXT));
+		assertTrue(prefetcher.isPrefetched(api, EXT));
+		assertEquals(prefetcher, RemoteReportPrefetcher.getInstance(mockSession));
+	}
+	
+	@Test
+	public void prefetch_shouldPrefetchTheChecksumsSeparatelyFromTheReports() throws Exception {
+		MavenProject api = mockProject("api", true);
+		File apiChecksum = new File("api.txt.sha1");
+		when(mockArtifactResolver.resolveArtifacts(any(RepositorySystemSession.class), anyList()))
+		        .thenReturn(Collections.singletonList(createResult(apiChecksum)));
+		RemoteReportPrefetcher prefetcher = RemoteReportPrefetcher.getInstance(mockSession);
+		
+		List<MavenProject> projects = Collections.singletonList(api);
+		prefetcher.prefetch(projects, CHECKSUM_EXT, mockSession, mockArtifactResolver, mockLogger);
+		
+		ArgumentCaptor<RepositorySystemSession> sessionCaptor = ArgumentCaptor.forClass(RepositorySystemSession.class);
+		ArgumentCaptor<List<ArtifactRequest>> captor = ArgumentCaptor.forClass(List.class);
+		Mockito.verify(mockArtifactResolver).resolveArtifacts(sessionCaptor.capture(), captor.capture());
+		assertEquals(CHECKSUM_EXT, captor.getValue().get(0).getArtifact().getExtension());
+		assertEquals(RepositoryPolicy.CHECKSUM_POLICY_IGNORE, sessionCaptor.getValue().getChecksumPolicy());
+		assertTrue(prefetcher.isPrefetched(api, CHECKSUM_EXT));
+		assertFalse(prefetcher.isPrefetched(api, EXT));
+		assertEquals(apiChecksum, prefetcher.getReport(api, CHECKSUM_EXT));
+	}
+	
+}
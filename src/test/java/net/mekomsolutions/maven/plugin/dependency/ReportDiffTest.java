@@ -0,0 +1,111 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ReportDiffTest {
+	
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+	
+	private File createReport(String... lines) throws Exception {
+		File report = tempFolder.newFile();
+		Files.write(report.toPath(), Arrays.asList(lines));
+		return report;
+	}
+	
+	@Test
+	public void diff_shouldReturnZeroForIdenticalReports() throws Exception {
+		File buildReport = createReport("a$b$jar=1.0:hash1", "c$d$jar=2.0:hash2");
+		File remoteReport = createReport("a$b$jar=1.0:hash1", "c$d$jar=2.0:hash2");
+		StringWriter writer = new StringWriter();
+		
+		assertEquals(0, ReportDiff.diff(buildReport, remoteReport, writer));
+		assertEquals("", writer.toString());
+	}
+	
+	@Test
+	public void diff_shouldDetectAllTheTypesOfChanges() throws Exception {
+		File buildReport = createReport("a$a$jar=1.0:hash1", "b$b$jar=2.0:hash2", "c$c$jar=3.0:changed",
+		    "e$e$jar=5.0:hash5");
+		File remoteReport = createReport("a$a$jar=1.0:hash1", "b$b$jar=1.0:hash2", "c$c$jar=3.0:hash3",
+		    "d$d$jar=4.0:hash4");
+		StringWriter writer = new StringWriter();
+		
+		assertEquals(4, ReportDiff.diff(buildReport, remoteReport, writer));
+		
+		String nl = System.lineSeparator();
+		assertEquals("VERSION_CHANGED b$b$jar=1.0 -> 2.0" + nl + "HASH_CHANGED c$c$jar=hash3 -> changed" + nl
+		        + "REMOVED d$d$jar=4.0:hash4" + nl + "ADDED e$e$jar=5.0:hash5" + nl,
+		    writer.toString());
+	}
+	
+	@Test
+	public void diff_shouldStopAtTheFirstChangeIfNoWriterIsSpecified() throws Exception {
+		File buildReport = createReport("a$a$jar=2.0:hash1", "b$b$jar=2.0:hash2");
+		File remoteReport = createReport("a$a$jar=1.0:hash1", "b$b$jar=1.0:hash2");
+		
+		assertEquals(1, ReportDiff.diff(buildReport, remoteReport, null));
+	}
+	
+	@Test
+	public void diff_shouldIgnoreLineSeparatorDifferences() throws Exception {
+		File buildReport = tempFolder.newFile();
+		Files.write(buildReport.toPath(), "a$a$jar=1.0:hash1\nb$b$jar=2.0:hash2\n".getBytes());
+		File remoteReport = tempFolder.newFile();
+		Files.write(remoteReport.toPath(), "a$a$jar=1.0:hash1\r\nb$b$jar=2.0:hash2\r\n".getBytes());
+		
+		assertEquals(0, ReportDiff.diff(buildReport, remoteReport, null));
+	}
+	
+	@Test
+	public void diff_shouldCompareBinaryReportsWithEachOtherAndWithTextReports() throws Exception {
+		final String hash1 = DigestUtils.sha1Hex("data-1");
+		final String hash2 = DigestUtils.sha1Hex("data-2");
+		DependencyReport report = new DependencyReport();
+		report.add("a$a$jar", "1.0", hash1);
+		report.add("b$b$jar", "2.0", hash2);
+		File buildReport = tempFolder.newFile();
+		report.writeBinary(buildReport);
+		File binaryRemoteReport = tempFolder.newFile();
+		report.writeBinary(binaryRemoteReport);
+		File textRemoteReport = createReport("a$a$jar=1.0:" + hash1, "b$b$jar=2.0:" + hash1);
+		StringWriter writer = new StringWriter();
+		
+		assertEquals(0, ReportDiff.diff(buildReport, binaryRemoteReport, null));
+		assertEquals(1, ReportDiff.diff(buildReport, textRemoteReport, writer));
+		assertEquals("HASH_CHANGED b$b$jar=" + hash1 + " -> " + hash2 + System.lineSeparator(), writer.toString());
+	}
+	
+	@Test
+	public void diff_shouldReportChangedPropertiesFirst() throws Exception {
+		File buildReport = createReport("#fingerprint=zip", "a$a$jar=1.0:hash2");
+		File remoteReport = createReport("a$a$jar=1.0:hash1");
+		StringWriter writer = new StringWriter();
+		
+		assertEquals(2, ReportDiff.diff(buildReport, remoteReport, writer));
+		
+		String nl = System.lineSeparator();
+		assertEquals("PROPERTY_CHANGED fingerprint= -> zip" + nl + "HASH_CHANGED a$a$jar=hash1 -> hash2" + nl,
+		    writer.toString());
+		assertEquals(1, ReportDiff.diff(buildReport, remoteReport, null));
+	}
+	
+	@Test
+	public void diff_shouldIgnoreTheDigestProperty() throws Exception {
+		File buildReport = createReport("#digest=digest1", "a$a$jar=1.0:hash1");
+		File remoteReport = createReport("a$a$jar=1.0:hash1");
+		
+		assertEquals(0, ReportDiff.diff(buildReport, remoteReport, null));
+	}
+	
+}
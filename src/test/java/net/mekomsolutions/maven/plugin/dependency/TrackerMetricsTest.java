@@ -0,0 +1,84 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static net.mekomsolutions.maven.plugin.dependency.TrackerMetrics.PHASE_COMPARE;
+import static net.mekomsolutions.maven.plugin.dependency.TrackerMetrics.PHASE_HASH;
+import static net.mekomsolutions.maven.plugin.dependency.TrackerMetrics.PHASE_REPORT;
+import static net.mekomsolutions.maven.plugin.dependency.TrackerMetrics.PHASE_REMOTE_FETCH;
+import static net.mekomsolutions.maven.plugin.dependency.TrackerMetrics.PHASE_TOTAL;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class TrackerMetricsTest {
+	
+	private static final long MB = 1024 * 1024;
+	
+	private static final long SECOND = 1_000_000_000L;
+	
+	@Test
+	public void getThroughput_shouldReturnTheMegabytesHashedPerSecondSpentHashing() {
+		TrackerMetrics metrics = new TrackerMetrics();
+		assertEquals(0, metrics.getThroughput(), 0);
+		metrics.addFileHashed(30 * MB, SECOND);
+		metrics.addFileHashed(10 * MB, SECOND);
+		metrics.addTime(PHASE_REPORT, 3 * SECOND);
+		
+		assertEquals(20, metrics.getThroughput(), 0.0001);
+		assertEquals(2 * SECOND, metrics.getTime(PHASE_HASH));
+		assertEquals(2, metrics.getFilesHashed());
+		assertEquals(40 * MB, metrics.getBytesHashed());
+	}
+	
+	@Test
+	public void toJson_shouldSerializeTheCountersAndTheTimingsInMilliseconds() {
+		TrackerMetrics metrics = new TrackerMetrics();
+		metrics.setDependencies(3);
+		metrics.addFileHashed(2 * MB, SECOND / 2);
+		metrics.addHashCacheHit();
+		metrics.addRemoteFetch();
+		metrics.addTime(PHASE_COMPARE, 1_500_000);
+		
+		String expected = "{\n" + "  \"project\": \"org.openmrs:api:1.0\",\n" + "  \"dependencies\": 3,\n"
+		        + "  \"reportReused\": false,\n" + "  \"filesHashed\": 1,\n" + "  \"bytesHashed\": 2097152,\n"
+		        + "  \"hashThroughputMBps\": 4.000,\n" + "  \"zipFingerprints\": 0,\n" + "  \"hashCacheHits\": 1,\n"
+		        + "  \"repositoryChecksumHits\": 0,\n" + "  \"remoteFetches\": 1,\n" + "  \"timingsMillis\": {\n"
+		        + "    \"hash\": 500.000,\n" + "    \"compare\": 1.500\n" + "  }\n" + "}\n";
+		assertEquals(expected, metrics.toJson("org.openmrs:api:1.0"));
+	}
+	
+	@Test
+	public void toJson_shouldWriteAnEmptyObjectIfNoTimingsWereRecorded() {
+		String json = new TrackerMetrics().toJson("org.openmrs:api:1.0");
+		
+		assertEquals("  \"timingsMillis\": {}\n}\n", json.substring(json.indexOf("  \"timingsMillis\"")));
+	}
+	
+	@Test
+	public void createSummary_shouldAddALinePerProjectAndALineWithTheTotals() {
+		TrackerMetrics api = new TrackerMetrics();
+		api.addFileHashed(MB, SECOND);
+		api.addTime(PHASE_REMOTE_FETCH, 2_000_000);
+		api.addTime(PHASE_TOTAL, 5_000_000_000L);
+		TrackerMetrics web = new TrackerMetrics();
+		web.addFileHashed(3 * MB, SECOND);
+		web.addHashCacheHit();
+		web.addTime(PHASE_TOTAL, SECOND);
+		Map<String, TrackerMetrics> projectAndMetrics = new LinkedHashMap<>();
+		projectAndMetrics.put("org.openmrs:api:1.0", api);
+		projectAndMetrics.put("org.openmrs:web:1.0", web);
+		
+		assertEquals(Arrays.asList(
+		    "org.openmrs:api:1.0 -> 1 files hashed, 1.000 MB at 1.000 MB/s, 0 cache hits, remote fetch 2.000 ms, "
+		            + "compare 0.000 ms, total 5000.000 ms",
+		    "org.openmrs:web:1.0 -> 1 files hashed, 3.000 MB at 3.000 MB/s, 1 cache hits, remote fetch 0.000 ms, "
+		            + "compare 0.000 ms, total 1000.000 ms",
+		    "Total -> 2 files hashed, 4.000 MB at 2.000 MB/s, 1 cache hits, remote fetch 2.000 ms, compare 0.000 ms, "
+		            + "total 6000.000 ms"),
+		    TrackerMetrics.createSummary(projectAndMetrics));
+	}
+	
+}
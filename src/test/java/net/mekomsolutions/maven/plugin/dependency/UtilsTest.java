@@ -1,10 +1,21 @@
 package net.mekomsolutions.maven.plugin.dependency;
 
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.apache.commons.codec.digest.DigestUtils;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class UtilsTest {
 	
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+	
 	@Test
 	public void getStringResult_shouldReturnsNoChangesDetected() {
 		Utils utils = new Utils();
@@ -19,6 +30,13 @@ public class UtilsTest {
 		Assert.assertEquals("no existing remote dependency report found", result);
 	}
 	
+	@Test
+	public void getStringResult_shouldReturnsReportUnavailableString() {
+		Utils utils = new Utils();
+		String result = utils.getStringResult(-2);
+		Assert.assertEquals("remote dependency report unavailable", result);
+	}
+	
 	@Test
 	public void getStringResult_shouldReturnsChangesDetected() {
 		Utils utils = new Utils();
@@ -26,4 +44,74 @@ public class UtilsTest {
 		Assert.assertEquals("dependency changes detected", result);
 	}
 	
+	@Test
+	public void sha1Hex_shouldStreamTheFileAndReturnTheHashOfItsContents() throws Exception {
+		//Larger than the hashing buffer so that the file is read in several chunks
+		byte[] data = new byte[200 * 1024 + 17];
+		new Random(7).nextBytes(data);
+		File file = tempFolder.newFile();
+		Files.write(file.toPath(), data);
+		
+		Assert.assertEquals(DigestUtils.sha1Hex(data), Utils.sha1Hex(file));
+	}
+	
+	@Test
+	public void sha1Hex_shouldReturnTheHashOfAnEmptyFile() throws Exception {
+		Assert.assertEquals(DigestUtils.sha1Hex(new byte[0]), Utils.sha1Hex(tempFolder.newFile()));
+	}
+	
+	@Test
+	public void hashHex_shouldStreamTheFileAndReturnTheHashOfItsContentsWithTheSpecifiedAlgorithm() throws Exception {
+		byte[] data = new byte[200 * 1024 + 17];
+		new Random(7).nextBytes(data);
+		File file = tempFolder.newFile();
+		Files.write(file.toPath(), data);
+		XxHash64 xxHash64 = new XxHash64();
+		xxHash64.update(ByteBuffer.wrap(data));
+		
+		Assert.assertEquals(DigestUtils.sha256Hex(data), Utils.hashHex(file, DigestAlgorithm.SHA256));
+		Assert.assertEquals(xxHash64.hexDigest(), Utils.hashHex(file, DigestAlgorithm.XXHASH64));
+	}
+	
+	@Test
+	public void readSha1Checksum_shouldReturnTheHashInTheChecksumFile() throws Exception {
+		final String hash = DigestUtils.sha1Hex("data");
+		File file = tempFolder.newFile("test.jar");
+		Files.write(new File(tempFolder.getRoot(), "test.jar.sha1").toPath(), (hash + "  test.jar\n").getBytes());
+		
+		Assert.assertEquals(hash, Utils.readSha1Checksum(file));
+	}
+	
+	@Test
+	public void readSha1Checksum_shouldReturnNullIfThereIsNoChecksumFile() throws Exception {
+		Assert.assertNull(Utils.readSha1Checksum(tempFolder.newFile("test.jar")));
+	}
+	
+	@Test
+	public void readSha1Checksum_shouldReturnNullIfTheChecksumIsInvalid() throws Exception {
+		File file = tempFolder.newFile("test.jar");
+		Files.write(new File(tempFolder.getRoot(), "test.jar.sha1").toPath(), "not-a-hash".getBytes());
+		
+		Assert.assertNull(Utils.readSha1Checksum(file));
+	}
+	
+	@Test
+	public void readSha1Checksum_shouldReturnNullIfTheChecksumFileIsOlderThanTheFile() throws Exception {
+		File file = tempFolder.newFile("test.jar");
+		File checksumFile = new File(tempFolder.getRoot(), "test.jar.sha1");
+		Files.write(checksumFile.toPath(), DigestUtils.sha1Hex("data").getBytes());
+		checksumFile.setLastModified(file.lastModified() - 60000);
+		
+		Assert.assertNull(Utils.readSha1Checksum(file));
+	}
+	
+	@Test
+	public void readChecksumFile_shouldReturnTheUpperCaseHashInLowerCase() throws Exception {
+		final String hash = DigestUtils.sha1Hex("data");
+		File checksumFile = tempFolder.newFile("test.txt.sha1");
+		Files.write(checksumFile.toPath(), hash.toUpperCase().getBytes());
+		
+		Assert.assertEquals(hash, Utils.readChecksumFile(checksumFile));
+	}
+	
 }
@@ -0,0 +1,44 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class XxHash64Test {
+	
+	private static String hash(String data) {
+		XxHash64 hasher = new XxHash64();
+		hasher.update(ByteBuffer.wrap(data.getBytes(UTF_8)));
+		return hasher.hexDigest();
+	}
+	
+	@Test
+	public void hexDigest_shouldReturnTheReferenceHashes() {
+		assertEquals("ef46db3751d8e999", hash(""));
+		assertEquals("d24ec4f1a98c6e5b", hash("a"));
+		assertEquals("44bc2cf5ad770999", hash("abc"));
+		assertEquals("fbcea83c8a378bf1", hash("Nobody inspects the spammish repetition"));
+	}
+	
+	@Test
+	public void update_shouldProduceTheSameHashRegardlessOfHowTheInputIsSplit() {
+		byte[] data = new byte[1000];
+		new Random(7).nextBytes(data);
+		XxHash64 expected = new XxHash64();
+		expected.update(ByteBuffer.wrap(data));
+		XxHash64 hasher = new XxHash64();
+		int chunkLength = 1;
+		for (int offset = 0; offset < data.length; offset += chunkLength, chunkLength = chunkLength * 3 % 61 + 1) {
+			ByteBuffer chunk = ByteBuffer.wrap(data, offset, Math.min(chunkLength, data.length - offset));
+			hasher.update(chunk);
+			assertEquals(0, chunk.remaining());
+		}
+		
+		assertEquals(expected.hexDigest(), hasher.hexDigest());
+	}
+	
+}
@@ -0,0 +1,81 @@
+package net.mekomsolutions.maven.plugin.dependency;
+
+import static net.mekomsolutions.maven.plugin.dependency.DigestAlgorithm.SHA1;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ZipFingerprintTest {
+	
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+	
+	private File createZip(String name, long time, String comment, String... entryAndContents) throws Exception {
+		File file = tempFolder.newFile(name);
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(file.toPath()))) {
+			for (int i = 0; i < entryAndContents.length; i += 2) {
+				ZipEntry entry = new ZipEntry(entryAndContents[i]);
+				entry.setTime(time);
+				out.putNextEntry(entry);
+				out.write(entryAndContents[i + 1].getBytes(StandardCharsets.UTF_8));
+			}
+			
+			out.setComment(comment);
+		}
+		
+		return file;
+	}
+	
+	@Test
+	public void compute_shouldOnlyChangeIfTheEntriesChange() throws Exception {
+		final long time = 1700000000000L;
+		File zip = createZip("test.jar", time, null, "a.txt", "data-a", "b.txt", "data-b");
+		File sameZip = createZip("same.jar", time, "a comment", "b.txt", "data-b", "a.txt", "data-a");
+		File changedZip = createZip("changed.jar", time, null, "a.txt", "data-a", "b.txt", "data-c");
+		
+		String fingerprint = ZipFingerprint.compute(zip, false, SHA1);
+		
+		assertNotNull(fingerprint);
+		assertEquals(fingerprint, ZipFingerprint.compute(sameZip, false, SHA1));
+		assertNotEquals(fingerprint, ZipFingerprint.compute(changedZip, false, SHA1));
+	}
+	
+	@Test
+	public void compute_shouldIgnoreTheEntryTimestampsIfSpecified() throws Exception {
+		File zip = createZip("test.jar", 1700000000000L, null, "a.txt", "data-a");
+		File rebuiltZip = createZip("rebuilt.jar", 1800000000000L, null, "a.txt", "data-a");
+		
+		assertNotEquals(ZipFingerprint.compute(zip, false, SHA1), ZipFingerprint.compute(rebuiltZip, false, SHA1));
+		assertEquals(ZipFingerprint.compute(zip, true, SHA1), ZipFingerprint.compute(rebuiltZip, true, SHA1));
+	}
+	
+	@Test
+	public void compute_shouldReturnNullForAFileThatIsNotAZipFile() throws Exception {
+		File file = tempFolder.newFile("test.pom");
+		Files.write(file.toPath(), "<project/>".getBytes(StandardCharsets.UTF_8));
+		
+		assertNull(ZipFingerprint.compute(file, false, SHA1));
+		assertNull(ZipFingerprint.compute(tempFolder.newFile("empty.jar"), false, SHA1));
+	}
+	
+	@Test
+	public void compute_shouldHashTheEntriesWithTheSpecifiedAlgorithm() throws Exception {
+		File zip = createZip("test.jar", 1700000000000L, null, "a.txt", "data-a");
+		
+		assertEquals(40, ZipFingerprint.compute(zip, false, SHA1).length());
+		assertEquals(64, ZipFingerprint.compute(zip, false, DigestAlgorithm.SHA256).length());
+		assertEquals(16, ZipFingerprint.compute(zip, false, DigestAlgorithm.XXHASH64).length());
+	}
+	
+}